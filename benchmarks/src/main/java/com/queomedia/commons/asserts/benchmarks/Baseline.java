@@ -0,0 +1,188 @@
+package com.queomedia.commons.asserts.benchmarks;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.infra.BenchmarkParams;
+import org.openjdk.jmh.results.RunResult;
+
+/**
+ * The recorded scores of a benchmark run, that later runs are compared with.
+ *
+ * <p>
+ * The baseline is a properties file with two entries per benchmark and parameter combination:
+ * {@code <benchmark>:<params>.score} (the primary result, in the unit of the benchmark) and
+ * {@code <benchmark>:<params>.alloc} (the normalized allocation rate of the gc profiler, bytes per operation).
+ * Scores of benchmarks in {@link Mode#Throughput} mode are higher is better, all other scores and the
+ * allocations are lower is better.
+ * </p>
+ */
+final class Baseline {
+
+    /** The suffix of the score entries. */
+    private static final String SCORE = ".score";
+
+    /** The suffix of the allocation entries. */
+    private static final String ALLOC = ".alloc";
+
+    /** The suffix of the entries for throughput benchmarks. */
+    private static final String HIGHER_IS_BETTER = ".higherIsBetter";
+
+    /** The name of the gc profiler result for the allocated bytes per operation. */
+    private static final String ALLOC_RATE_NORM = "gc.alloc.rate.norm";
+
+    /**
+     * Allocation differences below this number of bytes per operation are ignored, they are caused by
+     * the measurement itself (the allocation of the thread local allocation buffers is not exact).
+     */
+    private static final double ALLOC_NOISE_BYTES = 16;
+
+    /** The entries, sorted by key. */
+    private final Map<String, String> entries;
+
+    /**
+     * Instantiates a new baseline.
+     *
+     * @param entries the entries
+     */
+    private Baseline(final Map<String, String> entries) {
+        this.entries = entries;
+    }
+
+    /**
+     * Create the baseline of a benchmark run.
+     *
+     * @param results the results of the run
+     * @return the baseline
+     */
+    static Baseline of(final Collection<RunResult> results) {
+        Map<String, String> entries = new TreeMap<String, String>();
+        for (RunResult result : results) {
+            String key = key(result.getParams());
+            entries.put(key + SCORE, Double.toString(result.getPrimaryResult().getScore()));
+            if (result.getParams().getMode() == Mode.Throughput) {
+                entries.put(key + HIGHER_IS_BETTER, "true");
+            }
+            for (String name : result.getSecondaryResults().keySet()) {
+                /* older jmh versions prefix the name with a middle dot */
+                if (name.endsWith(ALLOC_RATE_NORM)) {
+                    entries.put(key + ALLOC, Double.toString(result.getSecondaryResults().get(name).getScore()));
+                }
+            }
+        }
+        return new Baseline(entries);
+    }
+
+    /**
+     * Read a baseline file.
+     *
+     * @param file the file
+     * @return the baseline
+     * @throws IOException if the file can not be read
+     */
+    static Baseline read(final Path file) throws IOException {
+        Properties properties = new Properties();
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            properties.load(reader);
+        }
+        Map<String, String> entries = new TreeMap<String, String>();
+        for (String name : properties.stringPropertyNames()) {
+            entries.put(name, properties.getProperty(name));
+        }
+        return new Baseline(entries);
+    }
+
+    /**
+     * Write this baseline to a file (sorted, so the file can be diffed).
+     *
+     * @param file the file
+     * @throws IOException if the file can not be written
+     */
+    void write(final Path file) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write("# jmh baseline, written by BenchmarkRunner -Dbaseline.record=true");
+            writer.newLine();
+            for (Map.Entry<String, String> entry : this.entries.entrySet()) {
+                writer.write(escape(entry.getKey()) + "=" + entry.getValue());
+                writer.newLine();
+            }
+        }
+    }
+
+    /**
+     * Compare the current run with this baseline.
+     * Benchmarks that are not part of both runs are ignored.
+     *
+     * @param current the current run
+     * @param tolerance the accepted relative degradation, for example {@code 0.1} for 10%
+     * @return the descriptions of the regressions, empty if there are none
+     */
+    List<String> regressions(final Baseline current, final double tolerance) {
+        List<String> regressions = new ArrayList<String>();
+        for (Map.Entry<String, String> entry : current.entries.entrySet()) {
+            String name = entry.getKey();
+            String baselineValue = this.entries.get(name);
+            if (baselineValue == null || name.endsWith(HIGHER_IS_BETTER)) {
+                continue;
+            }
+            double expected = Double.parseDouble(baselineValue);
+            double found = Double.parseDouble(entry.getValue());
+            boolean regression;
+            if (name.endsWith(ALLOC)) {
+                regression = found > expected * (1 + tolerance) + ALLOC_NOISE_BYTES;
+            } else if (current.entries.containsKey(name.substring(0, name.length() - SCORE.length())
+                    + HIGHER_IS_BETTER)) {
+                regression = found < expected * (1 - tolerance);
+            } else {
+                regression = found > expected * (1 + tolerance);
+            }
+            if (regression) {
+                regressions.add(name + ": baseline=" + expected + ", current=" + found);
+            }
+        }
+        return regressions;
+    }
+
+    /**
+     * Build the key of a benchmark and its parameters.
+     *
+     * @param params the benchmark params
+     * @return the key, for example {@code ContainsBenchmark.containsExact:checker=native,size=10}
+     */
+    private static String key(final BenchmarkParams params) {
+        /* simple class name and method name */
+        String benchmark = params.getBenchmark();
+        int classStart = benchmark.lastIndexOf('.', benchmark.lastIndexOf('.') - 1) + 1;
+        StringBuilder key = new StringBuilder(benchmark.substring(classStart));
+        String separator = ":";
+        for (String param : params.getParamsKeys()) {
+            key.append(separator).append(param).append('=').append(params.getParam(param));
+            separator = ",";
+        }
+        return key.toString();
+    }
+
+    /**
+     * Escape the characters of a key, that have a special meaning in properties files.
+     *
+     * @param key the key
+     * @return the escaped key
+     */
+    private static String escape(final String key) {
+        return key.replace(":", "\\:").replace("=", "\\=").replace(" ", "\\ ");
+    }
+}
@@ -0,0 +1,108 @@
+package com.queomedia.commons.asserts.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run the benchmarks (with the gc profiler) and compare the results with a baseline.
+ *
+ * <p>
+ * All jmh command line options are supported, for example {@code java -jar target/benchmarks.jar
+ * ContainsBenchmark -p size=10,100}. The comparison is configured by system properties:
+ * </p>
+ * <ul>
+ * <li>{@code baseline.file} - the baseline, default {@code baseline/jmh-baseline.properties}</li>
+ * <li>{@code baseline.record} - {@code true} to (over)write the baseline with the results of this run</li>
+ * <li>{@code baseline.require} - {@code true} to fail (before running the benchmarks) if the baseline file
+ * does not exist, instead of recording it</li>
+ * <li>{@code baseline.tolerance} - the accepted relative degradation, default {@code 0.1}</li>
+ * </ul>
+ * <p>
+ * If the baseline file does not exist, the run is recorded as the new baseline, unless the baseline is required
+ * (then the process exits with status 1). Otherwise the process exits
+ * with status 1 if a score or allocation rate degraded by more than the tolerance, so a build can fail on it.
+ * Baselines are only comparable when recorded on the same machine and JVM.
+ * </p>
+ */
+public final class BenchmarkRunner {
+
+    /** The default baseline file. */
+    private static final String DEFAULT_BASELINE_FILE = "baseline/jmh-baseline.properties";
+
+    /** The default tolerance. */
+    private static final String DEFAULT_TOLERANCE = "0.1";
+
+    /** The file with all results of the last run, in jmh json format. */
+    private static final String RESULT_FILE = "target/jmh-result.json";
+
+    /**
+     * Util classes need no constructor.
+     */
+    private BenchmarkRunner() {
+        super();
+    }
+
+    /**
+     * Run the benchmarks.
+     *
+     * @param args the jmh command line options
+     * @throws RunnerException if a benchmark failed
+     * @throws CommandLineOptionException if the command line options are invalid
+     * @throws IOException if the baseline can not be read or written
+     */
+    public static void main(final String[] args) throws RunnerException, CommandLineOptionException, IOException {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        Path baselineFile = Paths.get(System.getProperty("baseline.file", DEFAULT_BASELINE_FILE));
+        boolean record = Boolean.getBoolean("baseline.record");
+        if (!record && Boolean.getBoolean("baseline.require") && !Files.exists(baselineFile)) {
+            System.out.println("The required baseline " + baselineFile.toAbsolutePath() + " does not exist,"
+                    + " record it with -Dbaseline.record=true");
+            System.exit(1);
+        }
+
+        Files.createDirectories(Paths.get(RESULT_FILE).getParent());
+        Options options = new OptionsBuilder().parent(commandLine)
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(RESULT_FILE)
+                .build();
+        Collection<RunResult> results = new Runner(options).run();
+        if (results.isEmpty()) {
+            return;
+        }
+
+        Baseline current = Baseline.of(results);
+        if (record || !Files.exists(baselineFile)) {
+            current.write(baselineFile);
+            System.out.println("Recorded the baseline " + baselineFile.toAbsolutePath());
+            return;
+        }
+
+        double tolerance = Double.parseDouble(System.getProperty("baseline.tolerance", DEFAULT_TOLERANCE));
+        List<String> regressions = Baseline.read(baselineFile).regressions(current, tolerance);
+        if (regressions.isEmpty()) {
+            System.out.println("No regressions compared with the baseline " + baselineFile.toAbsolutePath());
+            return;
+        }
+        System.out.println(regressions.size() + " regressions compared with the baseline "
+                + baselineFile.toAbsolutePath() + " (tolerance " + tolerance + "):");
+        for (String regression : regressions) {
+            System.out.println("  " + regression);
+        }
+        System.exit(1);
+    }
+}
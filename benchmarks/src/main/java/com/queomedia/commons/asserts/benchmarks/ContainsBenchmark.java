@@ -0,0 +1,111 @@
+package com.queomedia.commons.asserts.benchmarks;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentest4j.AssertionFailedError;
+
+import com.queomedia.commons.asserts.AssertUtil;
+import com.queomedia.commons.equals.EqualsChecker;
+
+/**
+ * Benchmark of {@code containsExact} and {@code containsAtLeast}.
+ *
+ * <p>
+ * Both checks compare each expected element with the found elements (quadratic in the size), so the default
+ * sizes end at 10000. Larger sizes (up to 10M) can be selected with {@code -p size=...}.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ContainsBenchmark {
+
+    /** The number of elements. */
+    @Param({ "10", "100", "1000", "10000" })
+    private int size;
+
+    /** The ratio of duplicate elements. */
+    @Param({ "0.0", "0.5" })
+    private double duplicateRatio;
+
+    /** The equals checker: {@code native} or {@code custom}. */
+    @Param({ "native", "custom" })
+    private String checker;
+
+    /** The implementation of the found collection. */
+    @Param({ "ArrayList", "LinkedList", "ArrayDeque" })
+    private String collection;
+
+    /** {@code pass} or {@code fail} (the last found element is not expected). */
+    @Param({ "pass", "fail" })
+    private String path;
+
+    /** The expected elements. */
+    private List<Integer> expected;
+
+    /** The found elements. */
+    private Collection<Integer> found;
+
+    /** The equals checker. */
+    private EqualsChecker<Integer, Integer> equalsChecker;
+
+    /**
+     * Create the collections.
+     */
+    @Setup
+    public void setUp() {
+        this.expected = Fixtures.values(this.size, this.duplicateRatio);
+        List<Integer> foundValues = Fixtures.shuffled(this.expected);
+        if ("fail".equals(this.path)) {
+            foundValues = Fixtures.withLastReplaced(foundValues);
+        }
+        this.found = Fixtures.collection(this.collection, foundValues);
+        this.equalsChecker = Fixtures.checker(this.checker);
+    }
+
+    /**
+     * Benchmark containsExact.
+     *
+     * @return the failure or {@code null}, consumed by JMH
+     */
+    @Benchmark
+    public AssertionFailedError containsExact() {
+        try {
+            AssertUtil.containsExact(null, this.expected, this.found, this.equalsChecker);
+            return null;
+        } catch (AssertionFailedError e) {
+            return e;
+        }
+    }
+
+    /**
+     * Benchmark containsAtLeast.
+     *
+     * @return the failure or {@code null}, consumed by JMH
+     */
+    @Benchmark
+    public AssertionFailedError containsAtLeast() {
+        try {
+            AssertUtil.containsAtLeast(null, this.expected, this.found, this.equalsChecker);
+            return null;
+        } catch (AssertionFailedError e) {
+            return e;
+        }
+    }
+}
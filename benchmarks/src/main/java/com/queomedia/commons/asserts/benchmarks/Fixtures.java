@@ -0,0 +1,113 @@
+package com.queomedia.commons.asserts.benchmarks;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import com.queomedia.commons.equals.EqualsChecker;
+import com.queomedia.commons.equals.NativeEqualsChecker;
+
+/**
+ * Create the input data of the benchmarks.
+ */
+final class Fixtures {
+
+    /** Fixed seed, so all runs (and the baseline) use the same data. */
+    private static final long SEED = 42;
+
+    /**
+     * Util classes need no constructor.
+     */
+    private Fixtures() {
+        super();
+    }
+
+    /**
+     * Create {@code size} values, where about {@code duplicateRatio * size} values are duplicates.
+     *
+     * @param size the number of values
+     * @param duplicateRatio the ratio of duplicates, from 0 (all unique) to 1 (all equal)
+     * @return the values in ascending order
+     */
+    static List<Integer> values(final int size, final double duplicateRatio) {
+        int distinct = Math.max(1, (int) Math.round(size * (1 - duplicateRatio)));
+        List<Integer> values = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(i % distinct);
+        }
+        Collections.sort(values);
+        return values;
+    }
+
+    /**
+     * Create a shuffled copy of the values.
+     *
+     * @param values the values
+     * @return the shuffled copy
+     */
+    static List<Integer> shuffled(final List<Integer> values) {
+        List<Integer> shuffled = new ArrayList<Integer>(values);
+        Collections.shuffle(shuffled, new Random(SEED));
+        return shuffled;
+    }
+
+    /**
+     * Create a copy of the values, where the last value is replaced by a value that is not contained,
+     * so the checks fail as late as possible.
+     *
+     * @param values the values
+     * @return the modified copy
+     */
+    static List<Integer> withLastReplaced(final List<Integer> values) {
+        List<Integer> modified = new ArrayList<Integer>(values);
+        modified.set(modified.size() - 1, -1);
+        return modified;
+    }
+
+    /**
+     * Copy the values into a collection of the given implementation.
+     *
+     * @param implementation {@code ArrayList}, {@code LinkedList} or {@code ArrayDeque}
+     * @param values the values
+     * @return the collection
+     */
+    static Collection<Integer> collection(final String implementation, final List<Integer> values) {
+        switch (implementation) {
+        case "ArrayList":
+            return new ArrayList<Integer>(values);
+        case "LinkedList":
+            return new LinkedList<Integer>(values);
+        case "ArrayDeque":
+            return new ArrayDeque<Integer>(values);
+        default:
+            throw new IllegalArgumentException("unknown collection implementation " + implementation);
+        }
+    }
+
+    /**
+     * Create the equals checker.
+     *
+     * @param type {@code native} for the {@link NativeEqualsChecker}, {@code custom} for a comparing checker
+     * @return the equals checker
+     */
+    static EqualsChecker<Integer, Integer> checker(final String type) {
+        switch (type) {
+        case "native":
+            return NativeEqualsChecker.<Integer> getInstance();
+        case "custom":
+            return new EqualsChecker<Integer, Integer>() {
+
+                @Override
+                public boolean equals(final Integer expected, final Integer found) {
+                    return expected.intValue() == found.intValue();
+                }
+            };
+        default:
+            throw new IllegalArgumentException("unknown checker type " + type);
+        }
+    }
+}
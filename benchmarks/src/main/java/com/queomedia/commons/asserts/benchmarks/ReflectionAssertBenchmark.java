@@ -0,0 +1,106 @@
+package com.queomedia.commons.asserts.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentest4j.AssertionFailedError;
+
+import com.queomedia.commons.asserts.AssertUtil;
+
+/**
+ * Benchmark of {@code assertReflectivEquals}, for an object with some scalar fields and a list field
+ * of the given size.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReflectionAssertBenchmark {
+
+    /** The number of elements in the list field. */
+    @Param({ "10", "1000", "100000" })
+    private int size;
+
+    /** {@code pass} or {@code fail} (the last list element differs). */
+    @Param({ "pass", "fail" })
+    private String path;
+
+    /** The expected object. */
+    private Sample expected;
+
+    /** The found object, equal to but not the same as the expected object. */
+    private Sample found;
+
+    /**
+     * Create the objects.
+     */
+    @Setup
+    public void setUp() {
+        List<Integer> values = Fixtures.values(this.size, 0);
+        this.expected = new Sample(this.size, "sample", values);
+        this.found = new Sample(this.size,
+                "sample",
+                "fail".equals(this.path) ? Fixtures.withLastReplaced(values) : Fixtures.values(this.size, 0));
+    }
+
+    /**
+     * Benchmark assertReflectivEquals.
+     *
+     * @return the failure or {@code null}, consumed by JMH
+     */
+    @Benchmark
+    public AssertionFailedError assertReflectivEquals() {
+        try {
+            AssertUtil.assertReflectivEquals(this.expected, this.found);
+            return null;
+        } catch (AssertionFailedError e) {
+            return e;
+        }
+    }
+
+    /**
+     * The compared object.
+     */
+    static final class Sample {
+
+        /** The id. */
+        private final long id;
+
+        /** The name. */
+        private final String name;
+
+        /** The values. */
+        private final List<Integer> values;
+
+        /**
+         * Instantiates a new sample.
+         *
+         * @param id the id
+         * @param name the name
+         * @param values the values
+         */
+        Sample(final long id, final String name, final List<Integer> values) {
+            this.id = id;
+            this.name = name;
+            this.values = values;
+        }
+
+        @Override
+        public String toString() {
+            return "Sample [id=" + this.id + ", name=" + this.name + ", values=" + this.values.size() + "]";
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.queomedia.commons.asserts.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentest4j.AssertionFailedError;
+
+import com.queomedia.commons.asserts.AssertUtil;
+import com.queomedia.commons.equals.EqualsChecker;
+
+/**
+ * Benchmark of {@code sameOrder}, a linear check, so the sizes go up to 10M.
+ *
+ * <p>
+ * The lists are {@code ArrayList}s: {@code sameOrder} of two linked lists is a scan of both iterators too,
+ * but creating 10M element linked lists would dominate the setup time.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SameOrderBenchmark {
+
+    /** The number of elements. */
+    @Param({ "10", "1000", "100000", "10000000" })
+    private int size;
+
+    /** The ratio of duplicate elements. */
+    @Param({ "0.0", "0.5" })
+    private double duplicateRatio;
+
+    /** The equals checker: {@code native} or {@code custom}. */
+    @Param({ "native", "custom" })
+    private String checker;
+
+    /** {@code pass} or {@code fail} (the last found element is not expected). */
+    @Param({ "pass", "fail" })
+    private String path;
+
+    /** The expected elements. */
+    private List<Integer> expected;
+
+    /** The found elements, equal to but not the same as the expected elements. */
+    private List<Integer> found;
+
+    /** The equals checker. */
+    private EqualsChecker<Integer, Integer> equalsChecker;
+
+    /**
+     * Create the lists.
+     */
+    @Setup
+    public void setUp() {
+        this.expected = Fixtures.values(this.size, this.duplicateRatio);
+        List<Integer> foundValues = Fixtures.values(this.size, this.duplicateRatio);
+        this.found = "fail".equals(this.path) ? Fixtures.withLastReplaced(foundValues) : foundValues;
+        this.equalsChecker = Fixtures.checker(this.checker);
+    }
+
+    /**
+     * Benchmark sameOrder.
+     *
+     * @return the failure or {@code null}, consumed by JMH
+     */
+    @Benchmark
+    public AssertionFailedError sameOrder() {
+        try {
+            AssertUtil.sameOrder(null, this.expected, this.found, this.equalsChecker);
+            return null;
+        } catch (AssertionFailedError e) {
+            return e;
+        }
+    }
+}
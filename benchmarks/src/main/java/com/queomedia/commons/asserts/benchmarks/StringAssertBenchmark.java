@@ -0,0 +1,83 @@
+package com.queomedia.commons.asserts.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.opentest4j.AssertionFailedError;
+
+import com.queomedia.commons.asserts.AssertUtil;
+
+/**
+ * Benchmark of {@code equalsWithoutWhitespace}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class StringAssertBenchmark {
+
+    /** The number of characters. */
+    @Param({ "10", "1000", "100000", "10000000" })
+    private int size;
+
+    /** {@code pass} or {@code fail} (the last found character differs). */
+    @Param({ "pass", "fail" })
+    private String path;
+
+    /** The expected text, words separated by single spaces. */
+    private String expected;
+
+    /** The found text, words separated by line breaks and indentation. */
+    private String found;
+
+    /**
+     * Create the texts.
+     */
+    @Setup
+    public void setUp() {
+        StringBuilder expectedText = new StringBuilder(this.size);
+        StringBuilder foundText = new StringBuilder(this.size * 2);
+        for (int i = 0; i < this.size; i++) {
+            char c = (char) ('a' + i % 26);
+            if (i % 8 == 7) {
+                expectedText.append(' ');
+                foundText.append("\n\t ");
+            } else {
+                expectedText.append(c);
+                foundText.append(c);
+            }
+        }
+        if ("fail".equals(this.path)) {
+            foundText.append('!');
+        }
+        this.expected = expectedText.toString();
+        this.found = foundText.toString();
+    }
+
+    /**
+     * Benchmark equalsWithoutWhitespace.
+     *
+     * @return the failure or {@code null}, consumed by JMH
+     */
+    @Benchmark
+    public AssertionFailedError equalsWithoutWhitespace() {
+        try {
+            AssertUtil.equalsWithoutWhitespace(this.expected, this.found);
+            return null;
+        } catch (AssertionFailedError e) {
+            return e;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.queomedia.commons.asserts;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+import org.opentest4j.TestAbortedException;
+
+/**
+ * Measures the bytes allocated by the current thread, with the HotSpot extension
+ * {@code com.sun.management.ThreadMXBean#getThreadAllocatedBytes}.
+ *
+ * <p>
+ * The extension is not part of the Java SE API, so its presence is checked by name before the type is used.
+ * If it is not available (or the measurement is not supported), creating a meter throws a
+ * {@link TestAbortedException}, so tests are reported as aborted instead of failed.
+ * </p>
+ */
+final class AllocationMeter {
+
+    /** The name of the HotSpot thread bean extension. */
+    private static final String SUN_THREAD_BEAN = "com.sun.management.ThreadMXBean";
+
+    /** The number of calibration measurements, the smallest overhead is used. */
+    private static final int CALIBRATION_ROUNDS = 5;
+
+    /** The thread bean, an instance of the HotSpot extension. */
+    private final ThreadMXBean threadBean;
+
+    /** The id of the measured thread. */
+    private final long threadId;
+
+    /** The bytes allocated by one measurement itself. */
+    private final long overhead;
+
+    /**
+     * Instantiates a new meter.
+     *
+     * @param threadBean the thread bean, an instance of the HotSpot extension
+     * @param threadId the id of the measured thread
+     */
+    private AllocationMeter(final ThreadMXBean threadBean, final long threadId) {
+        this.threadBean = threadBean;
+        this.threadId = threadId;
+        this.overhead = calibrate();
+    }
+
+    /**
+     * Create a meter for the current thread.
+     *
+     * @return the meter
+     * @throws TestAbortedException if the allocation can not be measured in this JVM
+     */
+    static AllocationMeter forCurrentThread() {
+        try {
+            Class.forName(SUN_THREAD_BEAN, false, AllocationMeter.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            throw new TestAbortedException("thread allocation measurement is not available: " + SUN_THREAD_BEAN
+                    + " is not present");
+        }
+        ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+        if (!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+            throw new TestAbortedException("thread allocation measurement is not available: the thread bean "
+                    + threadBean.getClass().getName() + " does not implement " + SUN_THREAD_BEAN);
+        }
+        com.sun.management.ThreadMXBean sunThreadBean = (com.sun.management.ThreadMXBean) threadBean;
+        if (!sunThreadBean.isThreadAllocatedMemorySupported()) {
+            throw new TestAbortedException("thread allocation measurement is not supported by this JVM");
+        }
+        if (!sunThreadBean.isThreadAllocatedMemoryEnabled()) {
+            try {
+                sunThreadBean.setThreadAllocatedMemoryEnabled(true);
+            } catch (SecurityException | UnsupportedOperationException e) {
+                throw new TestAbortedException("thread allocation measurement can not be enabled", e);
+            }
+        }
+        return new AllocationMeter(threadBean, Thread.currentThread().getId());
+    }
+
+    /**
+     * Get the bytes allocated by the thread so far.
+     *
+     * @return the allocated bytes
+     */
+    long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) this.threadBean).getThreadAllocatedBytes(this.threadId);
+    }
+
+    /**
+     * Get the bytes allocated by one measurement ({@link #allocatedBytes()} before and after) itself.
+     *
+     * @return the overhead in bytes
+     */
+    long getOverhead() {
+        return this.overhead;
+    }
+
+    /**
+     * Measure the overhead of a measurement, the smallest of some rounds.
+     *
+     * @return the overhead in bytes
+     */
+    private long calibrate() {
+        long smallest = Long.MAX_VALUE;
+        for (int i = 0; i < CALIBRATION_ROUNDS; i++) {
+            long before = allocatedBytes();
+            long after = allocatedBytes();
+            smallest = Math.min(smallest, after - before);
+        }
+        return Math.max(0, smallest);
+    }
+}
@@ -1,11 +1,21 @@
 package com.queomedia.commons.asserts;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Date;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
 
 import org.apache.commons.lang.builder.EqualsBuilder;
 import org.opentest4j.AssertionFailedError;
@@ -36,18 +46,58 @@ public abstract class AssertUtil {
      */
     private static final int MILLISEC_PER_SECOND = 1000;
 
+    /**
+     * Default for the maximal number of duplicates reported by the {@code noDuplicates} checks.
+     */
+    public static final int DEFAULT_MAX_REPORTED_DUPLICATES = 10;
+
+    /**
+     * Minimal size of a list, that is checked in parallel by the predicate checks without explicit executor.
+     */
+    private static final int PREDICATE_PARALLEL_THRESHOLD = 1024;
+
+    /**
+     * Maximal number of missing keys, extra keys and different values (each) reported by the map checks.
+     */
+    private static final int MAX_REPORTED_MAP_DIFFERENCES = 10;
+
+    /**
+     * Marker for "no element", where {@code null} is a valid element.
+     */
+    private static final Object NONE = new Object();
+
+    /**
+     * Maximal number of elements of a collection rendered in a failure description.
+     */
+    private static final int MAX_RENDERED_ELEMENTS = 20;
+
+    /**
+     * The class of the lists returned by {@link Arrays#asList(Object...)}.
+     */
+    private static final Class<?> ARRAYS_AS_LIST_CLASS = Arrays.asList().getClass();
+
     /**
      * Assert that both time stamps are second precise equals.
      * Background: {@link java.util.Date} is millisecond precise.
      *
      * @param message additional message for the failure description when the check fails
-     * @param expected expected value
-     * @param found found value
+     * @param expected expected value - can be {@code null}
+     * @param found found value - can be {@code null}
+     * @see TimeAssert#equals(String, java.time.Instant, java.time.Instant, java.time.temporal.TemporalUnit)
      */
     public static void secPreciceEquals(final String message, final Date expected, final Date found) {
-        if (expected.getTime() / MILLISEC_PER_SECOND != found.getTime() / MILLISEC_PER_SECOND) {
+        long start = AssertionMetrics.start();
+        boolean equal;
+        if (expected == null || found == null) {
+            equal = expected == found;
+        } else {
+            equal = Math.floorDiv(expected.getTime(), MILLISEC_PER_SECOND) == Math.floorDiv(found.getTime(),
+                    MILLISEC_PER_SECOND);
+        }
+        AssertionMetrics.end(start, "secPreciceEquals", "floorDiv", -1, -1, equal);
+        if (!equal) {
             AssertUtil.failCompare(
-                    AssertUtil.format(message, "[Assertion failed] - collection does not contain the expected item"),
+                    AssertUtil.format(message, "[Assertion failed] - time stamps are not equal at second precision"),
                     expected != null ? expected.toString() : "null",
                     found != null ? found.toString() : "null");
         }
@@ -72,21 +122,18 @@ public abstract class AssertUtil {
      * @param message additional message for the failure description when the check fails
      */
     public static void notEquals(final String message, final Object o1, final Object o2) {
-        if (o1 == o2) {
+        long start = AssertionMetrics.start();
+        boolean same = o1 == o2;
+        boolean equal = same || (o1 != null && o2 != null && o1.equals(o2));
+        AssertionMetrics.end(start, "notEquals", "equals", -1, -1, !equal);
+
+        if (same) {
             AssertUtil.fail(AssertUtil.format(message, "[Assertion failed] - both objects are same but should not be"));
         }
-        if ((o1 == null) ^ (o2 == null)) {
-            return;
-        }
-
-        assert (o1 != null);
-        assert (o2 != null);
-
-        if (o1.equals(o2)) {
+        if (equal) {
             AssertUtil
                     .fail(AssertUtil.format(message, "[Assertion failed] - both objects are equals but should not be"));
         }
-        return;
     }
 
     /**
@@ -109,10 +156,13 @@ public abstract class AssertUtil {
     public static void equalsWithoutWhitespace(final String message, final String expected, final String found) {
         Check.notNullArgument(expected, "expected");
         Check.notNullArgument(found, "found");
+        long start = AssertionMetrics.start();
         String expectedNormalized = expected.replace(" ", "");
         String foundNormalized = found.replace(" ", "");
+        boolean passed = expectedNormalized.equals(foundNormalized);
+        AssertionMetrics.end(start, "equalsWithoutWhitespace", "replace", expected.length(), found.length(), passed);
 
-        if (!expectedNormalized.equals(foundNormalized)) {
+        if (!passed) {
             AssertUtil.failCompare(AssertUtil.format(message, "[Assertion failed] - trimmed strings are not equal"),
                     expectedNormalized,
                     foundNormalized);
@@ -136,12 +186,28 @@ public abstract class AssertUtil {
      * @param message additional message for the failure description when the check fails
      */
     public static void isEmpty(final String message, final Collection<?> collection) {
+        AssertUtil.checkIsEmpty(message, collection).orFail();
+    }
+
+    /**
+     * Check that the collection is empty, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param collection the collection
+     * @return the check result
+     * @see #isEmpty(String, Collection)
+     */
+    public static CheckResult checkIsEmpty(final String message, final Collection<?> collection) {
         Check.notNullArgument(collection, "collection");
-        if (collection.size() != 0) {
-            AssertUtil.failCompare(AssertUtil.format(message, "[Assertion failed] - no elements expected"),
+        long start = AssertionMetrics.start();
+        boolean passed = collection.isEmpty();
+        AssertionMetrics.end(start, "isEmpty", "isEmpty", null, collection, passed);
+        if (!passed) {
+            return CheckResult.failureCompare(AssertUtil.format(message, "[Assertion failed] - no elements expected"),
                     0,
-                    collection.size());
+                    SizeProbe.sizeUpTo(collection, Integer.MAX_VALUE));
         }
+        return CheckResult.SUCCESS;
     }
 
     /**
@@ -153,6 +219,48 @@ public abstract class AssertUtil {
         AssertUtil.isEmpty(null, collection);
     }
 
+    /**
+     * Check that the iterable has no elements.
+     * Only the first element is requested, so it works for lazy and infinite iterables too.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param iterable the iterable
+     */
+    public static void isEmpty(final String message, final Iterable<?> iterable) {
+        Check.notNullArgument(iterable, "iterable");
+        if (iterable instanceof Collection) {
+            AssertUtil.isEmpty(message, (Collection<?>) iterable);
+            return;
+        }
+        long start = AssertionMetrics.start();
+        boolean passed = !iterable.iterator().hasNext();
+        AssertionMetrics.end(start, "isEmpty", "hasNext", 0, passed ? 0 : 1, passed);
+        if (!passed) {
+            AssertUtil.failCompare(AssertUtil.format(message, "[Assertion failed] - no elements expected"),
+                    0,
+                    "at least 1");
+        }
+    }
+
+    /**
+     * Check that the stream has no elements.
+     * Only the first element is requested, the stream is consumed by this check.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param stream the stream
+     */
+    public static void isEmpty(final String message, final Stream<?> stream) {
+        Check.notNullArgument(stream, "stream");
+        long start = AssertionMetrics.start();
+        boolean passed = stream.limit(1).count() == 0;
+        AssertionMetrics.end(start, "isEmpty", "limit", 0, passed ? 0 : 1, passed);
+        if (!passed) {
+            AssertUtil.failCompare(AssertUtil.format(message, "[Assertion failed] - no elements expected"),
+                    0,
+                    "at least 1");
+        }
+    }
+
     /**
      * Check that the collection is empty or null.
      *
@@ -160,11 +268,27 @@ public abstract class AssertUtil {
      * @param message additional message for the failure description when the check fails
      */
     public static void isEmptyOrNull(final String message, final Collection<?> collection) {
-        if (collection != null && collection.size() != 0) {
-            AssertUtil.failCompare(AssertUtil.format(message, "[Assertion failed] - no elements expected"),
+        AssertUtil.checkIsEmptyOrNull(message, collection).orFail();
+    }
+
+    /**
+     * Check that the collection is empty or null, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param collection the collection
+     * @return the check result
+     * @see #isEmptyOrNull(String, Collection)
+     */
+    public static CheckResult checkIsEmptyOrNull(final String message, final Collection<?> collection) {
+        long start = AssertionMetrics.start();
+        boolean passed = collection == null || collection.isEmpty();
+        AssertionMetrics.end(start, "isEmptyOrNull", "isEmpty", null, collection, passed);
+        if (!passed) {
+            return CheckResult.failureCompare(AssertUtil.format(message, "[Assertion failed] - no elements expected"),
                     0,
-                    collection.size());
+                    SizeProbe.sizeUpTo(collection, Integer.MAX_VALUE));
         }
+        return CheckResult.SUCCESS;
     }
 
     /**
@@ -178,24 +302,60 @@ public abstract class AssertUtil {
 
     /**
      * Checks for the correct size size.
+     * For collections with an expensive size (see {@link #registerExpensiveSizeType(Class)}),
+     * the elements are counted only up to {@code expectedSize + 1}.
      *
      * @param expectedSize the expected size
      * @param foundCollection the collection
      * @param message additional message for the failure description when the check fails
      */
     public static void hasSize(final String message, final int expectedSize, final Collection<?> foundCollection) {
+        AssertUtil.checkHasSize(message, expectedSize, foundCollection).orFail();
+    }
+
+    /**
+     * Checks for the correct size size, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedSize the expected size
+     * @param foundCollection the collection
+     * @return the check result
+     * @see #hasSize(String, int, Collection)
+     */
+    public static CheckResult checkHasSize(final String message, final int expectedSize,
+            final Collection<?> foundCollection) {
         Check.notNullArgument(foundCollection, "collection");
 
-        if (expectedSize != foundCollection.size()) {
-            AssertUtil
-                    .failCompare(
-                            AssertUtil
-                                    .format(message,
-                                            "[Assertion failed] - collection has wrong size, " + "found collection= "
-                                                    + foundCollection),
-                            expectedSize,
-                            foundCollection.size());
+        /* for collections with expensive size, count only up to the first element that is too much */
+        long start = AssertionMetrics.start();
+        int foundSize = SizeProbe.sizeUpTo(foundCollection, SizeProbe.limitFor(expectedSize));
+        AssertionMetrics.end(start, "hasSize", "sizeUpTo", expectedSize, foundSize, expectedSize == foundSize);
+        return hasSizeResult(message, expectedSize, foundCollection, foundSize);
+    }
+
+    /**
+     * Create the result of a size check.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedSize the expected size
+     * @param foundCollection the collection
+     * @param foundSize the size of the collection, as determined by {@link SizeProbe#sizeUpTo(Collection, int)}
+     * @return the check result
+     */
+    private static CheckResult hasSizeResult(final String message, final int expectedSize,
+            final Collection<?> foundCollection, final int foundSize) {
+        if (expectedSize != foundSize) {
+            int limit = SizeProbe.limitFor(expectedSize);
+            return CheckResult.failureCompare(AssertUtil.format(message,
+                    "[Assertion failed] - collection has wrong size"
+                            + (foundSize == limit && SizeProbe.hasExpensiveSize(foundCollection)
+                                    ? " (counted up to " + limit + " elements)"
+                                    : "")
+                            + ", found collection=" + describeElements(foundCollection)),
+                    expectedSize,
+                    foundSize);
         }
+        return CheckResult.SUCCESS;
     }
 
     /**
@@ -208,6 +368,80 @@ public abstract class AssertUtil {
         AssertUtil.hasSize(null, size, collection);
     }
 
+    /**
+     * Checks for the correct number of elements of the iterable.
+     * The elements are counted only up to {@code expectedSize + 1},
+     * so it works for lazy and infinite iterables too.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedSize the expected size
+     * @param iterable the iterable
+     */
+    public static void hasSize(final String message, final int expectedSize, final Iterable<?> iterable) {
+        Check.notNullArgument(iterable, "iterable");
+
+        if (iterable instanceof Collection) {
+            AssertUtil.hasSize(message, expectedSize, (Collection<?>) iterable);
+            return;
+        }
+        long start = AssertionMetrics.start();
+        int limit = SizeProbe.limitFor(expectedSize);
+        int foundSize = SizeProbe.countUpTo(iterable.iterator(), limit);
+        AssertionMetrics.end(start, "hasSize", "countUpTo", expectedSize, foundSize, expectedSize == foundSize);
+        if (expectedSize != foundSize) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - iterable has wrong size" + (foundSize == limit
+                            ? " (counted up to " + limit + " elements)"
+                            : "")),
+                    expectedSize,
+                    foundSize);
+        }
+    }
+
+    /**
+     * Checks for the correct number of elements of the stream.
+     * The elements are counted only up to {@code expectedSize + 1}, the stream is consumed by this check.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedSize the expected size
+     * @param stream the stream
+     */
+    public static void hasSize(final String message, final int expectedSize, final Stream<?> stream) {
+        Check.notNullArgument(stream, "stream");
+
+        long start = AssertionMetrics.start();
+        int limit = SizeProbe.limitFor(expectedSize);
+        long foundSize = stream.limit(limit).count();
+        AssertionMetrics.end(start, "hasSize", "limit", expectedSize, (int) foundSize, expectedSize == foundSize);
+        if (expectedSize != foundSize) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - stream has wrong size" + (foundSize == limit
+                            ? " (counted up to " + limit + " elements)"
+                            : "")),
+                    expectedSize,
+                    foundSize);
+        }
+    }
+
+    /**
+     * Register a collection type where {@link Collection#size()} is expensive (for example ORM backed lazy
+     * collections). For these collections (and their sub types) {@code hasSize}, {@code sameSize} and
+     * {@code containsExact} count the elements by iteration, but only up to the first element that is too much.
+     *
+     * <p>
+     * {@link java.util.concurrent.ConcurrentLinkedQueue}, {@link java.util.concurrent.ConcurrentLinkedDeque},
+     * {@link java.util.concurrent.LinkedTransferQueue} and {@link java.util.concurrent.ConcurrentSkipListSet}
+     * are known without registration.
+     * </p>
+     *
+     * @param collectionType the collection type
+     */
+    public static void registerExpensiveSizeType(final Class<?> collectionType) {
+        Check.notNullArgument(collectionType, "collectionType");
+
+        SizeProbe.registerExpensiveSizeType(collectionType);
+    }
+
     /**
      * Checks for the correct size size.
      *
@@ -216,14 +450,31 @@ public abstract class AssertUtil {
      * @param message additional message for the failure description when the check fails
      */
     public static void hasSize(final String message, final int expectedSize, final Map<?, ?> foundMap) {
+        AssertUtil.checkHasSize(message, expectedSize, foundMap).orFail();
+    }
+
+    /**
+     * Checks for the correct size size, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedSize the expected size
+     * @param foundMap the map
+     * @return the check result
+     * @see #hasSize(String, int, Map)
+     */
+    public static CheckResult checkHasSize(final String message, final int expectedSize, final Map<?, ?> foundMap) {
         Check.notNullArgument(foundMap, "foundMap");
 
-        if (expectedSize != foundMap.size()) {
-            AssertUtil.failCompare(
+        long start = AssertionMetrics.start();
+        int foundSize = foundMap.size();
+        AssertionMetrics.end(start, "hasSize", "size", expectedSize, foundSize, expectedSize == foundSize);
+        if (expectedSize != foundSize) {
+            return CheckResult.failureCompare(
                     AssertUtil.format(message, "[Assertion failed] - map has wrong size, " + "found map= " + foundMap),
                     expectedSize,
-                    foundMap.size());
+                    foundSize);
         }
+        return CheckResult.SUCCESS;
     }
 
     /**
@@ -247,16 +498,49 @@ public abstract class AssertUtil {
      */
     public static <T, K> void sameSize(final String message, final Collection<? extends T> expected,
             final Collection<? extends K> found) {
+        AssertUtil.checkSameSize(message, expected, found).orFail();
+    }
+
+    /**
+     * Checks hat both collections have the same size, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected collection (size)
+     * @param found the found collection (size)
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the check result
+     * @see #sameSize(String, Collection, Collection)
+     */
+    public static <T, K> CheckResult checkSameSize(final String message, final Collection<? extends T> expected,
+            final Collection<? extends K> found) {
         Check.notNullArgument(expected, "expected");
         Check.notNullArgument(found, "found");
 
-        if (found.size() != expected.size()) {
-            AssertUtil.failCompare(AssertUtil.format(message,
-                    "[Assertion failed] - collections does not have the same size - expected collection=" + expected
-                            + " found collection=" + found),
-                    expected.size(),
-                    found.size());
+        long start = AssertionMetrics.start();
+        CheckResult result = sameSizeResult(message, expected, found);
+        AssertionMetrics.end(start, "sameSize", "sizeUpTo", expected, found, result.isSuccess());
+        return result;
+    }
+
+    /**
+     * Check that both collections have the same size, without the measurement (for the checks that use it).
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected collection (size)
+     * @param found the found collection (size)
+     * @return the check result
+     */
+    private static CheckResult sameSizeResult(final String message, final Collection<?> expected,
+            final Collection<?> found) {
+        if (!SizeProbe.sameSize(expected, found)) {
+            return CheckResult.failureCompare(AssertUtil.format(message,
+                    "[Assertion failed] - collections does not have the same size - expected collection="
+                            + describeElements(expected) + " found collection=" + describeElements(found)),
+                    SizeProbe.sizeUpTo(expected, Integer.MAX_VALUE),
+                    SizeProbe.sizeUpTo(found, Integer.MAX_VALUE));
         }
+        return CheckResult.SUCCESS;
     }
 
     /**
@@ -291,10 +575,26 @@ public abstract class AssertUtil {
      */
     public static <T> void containsExact(final String message, final Collection<? extends T> expected,
             final Collection<? extends T> found) {
+        AssertUtil.checkContainsExact(message, expected, found).orFail();
+    }
+
+    /**
+     * Check that the two collections contains exactly equals elements, without throwing an exception.
+     * The order doesn't matter.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected one collection
+     * @param found the other collection
+     * @param <T> The type of expected and found objects
+     * @return the check result
+     * @see #containsExact(String, Collection, Collection)
+     */
+    public static <T> CheckResult checkContainsExact(final String message, final Collection<? extends T> expected,
+            final Collection<? extends T> found) {
         Check.notNullArgument(expected, "expected");
         Check.notNullArgument(found, "found");
 
-        containsExact(message, expected, found, NativeEqualsChecker.<T> getInstance());
+        return checkContainsExact(message, expected, found, NativeEqualsChecker.<T> getInstance());
     }
 
     /**
@@ -323,17 +623,37 @@ public abstract class AssertUtil {
      */
     public static <T> void containsExact(final String message, final T expectedItem,
             final Collection<? extends T> found) {
+        AssertUtil.checkContainsExact(message, expectedItem, found).orFail();
+    }
+
+    /**
+     * Check that the collection contains exactly the one element, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedItem the expected item can be {@code null}
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     * @return the check result
+     * @see #containsExact(String, Object, Collection)
+     */
+    public static <T> CheckResult checkContainsExact(final String message, final T expectedItem,
+            final Collection<? extends T> found) {
         /* expectedItem can be null */
         Check.notNullArgument(found, "found");
 
+        long start = AssertionMetrics.start();
+        CheckResult result;
         if (found.size() != 1) {
-            AssertUtil.failCompare(AssertUtil.format(message,
+            result = CheckResult.failureCompare(AssertUtil.format(message,
                     "[Assertion failed] - collection does not have exactly one item"), expectedItem, found);
-        }
-        if (!found.contains(expectedItem)) {
-            AssertUtil.failCompare(AssertUtil.format(message,
+        } else if (!found.contains(expectedItem)) {
+            result = CheckResult.failureCompare(AssertUtil.format(message,
                     "[Assertion failed] - collection does not contain expected element"), expectedItem, found);
+        } else {
+            result = CheckResult.SUCCESS;
         }
+        AssertionMetrics.end(start, "containsExact", "contains", 1, found, result.isSuccess());
+        return result;
     }
 
     /**
@@ -393,169 +713,439 @@ public abstract class AssertUtil {
      */
     public static <T, K> void containsExact(final String message, final Collection<? extends T> expected,
             final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
-        Check.notNullArgument(expected, "expected");
-        Check.notNullArgument(found, "found");
-        Check.notNullArgument(equalsChecker, "equalsChecker");
-
-        AssertUtil.sameSize(message, expected, found);
-
-        //copy found to an list, to make sure that the order for each serach loop stay the same
-        List<K> foundList = new ArrayList<K>(found);
-        //default element value for an new boolean array is FALSE        
-        boolean[] foundAllreadyMatchedElements = new boolean[found.size()];
-
-        for (T expectedObject : expected) {
-            boolean objectFound = false;
-
-            final int size = foundList.size();
-            for (int i = 0; i < size; i++) {
-                if (!foundAllreadyMatchedElements[i] && equalsChecker.equals(expectedObject, foundList.get(i))) {
-                    objectFound = true;
-                    foundAllreadyMatchedElements[i] = true;
-                    break;
-                }
-            }
-            if (!objectFound) {
-                AssertUtil
-                        .failCompare(
-                                AssertUtil
-                                        .format(message,
-                                                "[Assertion failed] - collections does not contain equal elements "
-                                                        + "first not found element=" + expectedObject),
-                                expected,
-                                found);
-            }
-        }
+        AssertUtil.checkContainsExact(message, expected, found, equalsChecker).orFail();
     }
 
     /**
-     * Check that the two collections contains equals (by a specific definition) elements.
+     * Check that the two collections contains equals (by a specific definition) elements,
+     * without throwing an exception.
      * The order doesn't matter.
      *
+     * @param message additional message for the failure description when the check fails
      * @param expected one collection
      * @param found the found
      * @param equalsChecker the equals checker
      * @param <T> the type of the expected object
      * @param <K> the type of the found objects
+     * @return the check result
+     * @see #containsExact(String, Collection, Collection, EqualsChecker)
      */
-    public static <T, K> void containsExact(final Collection<? extends T> expected, final Collection<? extends K> found,
-            final EqualsChecker<T, K> equalsChecker) {
-        AssertUtil.containsExact(null, expected, found, equalsChecker);
+    public static <T, K> CheckResult checkContainsExact(final String message, final Collection<? extends T> expected,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+
+        long start = AssertionMetrics.start();
+        CheckResult result = containsExactResult(message, expected, found, equalsChecker);
+        AssertionMetrics.end(start,
+                "containsExact",
+                isInPlaceList(found) ? "in-place" : "snapshot",
+                expected,
+                found,
+                result.isSuccess());
+        return result;
     }
 
     /**
      * Check that the two collections contains equals (by a specific definition) elements.
-     * The order doesn't matter.
      *
-     * @param expectedObject the expected object
-     * @param found the found collection
-     * @param equalsChecker the equals checker
      * @param message additional message for the failure description when the check fails
+     * @param expected one collection
+     * @param found the found
+     * @param equalsChecker the equals checker
      * @param <T> the type of the expected object
      * @param <K> the type of the found objects
+     * @return the check result
      */
-    public static <T, K> void containsExact(final String message, final T expectedObject,
+    private static <T, K> CheckResult containsExactResult(final String message, final Collection<? extends T> expected,
             final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
-        Check.notNullArgument(found, "found");
-        Check.notNullArgument(equalsChecker, "equalsChecker");
+        CheckResult sameSize = AssertUtil.sameSizeResult(message, expected, found);
+        if (sameSize.isFailure()) {
+            return sameSize;
+        }
 
-        AssertUtil.hasSize(message, 1, found);
-        if (!equalsChecker.equals(expectedObject, found.iterator().next())) {
-            AssertUtil.failCompare(AssertUtil.format(message, "collection does not contain expected (one) element"),
-                    expectedObject,
-                    found);
+        /*
+         * a plain array list is searched in place, other collections (also lists that can be modified
+         * concurrently, like a CopyOnWriteArrayList) are copied to a (reused) buffer,
+         * to make sure that the elements stay the same for each search loop
+         */
+        SnapshotCapture capture = null;
+        final List<? extends K> foundList;
+        if (isInPlaceList(found)) {
+            foundList = (List<? extends K>) found;
+        } else {
+            capture = SnapshotCapture.acquire();
+            capture.capture(found);
+            foundList = AssertUtil.<K> typedCapture(capture);
+        }
+        /* the size is read once, the bits and the search loops use the same size */
+        final int foundSize = foundList.size();
+        ScratchBits foundAllreadyMatchedElements = ScratchBits.acquire(foundSize);
+        try {
+            if (isRandomAccessList(expected)) {
+                List<? extends T> expectedList = (List<? extends T>) expected;
+                final int expectedSize = expectedList.size();
+                for (int e = 0; e < expectedSize; e++) {
+                    T expectedObject = expectedList.get(e);
+                    if (!matchUnmatched(expectedObject, foundList, foundSize, foundAllreadyMatchedElements,
+                            equalsChecker)) {
+                        return notContainedFailure(message, expectedObject, expected, found);
+                    }
+                }
+            } else {
+                for (T expectedObject : expected) {
+                    if (!matchUnmatched(expectedObject, foundList, foundSize, foundAllreadyMatchedElements,
+                            equalsChecker)) {
+                        return notContainedFailure(message, expectedObject, expected, found);
+                    }
+                }
+            }
+            return CheckResult.SUCCESS;
+        } finally {
+            foundAllreadyMatchedElements.release();
+            if (capture != null) {
+                capture.release();
+            }
         }
     }
 
     /**
-     * Check that the two collections contains equals (by a specific definition) elements.
-     * The order doesn't matter.
+     * Find the first not already matched element that is equal to the expected object, and mark it as matched.
      *
      * @param expectedObject the expected object
-     * @param found the found collection
+     * @param foundList the found elements
+     * @param size the number of found elements
+     * @param matched the already matched elements
      * @param equalsChecker the equals checker
      * @param <T> the type of the expected object
      * @param <K> the type of the found objects
+     * @return true, if a matching element was found
      */
-    public static <T, K> void containsExact(final T expectedObject, final Collection<? extends K> found,
-            final EqualsChecker<T, K> equalsChecker) {
-        AssertUtil.containsExact(null, expectedObject, found, equalsChecker);
-    }
-
-    /**
-     * Check that the two collections contains exactly equals elements in the same order.
-     *
-     * @param expected one collection
-     * @param message additional message for the failure description when the check fails
-     * @param found the found
-     * @param <T> The type of expected and found objects
-     */
-    public static <T> void sameOrder(final String message, final List<? extends T> expected,
-            final List<? extends T> found) {
-        Check.notNullArgument(expected, "expected");
-        Check.notNullArgument(found, "found");
-
-        AssertUtil.sameSize(message, expected, found);
-        int size = expected.size();
+    private static <T, K> boolean matchUnmatched(final T expectedObject, final List<? extends K> foundList,
+            final int size, final ScratchBits matched, final EqualsChecker<T, K> equalsChecker) {
         for (int i = 0; i < size; i++) {
-            if (!expected.get(i).equals(found.get(i))) {
-                AssertUtil.failCompare(AssertUtil.format(message,
-                        "[Assertion failed] - the elements have not the same order - " + "first difference at index "
-                                + i + " - expected element=" + expected.get(i) + ", found element=" + found.get(i)),
-                        expected,
-                        found);
+            if (!matched.get(i) && equalsChecker.equals(expectedObject, foundList.get(i))) {
+                matched.set(i);
+                return true;
             }
         }
+        return false;
     }
 
     /**
-     * Check that the two collections contains exactly equals elements in the same order.
+     * Create the failure for an expected element that is not contained in the found collection.
      *
-     * @param expected one collection
-     * @param found the found
-     * @param <T> The type of expected and found objects
+     * @param message the message
+     * @param expectedObject the not found expected object
+     * @param expected the expected collection
+     * @param found the found collection
+     * @return the check result
      */
-    public static <T> void sameOrder(final List<T> expected, final List<T> found) {
-        AssertUtil.sameOrder(null, expected, found);
+    private static CheckResult notContainedFailure(final String message, final Object expectedObject,
+            final Collection<?> expected, final Collection<?> found) {
+        return CheckResult.failureCompare(
+                AssertUtil.format(message,
+                        "[Assertion failed] - collections does not contain equal elements "
+                                + "first not found element=" + expectedObject),
+                expected,
+                found);
     }
 
     /**
-     * Check that the two collections contains exactly equals (by a specific definition) elements in the same order.
+     * View the captured elements as list of the found type, the elements were taken from a collection of this
+     * type.
      *
-     * @param expected one collection
-     * @param equalsChecker the equals definition
-     * @param message additional message for the failure description when the check fails
-     * @param found the found
-     * @param <T> the type of the expected object
+     * @param capture the capture
      * @param <K> the type of the found objects
+     * @return the capture
      */
-    public static <T, K> void sameOrder(final String message, final List<? extends T> expected,
-            final List<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
-        Check.notNullArgument(expected, "expected");
+    @SuppressWarnings("unchecked")
+    private static <K> List<K> typedCapture(final SnapshotCapture capture) {
+        return (List<K>) (List<?>) capture;
+    }
+
+    /**
+     * Render the first {@link #MAX_RENDERED_ELEMENTS} elements of the collection for a failure description,
+     * so the description of a failed check on a large collection costs no full {@link Collection#toString()}.
+     * Small collections are rendered like {@link java.util.AbstractCollection#toString()}.
+     *
+     * @param collection the collection
+     * @return for example {@code [1, 2, 3, ... (1000 elements)]}
+     */
+    static String describeElements(final Collection<?> collection) {
+        StringBuilder description = new StringBuilder("[");
+        Iterator<?> iterator = collection.iterator();
+        for (int i = 0; i < MAX_RENDERED_ELEMENTS && iterator.hasNext(); i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            Object element = iterator.next();
+            description.append(element == collection ? "(this Collection)" : element);
+        }
+        if (iterator.hasNext()) {
+            description.append(", ...");
+            if (!SizeProbe.hasExpensiveSize(collection)) {
+                description.append(" (").append(collection.size()).append(" elements)");
+            }
+        }
+        return description.append(']').toString();
+    }
+
+    /**
+     * Check if the collection is a list that can be searched in place: an {@link ArrayList} or a list of
+     * {@link Arrays#asList(Object...)}, but no sub class of them and no concurrent or synchronized list.
+     *
+     * @param collection the collection
+     * @return true, if it is searched in place
+     */
+    private static boolean isInPlaceList(final Collection<?> collection) {
+        return collection.getClass() == ArrayList.class || collection.getClass() == ARRAYS_AS_LIST_CLASS;
+    }
+
+    /**
+     * Check if the collection is a list with fast indexed access.
+     *
+     * @param collection the collection
+     * @return true, if it is a random access list
+     */
+    private static boolean isRandomAccessList(final Collection<?> collection) {
+        return collection instanceof List && collection instanceof RandomAccess;
+    }
+
+    /**
+     * Check that the two collections contains equals (by a specific definition) elements.
+     * The order doesn't matter.
+     *
+     * @param expected one collection
+     * @param found the found
+     * @param equalsChecker the equals checker
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsExact(final Collection<? extends T> expected, final Collection<? extends K> found,
+            final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.containsExact(null, expected, found, equalsChecker);
+    }
+
+    /**
+     * Check that the two collections contains equals (by a specific definition) elements.
+     * The order doesn't matter.
+     *
+     * @param expectedObject the expected object
+     * @param found the found collection
+     * @param equalsChecker the equals checker
+     * @param message additional message for the failure description when the check fails
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsExact(final String message, final T expectedObject,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.checkContainsExact(message, expectedObject, found, equalsChecker).orFail();
+    }
+
+    /**
+     * Check that the collection contains exactly the one element (by a specific definition),
+     * without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedObject the expected object
+     * @param found the found collection
+     * @param equalsChecker the equals checker
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the check result
+     * @see #containsExact(String, Object, Collection, EqualsChecker)
+     */
+    public static <T, K> CheckResult checkContainsExact(final String message, final T expectedObject,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+
+        long start = AssertionMetrics.start();
+        int foundSize = SizeProbe.sizeUpTo(found, SizeProbe.limitFor(1));
+        boolean passed = foundSize == 1 && equalsChecker.equals(expectedObject, found.iterator().next());
+        AssertionMetrics.end(start, "containsExact", "equalsChecker", 1, foundSize, passed);
+        if (passed) {
+            return CheckResult.SUCCESS;
+        }
+        CheckResult sizeResult = hasSizeResult(message, 1, found, foundSize);
+        if (!sizeResult.isSuccess()) {
+            return sizeResult;
+        }
+        return CheckResult.failureCompare(
+                AssertUtil.format(message, "collection does not contain expected (one) element"),
+                expectedObject,
+                found);
+    }
+
+    /**
+     * Check that the two collections contains equals (by a specific definition) elements.
+     * The order doesn't matter.
+     *
+     * @param expectedObject the expected object
+     * @param found the found collection
+     * @param equalsChecker the equals checker
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsExact(final T expectedObject, final Collection<? extends K> found,
+            final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.containsExact(null, expectedObject, found, equalsChecker);
+    }
+
+    /**
+     * Check that the two collections contains exactly equals elements in the same order.
+     *
+     * @param expected one collection
+     * @param message additional message for the failure description when the check fails
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void sameOrder(final String message, final List<? extends T> expected,
+            final List<? extends T> found) {
+        AssertUtil.checkSameOrder(message, expected, found).orFail();
+    }
+
+    /**
+     * Check that the two collections contains exactly equals elements in the same order,
+     * without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected one collection
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     * @return the check result
+     * @see #sameOrder(String, List, List)
+     */
+    public static <T> CheckResult checkSameOrder(final String message, final List<? extends T> expected,
+            final List<? extends T> found) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+
+        long start = AssertionMetrics.start();
+        CheckResult result = sameOrderResult(message, expected, found);
+        AssertionMetrics.end(start, "sameOrder", "indexed", expected, found, result.isSuccess());
+        return result;
+    }
+
+    /**
+     * Check that the two lists contains exactly equals elements in the same order.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected one list
+     * @param found the other list
+     * @return the check result
+     */
+    private static CheckResult sameOrderResult(final String message, final List<?> expected, final List<?> found) {
+        CheckResult sameSize = AssertUtil.sameSizeResult(message, expected, found);
+        if (sameSize.isFailure()) {
+            return sameSize;
+        }
+        int size = expected.size();
+        for (int i = 0; i < size; i++) {
+            if (!expected.get(i).equals(found.get(i))) {
+                return CheckResult.failureCompare(AssertUtil.format(message,
+                        "[Assertion failed] - the elements have not the same order - " + "first difference at index "
+                                + i + " - expected element=" + expected.get(i) + ", found element=" + found.get(i)),
+                        expected,
+                        found);
+            }
+        }
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Check that the two collections contains exactly equals elements in the same order.
+     *
+     * @param expected one collection
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void sameOrder(final List<T> expected, final List<T> found) {
+        AssertUtil.sameOrder(null, expected, found);
+    }
+
+    /**
+     * Check that the two collections contains exactly equals (by a specific definition) elements in the same order.
+     *
+     * @param expected one collection
+     * @param equalsChecker the equals definition
+     * @param message additional message for the failure description when the check fails
+     * @param found the found
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void sameOrder(final String message, final List<? extends T> expected,
+            final List<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.checkSameOrder(message, expected, found, equalsChecker).orFail();
+    }
+
+    /**
+     * Check that the two collections contains exactly equals (by a specific definition) elements in the same order,
+     * without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected one collection
+     * @param found the found
+     * @param equalsChecker the equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the check result
+     * @see #sameOrder(String, List, List, EqualsChecker)
+     */
+    public static <T, K> CheckResult checkSameOrder(final String message, final List<? extends T> expected,
+            final List<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(expected, "expected");
         Check.notNullArgument(found, "found");
 
-        AssertUtil.sameSize(expected, found);
+        long start = AssertionMetrics.start();
+        CheckResult result = sameOrderResult(message, expected, found, equalsChecker);
+        AssertionMetrics.end(start, "sameOrder", "indexed", expected, found, result.isSuccess());
+        return result;
+    }
+
+    /**
+     * Check that the two lists contains exactly equals (by a specific definition) elements in the same order.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected one list
+     * @param found the other list
+     * @param equalsChecker the equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the check result
+     */
+    private static <T, K> CheckResult sameOrderResult(final String message, final List<? extends T> expected,
+            final List<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        CheckResult sameSize = AssertUtil.sameSizeResult(null, expected, found);
+        if (sameSize.isFailure()) {
+            return sameSize;
+        }
         int size = expected.size();
         for (int i = 0; i < size; i++) {
+            boolean equal;
             try {
-                if (!equalsChecker.equals(expected.get(i), found.get(i))) {
-                    AssertUtil
-                            .failCompare(
-                                    AssertUtil.format(message,
-                                            "[Assertion failed] - the elements have not the same order - "
-                                                    + "first difference at index " + i + " - expected element="
-                                                    + expected.get(i) + ", found element=" + found.get(i)),
-                                    expected,
-                                    found);
-                }
+                equal = equalsChecker.equals(expected.get(i), found.get(i));
             } catch (RuntimeException e) {
                 throw new IllegalArgumentException(
                         "[Exception while assertion check] - the elements have not the same order"
                                 + "(first difference at index " + i + " (expected=" + expected.get(i) + " found="
-                                + found.get(i) + ")) - expected list + " + expected + " found list " + found,
+                                + found.get(i) + ")) - expected list=" + describeElements(expected) + " found list="
+                                + describeElements(found),
                         e);
             }
+            if (!equal) {
+                return CheckResult.failureCompare(
+                        AssertUtil.format(message,
+                                "[Assertion failed] - the elements have not the same order - "
+                                        + "first difference at index " + i + " - expected element="
+                                        + expected.get(i) + ", found element=" + found.get(i)),
+                        expected,
+                        found);
+            }
         }
+        return CheckResult.SUCCESS;
     }
 
     /**
@@ -573,334 +1163,1777 @@ public abstract class AssertUtil {
     }
 
     /**
-     * Check that the elements of expects are element of found too (by a specific definition) elements.
-     * The order doesn't matter.
-     * {@code found} can have some more elements.
-     * 
-     * This method is only for internal use
+     * Check that found contains the expected elements (by a specific definition) in the same order,
+     * but {@code found} can have some more elements in between.
      *
-     * @param expectedObject the expected object
-     * @param found the found
-     * @param equalsChecker the specific equals definition
+     * <p>
+     * For example:
+     * {@code
+     *    containsInOrder("message", Arrays.asList(1,3), Arrays.asList(1,2,3,4).iterator(), checker)  //pass
+     *    containsInOrder("message", Arrays.asList(3,1), Arrays.asList(1,2,3,4).iterator(), checker)  //fail
+     * }
+     * </p>
+     *
+     * <p>
+     * The check needs one single pass over {@code found} (each expected element is matched to the first
+     * following found element that is equal), {@code found} is not copied.
+     * So it can be used for very long (lazy) sequences too.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements in the expected order
+     * @param found the found elements
+     * @param equalsChecker the equals definition
      * @param <T> the type of the expected object
      * @param <K> the type of the found objects
      */
-    private static <T, K> boolean isContainingAtLeast(final T expectedObject, final Collection<? extends K> found,
-            final EqualsChecker<T, K> equalsChecker) {
+    public static <T, K> void containsInOrder(final String message, final List<? extends T> expected,
+            final Iterator<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
 
-        for (K foundObject : found) {
-            if (equalsChecker.equals(expectedObject, foundObject)) {
-                return true;
+        long start = AssertionMetrics.start();
+        final int expectedSize = expected.size();
+        int matched = 0;
+        long foundIndex = 0;
+        long lastMatchIndex = -1;
+        while (matched < expectedSize && found.hasNext()) {
+            if (equalsChecker.equals(expected.get(matched), found.next())) {
+                matched++;
+                lastMatchIndex = foundIndex;
             }
+            foundIndex++;
         }
-        return false;
+        AssertionMetrics.end(start,
+                "containsInOrder",
+                "single pass",
+                expectedSize,
+                (int) Math.min(foundIndex, Integer.MAX_VALUE),
+                matched == expectedSize);
+
+        if (matched < expectedSize) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - found does not contain the expected elements in order - matched " + matched
+                            + " of " + expectedSize + " expected elements (last match at found index "
+                            + lastMatchIndex + ", " + foundIndex + " found elements scanned), first not found element="
+                            + expected.get(matched)),
+                    expected,
+                    new ArrayList<T>(expected.subList(0, matched)));
+        }
+    }
+
+    /**
+     * Check that found contains the expected elements (by a specific definition) in the same order,
+     * but {@code found} can have some more elements in between.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements in the expected order
+     * @param found the found elements
+     * @param equalsChecker the equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @see #containsInOrder(String, List, Iterator, EqualsChecker)
+     */
+    public static <T, K> void containsInOrder(final String message, final List<? extends T> expected,
+            final Iterable<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(found, "found");
+
+        AssertUtil.containsInOrder(message, expected, found.iterator(), equalsChecker);
+    }
+
+    /**
+     * Check that found contains the expected elements (by a specific definition) in the same order,
+     * but {@code found} can have some more elements in between.
+     *
+     * @param expected the expected elements in the expected order
+     * @param found the found elements
+     * @param equalsChecker the equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @see #containsInOrder(String, List, Iterator, EqualsChecker)
+     */
+    public static <T, K> void containsInOrder(final List<? extends T> expected, final Iterable<? extends K> found,
+            final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.containsInOrder(null, expected, found, equalsChecker);
+    }
+
+    /**
+     * Check that found contains the expected elements in the same order,
+     * but {@code found} can have some more elements in between.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements in the expected order
+     * @param found the found elements
+     * @param <T> The type of expected and found objects
+     * @see #containsInOrder(String, List, Iterator, EqualsChecker)
+     */
+    public static <T> void containsInOrder(final String message, final List<? extends T> expected,
+            final Iterator<? extends T> found) {
+        AssertUtil.containsInOrder(message, expected, found, NativeEqualsChecker.<T> getInstance());
+    }
+
+    /**
+     * Check that found contains the expected elements in the same order,
+     * but {@code found} can have some more elements in between.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements in the expected order
+     * @param found the found elements
+     * @param <T> The type of expected and found objects
+     * @see #containsInOrder(String, List, Iterator, EqualsChecker)
+     */
+    public static <T> void containsInOrder(final String message, final List<? extends T> expected,
+            final Iterable<? extends T> found) {
+        AssertUtil.containsInOrder(message, expected, found, NativeEqualsChecker.<T> getInstance());
+    }
+
+    /**
+     * Check that found contains the expected elements in the same order,
+     * but {@code found} can have some more elements in between.
+     *
+     * @param expected the expected elements in the expected order
+     * @param found the found elements
+     * @param <T> The type of expected and found objects
+     * @see #containsInOrder(String, List, Iterator, EqualsChecker)
+     */
+    public static <T> void containsInOrder(final List<? extends T> expected, final Iterable<? extends T> found) {
+        AssertUtil.containsInOrder(null, expected, found);
+    }
+
+    /**
+     * Check that both maps contain the same keys, and that the values of each key are equal
+     * (by a specific definition).
+     *
+     * <p>
+     * The keys are looked up in the found map, so the check needs one pass over the expected map
+     * (and one more over the found map only when the found map has extra keys).
+     * The failure description lists the missing keys, the extra keys and the keys with different values,
+     * each list is capped to 10 entries. The expected and actual values of the failure contain only these entries.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected map
+     * @param found the found map
+     * @param valueChecker the equals definition for the values
+     * @param <V> the type of the expected values
+     * @param <W> the type of the found values
+     */
+    public static <V, W> void containsExact(final String message, final Map<?, ? extends V> expected,
+            final Map<?, ? extends W> found, final EqualsChecker<V, W> valueChecker) {
+        AssertUtil.checkContainsExact(message, expected, found, valueChecker).orFail();
+    }
+
+    /**
+     * Check that both maps contain the same keys, and that the values of each key are equal
+     * (by a specific definition), without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected map
+     * @param found the found map
+     * @param valueChecker the equals definition for the values
+     * @param <V> the type of the expected values
+     * @param <W> the type of the found values
+     * @return the check result
+     * @see #containsExact(String, Map, Map, EqualsChecker)
+     */
+    public static <V, W> CheckResult checkContainsExact(final String message, final Map<?, ? extends V> expected,
+            final Map<?, ? extends W> found, final EqualsChecker<V, W> valueChecker) {
+        return compareMaps(message, expected, found, valueChecker, true);
+    }
+
+    /**
+     * Check that both maps contain the same keys, and that the values of each key are equal
+     * (by a specific definition).
+     *
+     * @param expected the expected map
+     * @param found the found map
+     * @param valueChecker the equals definition for the values
+     * @param <V> the type of the expected values
+     * @param <W> the type of the found values
+     * @see #containsExact(String, Map, Map, EqualsChecker)
+     */
+    public static <V, W> void containsExact(final Map<?, ? extends V> expected, final Map<?, ? extends W> found,
+            final EqualsChecker<V, W> valueChecker) {
+        AssertUtil.containsExact(null, expected, found, valueChecker);
+    }
+
+    /**
+     * Check that both maps contain the same keys with equal values.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected map
+     * @param found the found map
+     * @param <V> The type of expected and found values
+     * @see #containsExact(String, Map, Map, EqualsChecker)
+     */
+    public static <V> void containsExact(final String message, final Map<?, ? extends V> expected,
+            final Map<?, ? extends V> found) {
+        AssertUtil.containsExact(message, expected, found, NativeEqualsChecker.<V> getInstance());
+    }
+
+    /**
+     * Check that both maps contain the same keys with equal values.
+     *
+     * @param expected the expected map
+     * @param found the found map
+     * @param <V> The type of expected and found values
+     * @see #containsExact(String, Map, Map, EqualsChecker)
+     */
+    public static <V> void containsExact(final Map<?, ? extends V> expected, final Map<?, ? extends V> found) {
+        AssertUtil.containsExact(null, expected, found);
+    }
+
+    /**
+     * Check that the found map contains all keys of the expected map, and that the values of each of these keys
+     * are equal (by a specific definition).
+     * {@code found} can have some more keys.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected map
+     * @param found the found map
+     * @param valueChecker the equals definition for the values
+     * @param <V> the type of the expected values
+     * @param <W> the type of the found values
+     * @see #containsExact(String, Map, Map, EqualsChecker)
+     */
+    public static <V, W> void containsAtLeast(final String message, final Map<?, ? extends V> expected,
+            final Map<?, ? extends W> found, final EqualsChecker<V, W> valueChecker) {
+        AssertUtil.checkContainsAtLeast(message, expected, found, valueChecker).orFail();
+    }
+
+    /**
+     * Check that the found map contains all keys of the expected map, and that the values of each of these keys
+     * are equal (by a specific definition), without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected map
+     * @param found the found map
+     * @param valueChecker the equals definition for the values
+     * @param <V> the type of the expected values
+     * @param <W> the type of the found values
+     * @return the check result
+     * @see #containsAtLeast(String, Map, Map, EqualsChecker)
+     */
+    public static <V, W> CheckResult checkContainsAtLeast(final String message, final Map<?, ? extends V> expected,
+            final Map<?, ? extends W> found, final EqualsChecker<V, W> valueChecker) {
+        return compareMaps(message, expected, found, valueChecker, false);
+    }
+
+    /**
+     * Check that the found map contains all keys of the expected map, and that the values of each of these keys
+     * are equal (by a specific definition).
+     * {@code found} can have some more keys.
+     *
+     * @param expected the expected map
+     * @param found the found map
+     * @param valueChecker the equals definition for the values
+     * @param <V> the type of the expected values
+     * @param <W> the type of the found values
+     * @see #containsAtLeast(String, Map, Map, EqualsChecker)
+     */
+    public static <V, W> void containsAtLeast(final Map<?, ? extends V> expected, final Map<?, ? extends W> found,
+            final EqualsChecker<V, W> valueChecker) {
+        AssertUtil.containsAtLeast(null, expected, found, valueChecker);
+    }
+
+    /**
+     * Check that the found map contains all keys of the expected map with equal values.
+     * {@code found} can have some more keys.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected map
+     * @param found the found map
+     * @param <V> The type of expected and found values
+     * @see #containsAtLeast(String, Map, Map, EqualsChecker)
+     */
+    public static <V> void containsAtLeast(final String message, final Map<?, ? extends V> expected,
+            final Map<?, ? extends V> found) {
+        AssertUtil.containsAtLeast(message, expected, found, NativeEqualsChecker.<V> getInstance());
+    }
+
+    /**
+     * Check that the found map contains all keys of the expected map with equal values.
+     * {@code found} can have some more keys.
+     *
+     * @param expected the expected map
+     * @param found the found map
+     * @param <V> The type of expected and found values
+     * @see #containsAtLeast(String, Map, Map, EqualsChecker)
+     */
+    public static <V> void containsAtLeast(final Map<?, ? extends V> expected, final Map<?, ? extends V> found) {
+        AssertUtil.containsAtLeast(null, expected, found);
+    }
+
+    /**
+     * Compare the entries of both maps.
+     *
+     * This method is only for internal use
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected map
+     * @param found the found map
+     * @param valueChecker the equals definition for the values
+     * @param exact true if the found map must not have extra keys
+     * @param <V> the type of the expected values
+     * @param <W> the type of the found values
+     * @return the check result
+     */
+    private static <V, W> CheckResult compareMaps(final String message, final Map<?, ? extends V> expected,
+            final Map<?, ? extends W> found, final EqualsChecker<V, W> valueChecker, final boolean exact) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(valueChecker, "valueChecker");
+
+        long start = AssertionMetrics.start();
+        Map<Object, Object> expectedDifferences = null;
+        Map<Object, Object> foundDifferences = null;
+        List<Object> missingKeys = null;
+        List<String> differentValues = null;
+        int missingCount = 0;
+        int differentCount = 0;
+
+        for (Map.Entry<?, ? extends V> expectedEntry : expected.entrySet()) {
+            Object key = expectedEntry.getKey();
+            W foundValue = found.get(key);
+            if (foundValue == null && !found.containsKey(key)) {
+                missingCount++;
+                if (missingCount <= MAX_REPORTED_MAP_DIFFERENCES) {
+                    missingKeys = add(missingKeys, key);
+                    expectedDifferences = put(expectedDifferences, key, expectedEntry.getValue());
+                }
+            } else if (!valueChecker.equals(expectedEntry.getValue(), foundValue)) {
+                differentCount++;
+                if (differentCount <= MAX_REPORTED_MAP_DIFFERENCES) {
+                    differentValues = add(differentValues,
+                            key + ": expected=" + expectedEntry.getValue() + " found=" + foundValue);
+                    expectedDifferences = put(expectedDifferences, key, expectedEntry.getValue());
+                    foundDifferences = put(foundDifferences, key, foundValue);
+                }
+            }
+        }
+
+        /* every expected key that is not missing is contained in found, so found has extra keys if it is larger */
+        int extraCount = exact ? found.size() - (expected.size() - missingCount) : 0;
+        List<Object> extraKeys = null;
+        if (extraCount > 0) {
+            for (Map.Entry<?, ? extends W> foundEntry : found.entrySet()) {
+                if (!expected.containsKey(foundEntry.getKey())) {
+                    extraKeys = add(extraKeys, foundEntry.getKey());
+                    foundDifferences = put(foundDifferences, foundEntry.getKey(), foundEntry.getValue());
+                    if (extraKeys.size() == MAX_REPORTED_MAP_DIFFERENCES) {
+                        break;
+                    }
+                }
+            }
+        }
+
+        boolean passed = missingCount == 0 && differentCount == 0 && extraCount <= 0;
+        AssertionMetrics.end(start,
+                exact ? "containsExact" : "containsAtLeast",
+                "map lookup",
+                expected.size(),
+                found.size(),
+                passed);
+        if (passed) {
+            return CheckResult.SUCCESS;
+        }
+        return CheckResult.failureCompare(AssertUtil.format(message,
+                "[Assertion failed] - maps does not contain equal entries - " + missingCount + " missing keys "
+                        + (missingKeys != null ? missingKeys : "[]") + ", " + Math.max(0, extraCount)
+                        + " extra keys " + (extraKeys != null ? extraKeys : "[]") + ", " + differentCount
+                        + " different values " + (differentValues != null ? differentValues : "[]")),
+                expectedDifferences,
+                foundDifferences);
+    }
+
+    /**
+     * Add the element to the lazy created list.
+     *
+     * @param list the list - can be {@code null}
+     * @param element the element
+     * @param <E> the element type
+     * @return the list
+     */
+    private static <E> List<E> add(final List<E> list, final E element) {
+        List<E> result = list != null ? list : new ArrayList<E>();
+        result.add(element);
+        return result;
+    }
+
+    /**
+     * Put the entry to the lazy created (insertion ordered) map.
+     *
+     * @param map the map - can be {@code null}
+     * @param key the key
+     * @param value the value
+     * @return the map
+     */
+    private static Map<Object, Object> put(final Map<Object, Object> map, final Object key, final Object value) {
+        Map<Object, Object> result = map != null ? map : new LinkedHashMap<Object, Object>();
+        result.put(key, value);
+        return result;
+    }
+
+    /**
+     * Check that the elements of expects are element of found too (by a specific definition) elements.
+     * The order doesn't matter.
+     * {@code found} can have some more elements.
+     *
+     * This method is only for internal use
+     *
+     * @param expectedObject the expected object
+     * @param found the found
+     * @param equalsChecker the specific equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    private static <T, K> boolean isContainingAtLeast(final T expectedObject, final Collection<? extends K> found,
+            final EqualsChecker<T, K> equalsChecker) {
+
+        if (found instanceof List && found instanceof RandomAccess) {
+            List<? extends K> foundList = (List<? extends K>) found;
+            final int size = foundList.size();
+            for (int i = 0; i < size; i++) {
+                if (equalsChecker.equals(expectedObject, foundList.get(i))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        for (K foundObject : found) {
+            if (equalsChecker.equals(expectedObject, foundObject)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Check that the elements of expects are element of found too (by a specific definition) elements.
+     * The order doesn't matter.
+     * {@code found} can have some more elements.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedObject the expected object
+     * @param found the found
+     * @param equalsChecker the specific equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsAtLeast(final String message, final T expectedObject,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.checkContainsAtLeast(message, expectedObject, found, equalsChecker).orFail();
+    }
+
+    /**
+     * Check that the expected object is element of found (by a specific definition),
+     * without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedObject the expected object
+     * @param found the found
+     * @param equalsChecker the specific equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the check result
+     * @see #containsAtLeast(String, Object, Collection, EqualsChecker)
+     */
+    public static <T, K> CheckResult checkContainsAtLeast(final String message, final T expectedObject,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+
+        long start = AssertionMetrics.start();
+        boolean passed = isContainingAtLeast(expectedObject, found, equalsChecker);
+        AssertionMetrics.end(start, "containsAtLeast", scanAlgorithm(found), 1, found, passed);
+        if (!passed) {
+            return notFoundFailure(message, expectedObject, found);
+        }
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Create the failure for an expected object that is not contained in the found collection.
+     *
+     * @param message the message
+     * @param expectedObject the not found expected object
+     * @param found the found collection
+     * @return the check result
+     */
+    private static CheckResult notFoundFailure(final String message, final Object expectedObject,
+            final Collection<?> found) {
+        return CheckResult.failureCompare(AssertUtil.format(message,
+                "[Assertion failed] - expected object not found in collection"), expectedObject, found);
+    }
+
+    /**
+     * Name the algorithm that is used to search in the found collection.
+     *
+     * @param found the found collection
+     * @return the algorithm
+     */
+    private static String scanAlgorithm(final Collection<?> found) {
+        return isRandomAccessList(found) ? "indexed scan" : "iterator scan";
+    }
+
+    /**
+     * Check that the elements of expects are element of found too (by a specific definition) elements.
+     * The order doesn't matter.
+     * {@code found} can have some more elements.
+     *
+     * @param expectedObject the expected object
+     * @param found the found
+     * @param equalsChecker the specific equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsAtLeast(final T expectedObject, final Collection<? extends K> found,
+            final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.containsAtLeast(null, expectedObject, found, equalsChecker);
+    }
+
+    /**
+     * Check that the elements of expects are element of found too (by a specific definition) elements.
+     * The order doesn't matter.
+     * {@code found} can have some more elements.
+     *
+     * @param expected one collection
+     * @param equalsChecker the specific equals definition
+     * @param message additional message for the failure description when the check fails
+     * @param found the found
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsAtLeast(final String message, final Collection<? extends T> expected,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.checkContainsAtLeast(message, expected, found, equalsChecker).orFail();
+    }
+
+    /**
+     * Check that the elements of expects are element of found too (by a specific definition),
+     * without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected one collection
+     * @param found the found
+     * @param equalsChecker the specific equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the check result
+     * @see #containsAtLeast(String, Collection, Collection, EqualsChecker)
+     */
+    public static <T, K> CheckResult checkContainsAtLeast(final String message, final Collection<? extends T> expected,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+
+        long start = AssertionMetrics.start();
+        Object notFound = firstNotContained(expected, found, equalsChecker);
+        AssertionMetrics.end(start, "containsAtLeast", scanAlgorithm(found), expected, found, notFound == NONE);
+        if (notFound != NONE) {
+            return notFoundFailure(message, notFound, found);
+        }
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Find the first expected object that is not contained in found.
+     *
+     * @param expected the expected objects
+     * @param found the found
+     * @param equalsChecker the specific equals definition
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the first not contained expected object (can be {@code null}), {@link #NONE} if all are contained
+     */
+    private static <T, K> Object firstNotContained(final Collection<? extends T> expected,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        if (isRandomAccessList(expected)) {
+            List<? extends T> expectedList = (List<? extends T>) expected;
+            final int size = expectedList.size();
+            for (int i = 0; i < size; i++) {
+                if (!isContainingAtLeast(expectedList.get(i), found, equalsChecker)) {
+                    return expectedList.get(i);
+                }
+            }
+            return NONE;
+        }
+        for (T expectedObject : expected) {
+            if (!isContainingAtLeast(expectedObject, found, equalsChecker)) {
+                return expectedObject;
+            }
+        }
+        return NONE;
+    }
+
+    /**
+     * Check that the elements of expects are element of found too (by a specific definition) elements.
+     * The order doesn't matter.
+     * {@code found} can have some more elements.
+     *
+     * @param expected one collection
+     * @param equalsChecker the specific equals definition
+     * @param found the found
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsAtLeast(final Collection<? extends T> expected,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        AssertUtil.containsAtLeast(null, expected, found, equalsChecker);
+    }
+
+    /**
+     * Assert that the collection contains the item.
+     * The Collection can have other items too.
+     *
+     * @param expectedItem the expected item
+     * @param found the found
+     * @param message additional message for the failure description when the check fails
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void containsAtLeast(final String message, final T expectedItem,
+            final Collection<? extends T> found) {
+        AssertUtil.checkContainsAtLeast(message, expectedItem, found).orFail();
+    }
+
+    /**
+     * Check that the collection contains the item, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedItem the expected item
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     * @return the check result
+     * @see #containsAtLeast(String, Object, Collection)
+     */
+    public static <T> CheckResult checkContainsAtLeast(final String message, final T expectedItem,
+            final Collection<? extends T> found) {
+        Check.notNullArgument(found, "found");
+
+        long start = AssertionMetrics.start();
+        boolean passed = found.contains(expectedItem);
+        AssertionMetrics.end(start, "containsAtLeast", "contains", 1, found, passed);
+        if (!passed) {
+            return CheckResult.failureCompare(AssertUtil.format(message,
+                    "[Assertion failed] - collection does not contain expected item"), expectedItem, found);
+        }
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Contains.
+     *
+     * @param expectedItem the expected item
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void containsAtLeast(final T expectedItem, final Collection<? extends T> found) {
+        AssertUtil.containsAtLeast(null, expectedItem, found);
+    }
+
+    /**
+     * Assert that the collection contains the expected items.
+     * The Collection can have other items too.
+     *
+     * @param found the found
+     * @param expectedItems the expected items
+     * @param message additional message for the failure description when the check fails
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void containsAtLeast(final String message, final Collection<? extends T> expectedItems,
+            final Collection<? extends T> found) {
+        AssertUtil.checkContainsAtLeast(message, expectedItems, found).orFail();
+    }
+
+    /**
+     * Check that the collection contains the expected items, without throwing an exception.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedItems the expected items
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     * @return the check result
+     * @see #containsAtLeast(String, Collection, Collection)
+     */
+    public static <T> CheckResult checkContainsAtLeast(final String message,
+            final Collection<? extends T> expectedItems, final Collection<? extends T> found) {
+        Check.notNullArgument(expectedItems, "expectedItems");
+        Check.notNullArgument(found, "found");
+
+        return checkContainsAtLeast(message, expectedItems, found, NativeEqualsChecker.<T> getInstance());
+    }
+
+    /**
+     * Assert that the collection contains the expected items.
+     * The Collection can have other items too.
+     *
+     * @param found the found
+     * @param expectedItems the expected items
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void containsAtLeast(final Collection<? extends T> expectedItems,
+            final Collection<? extends T> found) {
+        Check.notNullArgument(expectedItems, "expectedItems");
+        Check.notNullArgument(found, "found");
+
+        containsAtLeast(null, expectedItems, found);
+    }
+
+    /**
+     * Assert that the collection contains the expected item.
+     * The Collection can have other items too.
+     * This method is an alias for {@link #containsAtLeast(String, Object, Collection)}.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedItem the expected item
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     * @see AssertUtil#containsAtLeast(String, Object, Collection)
+     */
+    public static <T> void contains(final String message, final T expectedItem, final Collection<? extends T> found) {
+        containsAtLeast(message, expectedItem, found);
+    }
+
+    /**
+     * Assert that the collection contains the expected item.
+     * The Collection can have other items too.
+     * This method is an alias for {@link #containsAtLeast(Object, Collection)}.
+     *
+     * @param expectedItem the expected item
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     * @see AssertUtil#containsAtLeast(Object, Collection)
+     */
+    public static <T> void contains(final T expectedItem, final Collection<? extends T> found) {
+        containsAtLeast(expectedItem, found);
+    }
+
+    /**
+     * Assert that the collection contains the expected items.
+     * The Collection can have other items too.
+     * This method is an alias for {@link #containsAtLeast(String, Collection, Collection)}.
+     *
+     * @param found the found
+     * @param expectedItems the expected items
+     * @param message additional message for the failure description when the check fails
+     * @param <T> The type of expected and found objects
+     * @see AssertUtil#containsAtLeast(String, Collection, Collection)
+     */
+    public static <T> void contains(final String message, final Collection<? extends T> expectedItems,
+            final Collection<? extends T> found) {
+        containsAtLeast(message, expectedItems, found);
+    }
+
+    /**
+     * Assert that the collection contains the expected items.
+     * The Collection can have other items too.
+     * This method is an alias for {@link #containsAtLeast(Collection, Collection)}.
+     *
+     * @param found the found
+     * @param expectedItems the expected items
+     * @param <T> The type of expected and found objects
+     * @see AssertUtil#containsAtLeast(Collection, Collection)
+     */
+    public static <T> void contains(final Collection<? extends T> expectedItems, final Collection<? extends T> found) {
+        containsAtLeast(expectedItems, found);
+    }
+
+    /**
+     * Assert that the collection does not contains the item.
+     * The Collection can have other items.
+     *
+     * @param notExpectedItem the not expected item
+     * @param found the found
+     * @param message additional message for the failure description when the check fails
+     * @param equalsChecker the specific equals definition     * 
+     * @param <T> The type of expected and found objects
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsNot(final String message, final T notExpectedItem,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+
+        long start = AssertionMetrics.start();
+        boolean contained = isContainingAtLeast(notExpectedItem, found, equalsChecker);
+        AssertionMetrics.end(start, "containsNot", scanAlgorithm(found), 1, found, !contained);
+        if (contained) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - collection " + describeElements(found)
+                            + " does contain the not expected item " + notExpectedItem));
+        }
+    }
+
+    /**
+     * Assert that the collection does not contains the item.
+     * The Collection can have other items.
+     *
+     * @param notExpectedItem the not expected item
+     * @param found the found
+     * @param equalsChecker the specific equals definition     * 
+     * @param <T> The type of expected and found objects
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsNot(final T notExpectedItem, final Collection<? extends K> found,
+            final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(found, "found");
+
+        containsNot(null, notExpectedItem, found, equalsChecker);
+    }
+
+    /**
+     * Assert that the collection does not contains the item.
+     * The Collection can have other items.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param notExpectedItems the not expected items
+     * @param found the found
+     * @param equalsChecker the specific equals definition 
+     * @param <T> The type of expected and found objects
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsNot(final String message, final Collection<? extends T> notExpectedItems,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(notExpectedItems, "notExpectedItems");
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+
+        long start = AssertionMetrics.start();
+        Object contained = NONE;
+        for (T notExpectedItem : notExpectedItems) {
+            if (isContainingAtLeast(notExpectedItem, found, equalsChecker)) {
+                contained = notExpectedItem;
+                break;
+            }
+        }
+        AssertionMetrics.end(start, "containsNot", scanAlgorithm(found), notExpectedItems, found, contained == NONE);
+        if (contained != NONE) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - collection " + describeElements(found)
+                            + " does contain the not expected item " + contained));
+        }
+    }
+
+    /**
+     * Assert that the collection does not contains the item.
+     * The Collection can have other items.
+     *
+     * @param notExpectedItems the not expected items
+     * @param found the found
+     * @param equalsChecker the specific equals definition 
+     * @param <T> The type of expected and found objects
+     * @param <K> the type of the found objects
+     */
+    public static <T, K> void containsNot(final Collection<? extends T> notExpectedItems,
+            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(found, "found");
+
+        containsNot(null, notExpectedItems, found, equalsChecker);
+    }
+
+    /**
+     * Assert that the collection does not contains the item.
+     * The Collection can have other items.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param notExpectedItem the not expected item
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void containsNot(final String message, final T notExpectedItem,
+            final Collection<? extends T> found) {
+        Check.notNullArgument(found, "found");
+
+        long start = AssertionMetrics.start();
+        boolean contained = found.contains(notExpectedItem);
+        AssertionMetrics.end(start, "containsNot", "contains", 1, found, !contained);
+        if (contained) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - collection " + describeElements(found)
+                            + " does contain the not expected item " + notExpectedItem));
+        }
+    }
+
+    /**
+     * Contains not.
+     *
+     * @param notExpectedItem the not expected item
+     * @param found the found
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void containsNot(final T notExpectedItem, final Set<? extends T> found) {
+        AssertUtil.containsNot(null, notExpectedItem, found);
+    }
+
+    /**
+     * Assert that the list is sorted in the given order.
+     *
+     * <p>
+     * For large {@link RandomAccess} lists (at least 65536 elements),
+     * the list is split in chunks that are checked in parallel, so the comparator must be thread safe.
+     * The neighbours at the chunk boundaries are compared too.
+     * Other lists are checked sequential with one pass.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found list
+     * @param comparator the comparator that defines the order
+     * @param order the expected order
+     * @param <T> the type of the found objects
+     */
+    public static <T> void isSorted(final String message, final List<? extends T> found,
+            final Comparator<? super T> comparator, final SortOrder order) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(comparator, "comparator");
+        Check.notNullArgument(order, "order");
+
+        long start = AssertionMetrics.start();
+        boolean passed = false;
+        try {
+            if (!(found instanceof RandomAccess)) {
+                AssertUtil.isSortedSequential(message, found.iterator(), comparator, order);
+                passed = true;
+                return;
+            }
+
+            final int size = found.size();
+            int violation = ParallelScan.firstMatch(1,
+                    size,
+                    i -> !order.isInOrder(comparator.compare(found.get(i - 1), found.get(i))));
+            if (violation != ParallelScan.NOT_FOUND) {
+                failNotSorted(message,
+                        order,
+                        violation,
+                        found.get(violation - 1),
+                        found.get(violation),
+                        violation + 1 < size,
+                        violation + 1 < size ? found.get(violation + 1) : null);
+            }
+            passed = true;
+        } finally {
+            AssertionMetrics.end(start,
+                    "isSorted",
+                    found instanceof RandomAccess ? "parallel scan" : "iterator scan",
+                    null,
+                    found,
+                    passed);
+        }
+    }
+
+    /**
+     * Assert that the list is sorted in the given order.
+     *
+     * @param found the found list
+     * @param comparator the comparator that defines the order
+     * @param order the expected order
+     * @param <T> the type of the found objects
+     * @see #isSorted(String, List, Comparator, SortOrder)
+     */
+    public static <T> void isSorted(final List<? extends T> found, final Comparator<? super T> comparator,
+            final SortOrder order) {
+        AssertUtil.isSorted(null, found, comparator, order);
+    }
+
+    /**
+     * Assert that the list is sorted by the natural order of its elements in the given order.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found list
+     * @param order the expected order
+     * @param <T> the type of the found objects
+     * @see #isSorted(String, List, Comparator, SortOrder)
+     */
+    public static <T extends Comparable<? super T>> void isSorted(final String message, final List<? extends T> found,
+            final SortOrder order) {
+        AssertUtil.isSorted(message, found, Comparator.<T> naturalOrder(), order);
+    }
+
+    /**
+     * Assert that the elements of the iterator are sorted in the given order.
+     * The elements are checked sequential with one pass.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found elements
+     * @param comparator the comparator that defines the order
+     * @param order the expected order
+     * @param <T> the type of the found objects
+     */
+    public static <T> void isSorted(final String message, final Iterator<? extends T> found,
+            final Comparator<? super T> comparator, final SortOrder order) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(comparator, "comparator");
+        Check.notNullArgument(order, "order");
+
+        long start = AssertionMetrics.start();
+        boolean passed = false;
+        try {
+            AssertUtil.isSortedSequential(message, found, comparator, order);
+            passed = true;
+        } finally {
+            AssertionMetrics.end(start, "isSorted", "iterator scan", -1, -1, passed);
+        }
+    }
+
+    /**
+     * Assert that the elements of the iterator are sorted in the given order, without the measurement.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found elements
+     * @param comparator the comparator that defines the order
+     * @param order the expected order
+     * @param <T> the type of the found objects
+     */
+    private static <T> void isSortedSequential(final String message, final Iterator<? extends T> found,
+            final Comparator<? super T> comparator, final SortOrder order) {
+        if (!found.hasNext()) {
+            return;
+        }
+        T previous = found.next();
+        int index = 1;
+        while (found.hasNext()) {
+            T element = found.next();
+            if (!order.isInOrder(comparator.compare(previous, element))) {
+                boolean hasNext = found.hasNext();
+                failNotSorted(message, order, index, previous, element, hasNext, hasNext ? found.next() : null);
+            }
+            previous = element;
+            index++;
+        }
+    }
+
+    /**
+     * Assert that the array is sorted in the given order.
+     * Large arrays are checked in parallel chunks.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found values
+     * @param order the expected order
+     * @see #isSorted(String, List, Comparator, SortOrder)
+     */
+    public static void isSorted(final String message, final int[] found, final SortOrder order) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(order, "order");
+
+        long start = AssertionMetrics.start();
+        int violation = ParallelScan.firstMatch(1,
+                found.length,
+                i -> !order.isInOrder(Integer.compare(found[i - 1], found[i])));
+        AssertionMetrics.end(start, "isSorted", "parallel scan", -1, found.length, violation == ParallelScan.NOT_FOUND);
+        if (violation != ParallelScan.NOT_FOUND) {
+            boolean hasNext = violation + 1 < found.length;
+            failNotSorted(message,
+                    order,
+                    violation,
+                    found[violation - 1],
+                    found[violation],
+                    hasNext,
+                    hasNext ? found[violation + 1] : null);
+        }
+    }
+
+    /**
+     * Assert that the array is sorted in the given order.
+     * Large arrays are checked in parallel chunks.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found values
+     * @param order the expected order
+     * @see #isSorted(String, List, Comparator, SortOrder)
+     */
+    public static void isSorted(final String message, final long[] found, final SortOrder order) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(order, "order");
+
+        long start = AssertionMetrics.start();
+        int violation = ParallelScan.firstMatch(1,
+                found.length,
+                i -> !order.isInOrder(Long.compare(found[i - 1], found[i])));
+        AssertionMetrics.end(start, "isSorted", "parallel scan", -1, found.length, violation == ParallelScan.NOT_FOUND);
+        if (violation != ParallelScan.NOT_FOUND) {
+            boolean hasNext = violation + 1 < found.length;
+            failNotSorted(message,
+                    order,
+                    violation,
+                    found[violation - 1],
+                    found[violation],
+                    hasNext,
+                    hasNext ? found[violation + 1] : null);
+        }
+    }
+
+    /**
+     * Assert that the array is sorted in the given order.
+     * The values are compared by {@link Double#compare(double, double)}, so {@code NaN} is greater than all
+     * other values.
+     * Large arrays are checked in parallel chunks.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found values
+     * @param order the expected order
+     * @see #isSorted(String, List, Comparator, SortOrder)
+     */
+    public static void isSorted(final String message, final double[] found, final SortOrder order) {
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(order, "order");
+
+        long start = AssertionMetrics.start();
+        int violation = ParallelScan.firstMatch(1,
+                found.length,
+                i -> !order.isInOrder(Double.compare(found[i - 1], found[i])));
+        AssertionMetrics.end(start, "isSorted", "parallel scan", -1, found.length, violation == ParallelScan.NOT_FOUND);
+        if (violation != ParallelScan.NOT_FOUND) {
+            boolean hasNext = violation + 1 < found.length;
+            failNotSorted(message,
+                    order,
+                    violation,
+                    found[violation - 1],
+                    found[violation],
+                    hasNext,
+                    hasNext ? found[violation + 1] : null);
+        }
+    }
+
+    /**
+     * Fail with the description of the first order violation and its neighbours.
+     *
+     * @param message additional message for the failure description
+     * @param order the expected order
+     * @param index the index of the first element that is not in order with its predecessor
+     * @param previous the predecessor
+     * @param element the element
+     * @param hasNext true, if the element has a successor
+     * @param next the successor
+     */
+    private static void failNotSorted(final String message, final SortOrder order, final int index,
+            final Object previous, final Object element, final boolean hasNext, final Object next) {
+        AssertUtil.fail(AssertUtil.format(message,
+                "[Assertion failed] - elements are not sorted " + order + " - first violation at index " + index
+                        + " - [" + (index - 1) + "]=" + previous + ", [" + index + "]=" + element
+                        + (hasNext ? ", [" + (index + 1) + "]=" + next : "")));
+    }
+
+    /**
+     * Assert that all elements of the collection match the predicate.
+     *
+     * <p>
+     * {@link RandomAccess} lists are split into chunks that are checked as tasks of the executor.
+     * A chunk stops as soon as it and the chunks before it found {@code maxReportedViolations} violations,
+     * so an expensive predicate is not evaluated for the remaining elements,
+     * and the reported violations are always the first ones.
+     * Because the chunks are checked concurrently, the predicate must be thread safe.
+     * Other collections are checked sequential in the current thread.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param executor the executor that runs the chunks, for example a {@link ForkJoinPool}
+     * @param maxReportedViolations the number of violations after which the check stops, must be positive
+     * @param <T> the type of the found objects
+     */
+    public static <T> void allMatch(final String message, final Collection<? extends T> found,
+            final Predicate<? super T> predicate, final Executor executor, final int maxReportedViolations) {
+        Check.notNullArgument(predicate, "predicate");
+
+        long start = AssertionMetrics.start();
+        int[] violations = findMatchingIndexes(found, predicate.negate(), executor, 0, maxReportedViolations);
+        AssertionMetrics.end(start, "allMatch", matchAlgorithm(found, 0), -1, found, violations.length == 0);
+        if (violations.length > 0) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - not all elements match the predicate - "
+                            + describeViolations(found, violations, maxReportedViolations)));
+        }
+    }
+
+    /**
+     * Assert that all elements of the collection match the predicate.
+     * Large {@link RandomAccess} lists are checked in parallel on the common {@link ForkJoinPool},
+     * the check stops at the first found violation.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param <T> the type of the found objects
+     * @see #allMatch(String, Collection, Predicate, Executor, int)
+     */
+    public static <T> void allMatch(final String message, final Collection<? extends T> found,
+            final Predicate<? super T> predicate) {
+        Check.notNullArgument(predicate, "predicate");
+
+        long start = AssertionMetrics.start();
+        int[] violations = findMatchingIndexes(found,
+                predicate.negate(),
+                ForkJoinPool.commonPool(),
+                PREDICATE_PARALLEL_THRESHOLD,
+                1);
+        AssertionMetrics.end(start,
+                "allMatch",
+                matchAlgorithm(found, PREDICATE_PARALLEL_THRESHOLD),
+                -1,
+                found,
+                violations.length == 0);
+        if (violations.length > 0) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - not all elements match the predicate - "
+                            + describeViolations(found, violations, 1)));
+        }
+    }
+
+    /**
+     * Assert that all elements of the collection match the predicate.
+     *
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param <T> the type of the found objects
+     * @see #allMatch(String, Collection, Predicate)
+     */
+    public static <T> void allMatch(final Collection<? extends T> found, final Predicate<? super T> predicate) {
+        AssertUtil.allMatch(null, found, predicate);
+    }
+
+    /**
+     * Assert that no element of the collection matches the predicate.
+     * The check works like {@link #allMatch(String, Collection, Predicate, Executor, int)}.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param executor the executor that runs the chunks, for example a {@link ForkJoinPool}
+     * @param maxReportedViolations the number of violations after which the check stops, must be positive
+     * @param <T> the type of the found objects
+     * @see #allMatch(String, Collection, Predicate, Executor, int)
+     */
+    public static <T> void noneMatch(final String message, final Collection<? extends T> found,
+            final Predicate<? super T> predicate, final Executor executor, final int maxReportedViolations) {
+        Check.notNullArgument(predicate, "predicate");
+
+        long start = AssertionMetrics.start();
+        int[] violations = findMatchingIndexes(found, predicate, executor, 0, maxReportedViolations);
+        AssertionMetrics.end(start, "noneMatch", matchAlgorithm(found, 0), -1, found, violations.length == 0);
+        if (violations.length > 0) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - some elements match the predicate - "
+                            + describeViolations(found, violations, maxReportedViolations)));
+        }
+    }
+
+    /**
+     * Assert that no element of the collection matches the predicate.
+     * Large {@link RandomAccess} lists are checked in parallel on the common {@link ForkJoinPool},
+     * the check stops at the first found violation.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param <T> the type of the found objects
+     * @see #noneMatch(String, Collection, Predicate, Executor, int)
+     */
+    public static <T> void noneMatch(final String message, final Collection<? extends T> found,
+            final Predicate<? super T> predicate) {
+        Check.notNullArgument(predicate, "predicate");
+
+        long start = AssertionMetrics.start();
+        int[] violations = findMatchingIndexes(found,
+                predicate,
+                ForkJoinPool.commonPool(),
+                PREDICATE_PARALLEL_THRESHOLD,
+                1);
+        AssertionMetrics.end(start,
+                "noneMatch",
+                matchAlgorithm(found, PREDICATE_PARALLEL_THRESHOLD),
+                -1,
+                found,
+                violations.length == 0);
+        if (violations.length > 0) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - some elements match the predicate - "
+                            + describeViolations(found, violations, 1)));
+        }
+    }
+
+    /**
+     * Assert that no element of the collection matches the predicate.
+     *
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param <T> the type of the found objects
+     * @see #noneMatch(String, Collection, Predicate)
+     */
+    public static <T> void noneMatch(final Collection<? extends T> found, final Predicate<? super T> predicate) {
+        AssertUtil.noneMatch(null, found, predicate);
+    }
+
+    /**
+     * Assert that at least one element of the collection matches the predicate.
+     * {@link RandomAccess} lists are checked in chunks as tasks of the executor,
+     * all chunks stop as soon as one matching element is found.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param executor the executor that runs the chunks, for example a {@link ForkJoinPool}
+     * @param <T> the type of the found objects
+     */
+    public static <T> void anyMatch(final String message, final Collection<? extends T> found,
+            final Predicate<? super T> predicate, final Executor executor) {
+        Check.notNullArgument(predicate, "predicate");
+
+        long start = AssertionMetrics.start();
+        boolean passed = findMatchingIndexes(found, predicate, executor, 0, 1).length > 0;
+        AssertionMetrics.end(start, "anyMatch", matchAlgorithm(found, 0), -1, found, passed);
+        if (!passed) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - none of the " + found.size() + " elements matches the predicate"));
+        }
+    }
+
+    /**
+     * Assert that at least one element of the collection matches the predicate.
+     * Large {@link RandomAccess} lists are checked in parallel on the common {@link ForkJoinPool}.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param <T> the type of the found objects
+     * @see #anyMatch(String, Collection, Predicate, Executor)
+     */
+    public static <T> void anyMatch(final String message, final Collection<? extends T> found,
+            final Predicate<? super T> predicate) {
+        Check.notNullArgument(predicate, "predicate");
+
+        long start = AssertionMetrics.start();
+        boolean passed = findMatchingIndexes(found,
+                predicate,
+                ForkJoinPool.commonPool(),
+                PREDICATE_PARALLEL_THRESHOLD,
+                1).length > 0;
+        AssertionMetrics.end(start,
+                "anyMatch",
+                matchAlgorithm(found, PREDICATE_PARALLEL_THRESHOLD),
+                -1,
+                found,
+                passed);
+        if (!passed) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - none of the " + found.size() + " elements matches the predicate"));
+        }
+    }
+
+    /**
+     * Assert that at least one element of the collection matches the predicate.
+     *
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param <T> the type of the found objects
+     * @see #anyMatch(String, Collection, Predicate)
+     */
+    public static <T> void anyMatch(final Collection<? extends T> found, final Predicate<? super T> predicate) {
+        AssertUtil.anyMatch(null, found, predicate);
     }
 
     /**
-     * Check that the elements of expects are element of found too (by a specific definition) elements.
-     * The order doesn't matter.
-     * {@code found} can have some more elements.
+     * Find up to {@code maxMatches} indexes of elements that match the predicate.
      *
-     * @param message additional message for the failure description when the check fails
-     * @param expectedObject the expected object
-     * @param found the found
-     * @param equalsChecker the specific equals definition
-     * @param <T> the type of the expected object
-     * @param <K> the type of the found objects
+     * This method is only for internal use
+     *
+     * @param found the found collection
+     * @param predicate the predicate
+     * @param executor the executor for parallel checks
+     * @param minParallelSize the minimal size of a {@link RandomAccess} list to check it in parallel
+     * @param maxMatches the maximal number of matches to find
+     * @param <T> the type of the found objects
+     * @return the sorted indexes
      */
-    public static <T, K> void containsAtLeast(final String message, final T expectedObject,
-            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+    private static <T> int[] findMatchingIndexes(final Collection<? extends T> found,
+            final Predicate<? super T> predicate, final Executor executor, final int minParallelSize,
+            final int maxMatches) {
         Check.notNullArgument(found, "found");
-        Check.notNullArgument(equalsChecker, "equalsChecker");
+        Check.notNullArgument(executor, "executor");
+        if (maxMatches < 1) {
+            throw new IllegalArgumentException("maxReportedViolations must be positive but was " + maxMatches);
+        }
 
-        if (!isContainingAtLeast(expectedObject, found, equalsChecker)) {
-            AssertUtil.failCompare(AssertUtil.format(message,
-                    "[Assertion failed] - expected object not found in collection"), expectedObject, found);
+        if (isParallelScan(found, minParallelSize)) {
+            final List<? extends T> foundList = (List<? extends T>) found;
+            int parallelism = executor instanceof ForkJoinPool ? ((ForkJoinPool) executor).getParallelism()
+                    : Runtime.getRuntime().availableProcessors();
+            return ParallelScan.matches(0,
+                    foundList.size(),
+                    i -> predicate.test(foundList.get(i)),
+                    maxMatches,
+                    executor,
+                    parallelism);
+        }
+
+        int[] matches = new int[Math.min(maxMatches, 16)];
+        int count = 0;
+        int index = 0;
+        for (Iterator<? extends T> it = found.iterator(); it.hasNext() && count < maxMatches; index++) {
+            if (predicate.test(it.next())) {
+                if (count == matches.length) {
+                    matches = Arrays.copyOf(matches, (int) Math.min((long) matches.length * 2, maxMatches));
+                }
+                matches[count++] = index;
+            }
         }
+        return count == matches.length ? matches : Arrays.copyOf(matches, count);
     }
 
     /**
-     * Check that the elements of expects are element of found too (by a specific definition) elements.
-     * The order doesn't matter.
-     * {@code found} can have some more elements.
+     * Check if the predicate checks scan the collection in parallel chunks.
      *
-     * @param expectedObject the expected object
-     * @param found the found
-     * @param equalsChecker the specific equals definition
-     * @param <T> the type of the expected object
-     * @param <K> the type of the found objects
+     * @param found the found collection
+     * @param minParallelSize the minimal size of a {@link RandomAccess} list to check it in parallel
+     * @return true, if parallel
      */
-    public static <T, K> void containsAtLeast(final T expectedObject, final Collection<? extends K> found,
-            final EqualsChecker<T, K> equalsChecker) {
-        AssertUtil.containsAtLeast(null, expectedObject, found, equalsChecker);
+    private static boolean isParallelScan(final Collection<?> found, final int minParallelSize) {
+        return isRandomAccessList(found) && found.size() >= minParallelSize;
     }
 
     /**
-     * Check that the elements of expects are element of found too (by a specific definition) elements.
-     * The order doesn't matter.
-     * {@code found} can have some more elements.
+     * Name the algorithm of the predicate checks.
      *
-     * @param expected one collection
-     * @param equalsChecker the specific equals definition
-     * @param message additional message for the failure description when the check fails
-     * @param found the found
-     * @param <T> the type of the expected object
-     * @param <K> the type of the found objects
+     * @param found the found collection
+     * @param minParallelSize the minimal size of a {@link RandomAccess} list to check it in parallel
+     * @return the algorithm
      */
-    public static <T, K> void containsAtLeast(final String message, final Collection<? extends T> expected,
-            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
-        Check.notNullArgument(expected, "expected");
-        Check.notNullArgument(found, "found");
-        Check.notNullArgument(equalsChecker, "equalsChecker");
-
-        for (T expectedObject : expected) {
-            AssertUtil.containsAtLeast(message, expectedObject, found, equalsChecker);
-        }
+    private static String matchAlgorithm(final Collection<?> found, final int minParallelSize) {
+        return isParallelScan(found, minParallelSize) ? "parallel chunks" : "iterator scan";
     }
 
     /**
-     * Check that the elements of expects are element of found too (by a specific definition) elements.
-     * The order doesn't matter.
-     * {@code found} can have some more elements.
+     * Describe the elements at the given indexes.
+     * The check stopped early if it found {@code maxReportedViolations} violations before the last element.
      *
-     * @param expected one collection
-     * @param equalsChecker the specific equals definition
-     * @param found the found
-     * @param <T> the type of the expected object
-     * @param <K> the type of the found objects
+     * @param found the found collection
+     * @param indexes the sorted indexes of the first violations
+     * @param maxReportedViolations the number of violations after which the check stops
+     * @return the description
      */
-    public static <T, K> void containsAtLeast(final Collection<? extends T> expected,
-            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
-        AssertUtil.containsAtLeast(null, expected, found, equalsChecker);
+    private static String describeViolations(final Collection<?> found, final int[] indexes,
+            final int maxReportedViolations) {
+        StringBuilder description = new StringBuilder();
+        int next = 0;
+        int index = 0;
+        Iterator<?> it = found.iterator();
+        for (; it.hasNext() && next < indexes.length; index++) {
+            Object element = it.next();
+            if (index == indexes[next]) {
+                if (next > 0) {
+                    description.append(", ");
+                }
+                description.append('[').append(index).append("]=").append(element);
+                next++;
+            }
+        }
+        boolean stopped = indexes.length == maxReportedViolations && it.hasNext();
+        description.insert(0,
+                stopped ? "stopped after " + indexes.length + " violations: " : indexes.length + " violations: ");
+        return description.toString();
     }
 
     /**
-     * Assert that the collection contains the item.
-     * The Collection can have other items too.
+     * Assert that the collection contains no element (key) twice.
+     * The keys are compared by there {@link Object#equals(Object)} and {@link Object#hashCode()} methods,
+     * using an open addressing hash table, so the check needs one pass over the collection.
+     * The table is sized from {@link Collection#size()} unless the size is expensive (see {@link SizeProbe}),
+     * and grows when the collection has more elements than expected.
+     *
+     * <p>
+     * Each duplicate is reported with the index of its first appearance and the index of the duplicate.
+     * The check stops after {@code maxReportedDuplicates} duplicates are found.
+     * </p>
      *
-     * @param expectedItem the expected item
-     * @param found the found
      * @param message additional message for the failure description when the check fails
-     * @param <T> The type of expected and found objects
+     * @param found the found collection
+     * @param keyExtractor function that extracts the key, that must be unique, from each element
+     * @param maxReportedDuplicates the maximal number of reported duplicates, must be positive
+     * @param <T> the type of the found objects
      */
-    public static <T> void containsAtLeast(final String message, final T expectedItem,
-            final Collection<? extends T> found) {
+    public static <T> void noDuplicatesBy(final String message, final Collection<? extends T> found,
+            final Function<? super T, ?> keyExtractor, final int maxReportedDuplicates) {
         Check.notNullArgument(found, "found");
-
-        if (!found.contains(expectedItem)) {
-            AssertUtil.failCompare(AssertUtil.format(message,
-                    "[Assertion failed] - collection does not contain expected item"), expectedItem, found);
+        Check.notNullArgument(keyExtractor, "keyExtractor");
+        checkMaxReportedDuplicates(maxReportedDuplicates);
+
+        long start = AssertionMetrics.start();
+        /* the index grows if needed, so collections with an expensive size are not counted up front */
+        ObjectHashIndex index = new ObjectHashIndex(SizeProbe.hasExpensiveSize(found) ? 0 : found.size());
+        StringBuilder duplicates = null;
+        int duplicateCount = 0;
+        int position = 0;
+        Iterator<? extends T> iterator = found.iterator();
+        while (iterator.hasNext()) {
+            Object key = keyExtractor.apply(iterator.next());
+            int firstPosition = index.putIfAbsent(key, position);
+            if (firstPosition != ObjectHashIndex.ABSENT) {
+                duplicates = appendDuplicate(duplicates, key, firstPosition, position);
+                duplicateCount++;
+                if (duplicateCount == maxReportedDuplicates) {
+                    break;
+                }
+            }
+            position++;
+        }
+        AssertionMetrics.end(start, "noDuplicates", "hash index", -1, position, duplicateCount == 0);
+        if (duplicateCount > 0) {
+            failDuplicates(message, duplicates, duplicateCount, iterator.hasNext());
         }
     }
 
     /**
-     * Contains.
+     * Assert that the collection contains no element (key) twice.
      *
-     * @param expectedItem the expected item
-     * @param found the found
-     * @param <T> The type of expected and found objects
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param keyExtractor function that extracts the key, that must be unique, from each element
+     * @param <T> the type of the found objects
+     * @see #noDuplicatesBy(String, Collection, Function, int)
      */
-    public static <T> void containsAtLeast(final T expectedItem, final Collection<? extends T> found) {
-        AssertUtil.containsAtLeast(null, expectedItem, found);
+    public static <T> void noDuplicatesBy(final String message, final Collection<? extends T> found,
+            final Function<? super T, ?> keyExtractor) {
+        AssertUtil.noDuplicatesBy(message, found, keyExtractor, DEFAULT_MAX_REPORTED_DUPLICATES);
     }
 
     /**
-     * Assert that the collection contains the expected items.
-     * The Collection can have other items too.
+     * Assert that the collection contains no element twice.
      *
-     * @param found the found
-     * @param expectedItems the expected items
      * @param message additional message for the failure description when the check fails
-     * @param <T> The type of expected and found objects
+     * @param found the found collection
+     * @param <T> the type of the found objects
+     * @see #noDuplicatesBy(String, Collection, Function, int)
      */
-    public static <T> void containsAtLeast(final String message, final Collection<? extends T> expectedItems,
-            final Collection<? extends T> found) {
-        Check.notNullArgument(expectedItems, "expectedItems");
-        Check.notNullArgument(found, "found");
+    public static <T> void noDuplicates(final String message, final Collection<? extends T> found) {
+        AssertUtil.noDuplicatesBy(message, found, Function.identity(), DEFAULT_MAX_REPORTED_DUPLICATES);
+    }
 
-        containsAtLeast(message, expectedItems, found, NativeEqualsChecker.<T> getInstance());
+    /**
+     * Assert that the collection contains no element twice.
+     *
+     * @param found the found collection
+     * @param <T> the type of the found objects
+     * @see #noDuplicatesBy(String, Collection, Function, int)
+     */
+    public static <T> void noDuplicates(final Collection<? extends T> found) {
+        AssertUtil.noDuplicates(null, found);
     }
 
     /**
-     * Assert that the collection contains the expected items.
-     * The Collection can have other items too.
+     * Assert that the collection contains no two elements that are equal by a specific definition.
      *
-     * @param found the found
-     * @param expectedItems the expected items
-     * @param <T> The type of expected and found objects
+     * <p>
+     * Because an {@link EqualsChecker} provides no hash code, each element is compared with all its predecessors,
+     * so this check needs quadratic time. Use {@link #noDuplicatesBy(String, Collection, Function, int)}
+     * for large collections whenever the equals definition can be expressed by a key.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param found the found collection
+     * @param equalsChecker the equals definition
+     * @param maxReportedDuplicates the maximal number of reported duplicates, must be positive
+     * @param <T> the type of the found objects
      */
-    public static <T> void containsAtLeast(final Collection<? extends T> expectedItems,
-            final Collection<? extends T> found) {
-        Check.notNullArgument(expectedItems, "expectedItems");
+    public static <T> void noDuplicates(final String message, final Collection<? extends T> found,
+            final EqualsChecker<T, T> equalsChecker, final int maxReportedDuplicates) {
         Check.notNullArgument(found, "found");
-
-        containsAtLeast(null, expectedItems, found);
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+        checkMaxReportedDuplicates(maxReportedDuplicates);
+
+        long start = AssertionMetrics.start();
+        List<T> foundList = new ArrayList<T>(found);
+        StringBuilder duplicates = null;
+        int duplicateCount = 0;
+        final int size = foundList.size();
+        int position = 1;
+        for (; position < size && duplicateCount < maxReportedDuplicates; position++) {
+            T element = foundList.get(position);
+            for (int i = 0; i < position; i++) {
+                if (equalsChecker.equals(foundList.get(i), element)) {
+                    duplicates = appendDuplicate(duplicates, element, i, position);
+                    duplicateCount++;
+                    break;
+                }
+            }
+        }
+        AssertionMetrics.end(start, "noDuplicates", "pairwise", -1, size, duplicateCount == 0);
+        if (duplicateCount > 0) {
+            failDuplicates(message, duplicates, duplicateCount, position < size);
+        }
     }
 
     /**
-     * Assert that the collection contains the expected item.
-     * The Collection can have other items too.
-     * This method is an alias for {@link #containsAtLeast(String, Object, Collection)}.
+     * Assert that the collection contains no two elements that are equal by a specific definition.
      *
      * @param message additional message for the failure description when the check fails
-     * @param expectedItem the expected item
-     * @param found the found
-     * @param <T> The type of expected and found objects
-     * @see AssertUtil#containsAtLeast(String, Object, Collection)
+     * @param found the found collection
+     * @param equalsChecker the equals definition
+     * @param <T> the type of the found objects
+     * @see #noDuplicates(String, Collection, EqualsChecker, int)
      */
-    public static <T> void contains(final String message, final T expectedItem, final Collection<? extends T> found) {
-        containsAtLeast(message, expectedItem, found);
+    public static <T> void noDuplicates(final String message, final Collection<? extends T> found,
+            final EqualsChecker<T, T> equalsChecker) {
+        AssertUtil.noDuplicates(message, found, equalsChecker, DEFAULT_MAX_REPORTED_DUPLICATES);
     }
 
     /**
-     * Assert that the collection contains the expected item.
-     * The Collection can have other items too.
-     * This method is an alias for {@link #containsAtLeast(Object, Collection)}.
+     * Assert that the array contains no value twice.
+     * The check uses a primitive open addressing hash table that is sized up front, so no value is boxed.
      *
-     * @param expectedItem the expected item
-     * @param found the found
-     * @param <T> The type of expected and found objects
-     * @see AssertUtil#containsAtLeast(Object, Collection)
+     * @param message additional message for the failure description when the check fails
+     * @param found the found values
+     * @param maxReportedDuplicates the maximal number of reported duplicates, must be positive
+     * @see #noDuplicatesBy(String, Collection, Function, int)
      */
-    public static <T> void contains(final T expectedItem, final Collection<? extends T> found) {
-        containsAtLeast(expectedItem, found);
+    public static void noDuplicates(final String message, final long[] found, final int maxReportedDuplicates) {
+        Check.notNullArgument(found, "found");
+        checkMaxReportedDuplicates(maxReportedDuplicates);
+
+        long start = AssertionMetrics.start();
+        LongHashIndex index = new LongHashIndex(found.length);
+        StringBuilder duplicates = null;
+        int duplicateCount = 0;
+        int position = 0;
+        for (; position < found.length; position++) {
+            int firstPosition = index.putIfAbsent(found[position], position);
+            if (firstPosition != LongHashIndex.ABSENT) {
+                duplicates = appendDuplicate(duplicates, found[position], firstPosition, position);
+                duplicateCount++;
+                if (duplicateCount == maxReportedDuplicates) {
+                    break;
+                }
+            }
+        }
+        AssertionMetrics.end(start, "noDuplicates", "primitive hash index", -1, found.length, duplicateCount == 0);
+        if (duplicateCount > 0) {
+            failDuplicates(message, duplicates, duplicateCount, position + 1 < found.length);
+        }
     }
 
     /**
-     * Assert that the collection contains the expected items.
-     * The Collection can have other items too.
-     * This method is an alias for {@link #containsAtLeast(String, Collection, Collection)}.
+     * Assert that the array contains no value twice.
      *
-     * @param found the found
-     * @param expectedItems the expected items
      * @param message additional message for the failure description when the check fails
-     * @param <T> The type of expected and found objects
-     * @see AssertUtil#containsAtLeast(String, Collection, Collection)
+     * @param found the found values
+     * @see #noDuplicates(String, long[], int)
      */
-    public static <T> void contains(final String message, final Collection<? extends T> expectedItems,
-            final Collection<? extends T> found) {
-        containsAtLeast(message, expectedItems, found);
+    public static void noDuplicates(final String message, final long[] found) {
+        AssertUtil.noDuplicates(message, found, DEFAULT_MAX_REPORTED_DUPLICATES);
     }
 
     /**
-     * Assert that the collection contains the expected items.
-     * The Collection can have other items too.
-     * This method is an alias for {@link #containsAtLeast(Collection, Collection)}.
+     * Assert that the array contains no value twice.
      *
-     * @param found the found
-     * @param expectedItems the expected items
-     * @param <T> The type of expected and found objects
-     * @see AssertUtil#containsAtLeast(Collection, Collection)
+     * @param found the found values
+     * @see #noDuplicates(String, long[], int)
      */
-    public static <T> void contains(final Collection<? extends T> expectedItems, final Collection<? extends T> found) {
-        containsAtLeast(expectedItems, found);
+    public static void noDuplicates(final long[] found) {
+        AssertUtil.noDuplicates(null, found);
     }
 
     /**
-     * Assert that the collection does not contains the item.
-     * The Collection can have other items.
+     * Assert that the array contains no value twice.
+     * The check uses a primitive open addressing hash table that is sized up front, so no value is boxed.
      *
-     * @param notExpectedItem the not expected item
-     * @param found the found
      * @param message additional message for the failure description when the check fails
-     * @param equalsChecker the specific equals definition     * 
-     * @param <T> The type of expected and found objects
-     * @param <K> the type of the found objects
+     * @param found the found values
+     * @param maxReportedDuplicates the maximal number of reported duplicates, must be positive
+     * @see #noDuplicates(String, long[], int)
      */
-    public static <T, K> void containsNot(final String message, final T notExpectedItem,
-            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
+    public static void noDuplicates(final String message, final int[] found, final int maxReportedDuplicates) {
         Check.notNullArgument(found, "found");
-
-        if (isContainingAtLeast(notExpectedItem, found, equalsChecker)) {
-            AssertUtil.fail(AssertUtil.format(message,
-                    "[Assertion failed] - collection + " + found + " does contain the not expected item "
-                            + notExpectedItem));
+        checkMaxReportedDuplicates(maxReportedDuplicates);
+
+        long start = AssertionMetrics.start();
+        LongHashIndex index = new LongHashIndex(found.length);
+        StringBuilder duplicates = null;
+        int duplicateCount = 0;
+        int position = 0;
+        for (; position < found.length; position++) {
+            int firstPosition = index.putIfAbsent(found[position], position);
+            if (firstPosition != LongHashIndex.ABSENT) {
+                duplicates = appendDuplicate(duplicates, found[position], firstPosition, position);
+                duplicateCount++;
+                if (duplicateCount == maxReportedDuplicates) {
+                    break;
+                }
+            }
+        }
+        AssertionMetrics.end(start, "noDuplicates", "primitive hash index", -1, found.length, duplicateCount == 0);
+        if (duplicateCount > 0) {
+            failDuplicates(message, duplicates, duplicateCount, position + 1 < found.length);
         }
     }
 
     /**
-     * Assert that the collection does not contains the item.
-     * The Collection can have other items.
+     * Assert that the array contains no value twice.
      *
-     * @param notExpectedItem the not expected item
-     * @param found the found
-     * @param equalsChecker the specific equals definition     * 
-     * @param <T> The type of expected and found objects
-     * @param <K> the type of the found objects
+     * @param message additional message for the failure description when the check fails
+     * @param found the found values
+     * @see #noDuplicates(String, int[], int)
      */
-    public static <T, K> void containsNot(final T notExpectedItem, final Collection<? extends K> found,
-            final EqualsChecker<T, K> equalsChecker) {
-        Check.notNullArgument(found, "found");
-
-        containsNot(null, notExpectedItem, found, equalsChecker);
+    public static void noDuplicates(final String message, final int[] found) {
+        AssertUtil.noDuplicates(message, found, DEFAULT_MAX_REPORTED_DUPLICATES);
     }
 
     /**
-     * Assert that the collection does not contains the item.
-     * The Collection can have other items.
+     * Assert that the array contains no value twice.
      *
-     * @param message additional message for the failure description when the check fails
-     * @param notExpectedItems the not expected items
-     * @param found the found
-     * @param equalsChecker the specific equals definition 
-     * @param <T> The type of expected and found objects
-     * @param <K> the type of the found objects
+     * @param found the found values
+     * @see #noDuplicates(String, int[], int)
      */
-    public static <T, K> void containsNot(final String message, final Collection<? extends T> notExpectedItems,
-            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
-        Check.notNullArgument(found, "found");
-
-        for (T notExpectedItem : notExpectedItems) {
-            containsNot(message, notExpectedItem, found, equalsChecker);
-        }
+    public static void noDuplicates(final int[] found) {
+        AssertUtil.noDuplicates(null, found);
     }
 
     /**
-     * Assert that the collection does not contains the item.
-     * The Collection can have other items.
+     * Check that the maximal number of reported duplicates is positive.
      *
-     * @param notExpectedItems the not expected items
-     * @param found the found
-     * @param equalsChecker the specific equals definition 
-     * @param <T> The type of expected and found objects
-     * @param <K> the type of the found objects
+     * @param maxReportedDuplicates the max reported duplicates
      */
-    public static <T, K> void containsNot(final Collection<? extends T> notExpectedItems,
-            final Collection<? extends K> found, final EqualsChecker<T, K> equalsChecker) {
-        Check.notNullArgument(found, "found");
-
-        containsNot(null, notExpectedItems, found, equalsChecker);
+    private static void checkMaxReportedDuplicates(final int maxReportedDuplicates) {
+        if (maxReportedDuplicates < 1) {
+            throw new IllegalArgumentException(
+                    "maxReportedDuplicates must be positive but was " + maxReportedDuplicates);
+        }
     }
 
     /**
-     * Assert that the collection does not contains the item.
-     * The Collection can have other items.
+     * Append the description of one duplicate to the failure description.
      *
-     * @param message additional message for the failure description when the check fails
-     * @param notExpectedItem the not expected item
-     * @param found the found
-     * @param <T> The type of expected and found objects
+     * @param duplicates the description so far - can be {@code null}
+     * @param element the duplicate element
+     * @param firstPosition the position of the first appearance
+     * @param position the position of the duplicate
+     * @return the description
      */
-    public static <T> void containsNot(final String message, final T notExpectedItem,
-            final Collection<? extends T> found) {
-        Check.notNullArgument(found, "found");
-
-        if (found.contains(notExpectedItem)) {
-            AssertUtil.fail(AssertUtil.format(message,
-                    "[Assertion failed] - collection + " + found + " does contain the not expected item "
-                            + notExpectedItem));
+    private static StringBuilder appendDuplicate(final StringBuilder duplicates, final Object element,
+            final int firstPosition, final int position) {
+        StringBuilder result = duplicates != null ? duplicates : new StringBuilder();
+        if (result.length() > 0) {
+            result.append(", ");
         }
+        return result.append("element=").append(element).append(" at index ").append(firstPosition).append(" and ")
+                .append(position);
     }
 
     /**
-     * Contains not.
+     * Fail with the description of the found duplicates.
      *
-     * @param notExpectedItem the not expected item
-     * @param found the found
-     * @param <T> The type of expected and found objects
+     * @param message additional message for the failure description
+     * @param duplicates the description of the duplicates
+     * @param duplicateCount the number of found duplicates
+     * @param stopped true, if the check stopped before the last element because of too many duplicates
      */
-    public static <T> void containsNot(final T notExpectedItem, final Set<? extends T> found) {
-        AssertUtil.containsNot(null, notExpectedItem, found);
+    private static void failDuplicates(final String message, final StringBuilder duplicates,
+            final int duplicateCount, final boolean stopped) {
+        AssertUtil.fail(AssertUtil.format(message,
+                "[Assertion failed] - elements are not unique - "
+                        + (stopped
+                                ? "stopped after the first " + duplicateCount + " duplicates: "
+                                : duplicateCount + " duplicates: ")
+                        + duplicates));
     }
 
     /**
@@ -920,6 +2953,18 @@ public abstract class AssertUtil {
      * @param actual the actual
      */
     static public void failCompare(final String message, final Object expected, final Object actual) {
+        throw compareFailure(message, expected, actual);
+    }
+
+    /**
+     * Create (but not throw) the error thrown by {@link #failCompare(String, Object, Object)}.
+     *
+     * @param message the message
+     * @param expected the expected
+     * @param actual the actual
+     * @return the assertion failed error
+     */
+    static AssertionFailedError compareFailure(final String message, final Object expected, final Object actual) {
         //message can be null
         //expected can be null
         //actual can be null
@@ -927,7 +2972,7 @@ public abstract class AssertUtil {
         final String expectedVsActual = "expected:<" + ValueWrapper.create(expected).getStringRepresentation() + ">"
                 + " but was:<" + ValueWrapper.create(actual).getStringRepresentation() + ">";
 
-        throw new AssertionFailedError((message != null && message.length() > 0 ? message + " " : "")
+        return new AssertionFailedError((message != null && message.length() > 0 ? message + " " : "")
                 + expectedVsActual, expected, actual);
     }
 
@@ -962,7 +3007,10 @@ public abstract class AssertUtil {
         Check.notNullArgument(actual, "actual");
         Check.notNullArgument(expected, "expected");
 
-        if (!EqualsBuilder.reflectionEquals(expected, actual)) {
+        long start = AssertionMetrics.start();
+        boolean passed = EqualsBuilder.reflectionEquals(expected, actual);
+        AssertionMetrics.end(start, "assertReflectivEquals", "reflection", -1, -1, passed);
+        if (!passed) {
             AssertUtil.failCompare(AssertUtil.format(message, "[Assertion failed] - objects are not reflectiv equals"),
                     expected != null ? expected.toString() : "null",
                     actual != null ? actual.toString() : "null");
@@ -0,0 +1,13 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * The cost class of a runtime check, used by the {@link AssertionLevel} to decide if the check is executed.
+ */
+public enum AssertionCost {
+
+    /** Constant time checks, like {@code hasSize} on a list or a null check. */
+    CHEAP,
+
+    /** Checks that need to inspect the elements, like {@code containsExact} or {@code containsAtLeast}. */
+    EXPENSIVE;
+}
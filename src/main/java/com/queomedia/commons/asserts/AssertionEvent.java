@@ -0,0 +1,51 @@
+package com.queomedia.commons.asserts;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * The JDK Flight Recorder event of an assertion.
+ *
+ * <p>
+ * This class must only be loaded by {@link JfrEvents}, and only if the JFR API is present.
+ * Compiling it needs a JDK with the JFR API (see the enforcer rule in the pom).
+ * The duration of the check is a field of its own, because the event is created after the check
+ * (and only if the event is enabled).
+ * </p>
+ */
+@Name("com.queomedia.commons.asserts.Assertion")
+@Label("Assertion")
+@Category({ "queo", "Assertions" })
+@Description("A checked assertion of queo commons asserts")
+@StackTrace(false)
+final class AssertionEvent extends jdk.jfr.Event {
+
+    /** The name of the assertion. */
+    @Label("Assertion")
+    String assertion;
+
+    /** The algorithm used for the inputs. */
+    @Label("Algorithm")
+    String algorithm;
+
+    /** The number of expected elements, {@code -1} if not applicable. */
+    @Label("Expected Size")
+    int expectedSize;
+
+    /** The number of found elements, {@code -1} if not applicable. */
+    @Label("Found Size")
+    int foundSize;
+
+    /** The duration of the check. */
+    @Label("Check Duration")
+    @Timespan(Timespan.NANOSECONDS)
+    long checkDuration;
+
+    /** True if the check passed. */
+    @Label("Passed")
+    boolean passed;
+}
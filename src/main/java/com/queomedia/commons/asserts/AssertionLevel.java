@@ -0,0 +1,38 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * The level of runtime assertions, that decides which checks of an {@link AssertionSite} are executed.
+ */
+public enum AssertionLevel {
+
+    /** No check is executed. */
+    OFF,
+
+    /** Only {@link AssertionCost#CHEAP cheap} checks are executed. */
+    CHEAP,
+
+    /** Cheap checks are executed always, {@link AssertionCost#EXPENSIVE expensive} checks only 1-in-N. */
+    SAMPLED,
+
+    /** All checks are executed. */
+    FULL;
+
+    /**
+     * Parse the level from a (system property) value, case insensitive.
+     *
+     * @param value the value, for example {@code "sampled"}
+     * @return the level
+     * @throws IllegalArgumentException if the value is not the name of a level
+     */
+    public static AssertionLevel parse(final String value) {
+        try {
+            return AssertionLevel.valueOf(value.trim().toUpperCase(Locale.ENGLISH));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("unknown assertion level `" + value + "` - expected one of "
+                    + Arrays.toString(AssertionLevel.values()), e);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * Receives the outcome of each instrumented assertion, for example to collect metrics.
+ *
+ * <p>
+ * The listener is called synchronously by the checking thread, after the check is done (also if it fails).
+ * It must be thread safe and fast, and it must not throw exceptions.
+ * </p>
+ *
+ * @see AssertionMetrics#setListener(AssertionListener)
+ * @see AssertionStatistics
+ */
+@FunctionalInterface
+public interface AssertionListener {
+
+    /**
+     * Called after an assertion was checked.
+     *
+     * @param assertion the name of the assertion, for example {@code containsExact}
+     * @param algorithm the algorithm used for the inputs, for example {@code snapshot} or {@code in-place}
+     * @param expectedSize the number of expected elements (or characters), {@code -1} if not applicable
+     * @param foundSize the number of found elements (or characters), {@code -1} if not applicable
+     * @param durationNanos the duration of the check in nanoseconds
+     * @param passed true if the check passed
+     */
+    void assertionChecked(String assertion, String algorithm, int expectedSize, int foundSize, long durationNanos,
+            boolean passed);
+}
@@ -0,0 +1,187 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Collection;
+
+/**
+ * Observability of the assertions: JDK Flight Recorder events and a pluggable {@link AssertionListener}.
+ *
+ * <p>
+ * Each assertion of {@link AssertUtil} and {@link FootprintAssert} reports its name, input sizes, algorithm,
+ * duration and outcome
+ * </p>
+ * <ul>
+ * <li>as {@code com.queomedia.commons.asserts.Assertion} JFR event, if the JFR API is present (JDK 11, 8u262
+ * and later) and the event is enabled in a running recording, for example with
+ * {@code -XX:StartFlightRecording} (the event is enabled by default)</li>
+ * <li>to the {@link #setListener(AssertionListener) listener}, for example an {@link AssertionStatistics}.</li>
+ * </ul>
+ * <p>
+ * When no recording is running and no listener is set, each assertion costs one volatile read and one
+ * (cheap) check of the JFR event state, the clock is not read and the sizes are not determined.
+ * The other assert classes (for example {@link NumericAssert}, {@link TimeAssert}, {@link EventuallyAssert}
+ * and {@link PerformanceAssert}) are not instrumented.
+ * The JFR support can be switched off with the system property {@value #JFR_PROPERTY}{@code =false}.
+ * </p>
+ */
+public abstract class AssertionMetrics {
+
+    /** The system property to switch off the JFR events. */
+    public static final String JFR_PROPERTY = "queo.asserts.jfr";
+
+    /** The start time returned by {@link #start()} if the assertion is not recorded. */
+    static final long NOT_RECORDED = Long.MIN_VALUE;
+
+    /** True if the JFR API is present and the flight recorder available, checked once. */
+    private static final boolean JFR_AVAILABLE = detectJfr();
+
+    /** The listener, {@code null} if none. */
+    private static volatile AssertionListener listener;
+
+    /**
+     * Util classes need no constructor.
+     */
+    private AssertionMetrics() {
+        super();
+    }
+
+    /**
+     * Set the listener that receives the outcome of each instrumented assertion.
+     *
+     * @param assertionListener the listener, {@code null} to remove the current listener
+     */
+    public static void setListener(final AssertionListener assertionListener) {
+        listener = assertionListener;
+    }
+
+    /**
+     * Get the current listener.
+     *
+     * @return the listener, {@code null} if none
+     */
+    public static AssertionListener getListener() {
+        return listener;
+    }
+
+    /**
+     * Check if the JFR events can be emitted in this JVM.
+     *
+     * @return true, if the JFR API is present, the flight recorder is available and not switched off
+     */
+    public static boolean isJfrAvailable() {
+        return JFR_AVAILABLE;
+    }
+
+    /**
+     * Start the measurement of an assertion.
+     *
+     * @return the start time, or {@link #NOT_RECORDED} if neither a listener nor a JFR recording is interested
+     */
+    static long start() {
+        if (listener == null && !(JFR_AVAILABLE && JfrEvents.isEnabled())) {
+            return NOT_RECORDED;
+        }
+        return System.nanoTime();
+    }
+
+    /**
+     * End the measurement of an assertion on collections.
+     * The sizes are only determined if the assertion is recorded.
+     *
+     * @param start the value returned by {@link #start()}
+     * @param assertion the name of the assertion
+     * @param algorithm the algorithm
+     * @param expected the expected elements - can be {@code null}
+     * @param found the found elements - can be {@code null}
+     * @param passed true if the check passed
+     */
+    static void end(final long start, final String assertion, final String algorithm, final Collection<?> expected,
+            final Collection<?> found, final boolean passed) {
+        if (start != NOT_RECORDED) {
+            record(start, assertion, algorithm, size(expected), size(found), passed);
+        }
+    }
+
+    /**
+     * End the measurement of an assertion of one expected element in a collection.
+     * The size of the collection is only determined if the assertion is recorded.
+     *
+     * @param start the value returned by {@link #start()}
+     * @param assertion the name of the assertion
+     * @param algorithm the algorithm
+     * @param expectedSize the number of expected elements, {@code -1} if not applicable
+     * @param found the found elements - can be {@code null}
+     * @param passed true if the check passed
+     */
+    static void end(final long start, final String assertion, final String algorithm, final int expectedSize,
+            final Collection<?> found, final boolean passed) {
+        if (start != NOT_RECORDED) {
+            record(start, assertion, algorithm, expectedSize, size(found), passed);
+        }
+    }
+
+    /**
+     * End the measurement of an assertion.
+     *
+     * @param start the value returned by {@link #start()}
+     * @param assertion the name of the assertion
+     * @param algorithm the algorithm
+     * @param expectedSize the number of expected elements, {@code -1} if not applicable
+     * @param foundSize the number of found elements, {@code -1} if not applicable
+     * @param passed true if the check passed
+     */
+    static void end(final long start, final String assertion, final String algorithm, final int expectedSize,
+            final int foundSize, final boolean passed) {
+        if (start != NOT_RECORDED) {
+            record(start, assertion, algorithm, expectedSize, foundSize, passed);
+        }
+    }
+
+    /**
+     * Report a measured assertion to the listener and the flight recorder.
+     *
+     * @param start the start time
+     * @param assertion the name of the assertion
+     * @param algorithm the algorithm
+     * @param expectedSize the number of expected elements
+     * @param foundSize the number of found elements
+     * @param passed true if the check passed
+     */
+    private static void record(final long start, final String assertion, final String algorithm,
+            final int expectedSize, final int foundSize, final boolean passed) {
+        long duration = System.nanoTime() - start;
+        AssertionListener currentListener = listener;
+        if (currentListener != null) {
+            currentListener.assertionChecked(assertion, algorithm, expectedSize, foundSize, duration, passed);
+        }
+        if (JFR_AVAILABLE) {
+            JfrEvents.commit(assertion, algorithm, expectedSize, foundSize, duration, passed);
+        }
+    }
+
+    /**
+     * Determine the size of a collection, also for collections with an expensive size.
+     *
+     * @param collection the collection - can be {@code null}
+     * @return the size, {@code -1} for {@code null}
+     */
+    private static int size(final Collection<?> collection) {
+        return collection != null ? SizeProbe.sizeUpTo(collection, Integer.MAX_VALUE) : -1;
+    }
+
+    /**
+     * Check if the JFR API is present, without loading a class that references it.
+     *
+     * @return true, if the events can be emitted
+     */
+    private static boolean detectJfr() {
+        if (!Boolean.parseBoolean(System.getProperty(JFR_PROPERTY, "true"))) {
+            return false;
+        }
+        try {
+            Class.forName("jdk.jfr.Event", false, AssertionMetrics.class.getClassLoader());
+            return JfrEvents.isAvailable();
+        } catch (ClassNotFoundException | LinkageError | SecurityException e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,301 @@
+package com.queomedia.commons.asserts;
+
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * A place in production code where invariants are checked at runtime, with a configurable
+ * {@link AssertionLevel}.
+ *
+ * <p>
+ * The level is read once from system properties:
+ * </p>
+ * <ul>
+ * <li>{@value #LEVEL_PROPERTY} - the global level ({@code off}, {@code cheap}, {@code sampled} or {@code full},
+ * default {@code full})</li>
+ * <li>{@value #SAMPLE_RATE_PROPERTY} - the global sample rate N for the level {@code sampled} (default
+ * {@value #DEFAULT_SAMPLE_RATE}), only every N-th expensive check of a site (per thread) is executed</li>
+ * <li>{@value #LEVEL_PROPERTY}{@code .<name>} and {@value #SAMPLE_RATE_PROPERTY}{@code .<name>} - the
+ * level and sample rate of the site with this name, default are the global settings</li>
+ * </ul>
+ * <p>
+ * An invalid value is logged as warning (java.util.logging) and the default is used instead,
+ * so a mistyped property does not break the class.
+ * </p>
+ *
+ * <p>
+ * Sites should be stored in {@code static final} fields:
+ * </p>
+ *
+ * <pre>
+ * private static final AssertionSite ORDER_INVARIANT = AssertionSite.named("order");
+ *
+ * ...
+ * ORDER_INVARIANT.check(AssertionCost.EXPENSIVE,
+ *         () -&gt; AssertUtil.checkContainsExact("order items", expectedItems, order.getItems()));
+ * </pre>
+ *
+ * <p>
+ * Callers that need a completely allocation free disabled path guard the check instead:
+ * {@code if (ORDER_INVARIANT.isEnabled(AssertionCost.EXPENSIVE)) { AssertUtil.containsExact(...); }}.
+ * The sampling uses a thread local counter per site, so sampled sites do not contend on shared state.
+ * </p>
+ *
+ * <p>
+ * The level is an instance field of the site. HotSpot does not constant fold instance fields (even final ones)
+ * of an object in a {@code static final} field, so a disabled site still costs a load and a branch.
+ * Hot paths that need the disabled check to be removed completely keep the decision of
+ * {@link #mayBeEnabled(AssertionCost)} in a {@code static final boolean}, that the JIT does fold:
+ * </p>
+ *
+ * <pre>
+ * private static final boolean ORDER_CHECKS = ORDER_INVARIANT.mayBeEnabled(AssertionCost.EXPENSIVE);
+ *
+ * ...
+ * if (ORDER_CHECKS &amp;&amp; ORDER_INVARIANT.isEnabled(AssertionCost.EXPENSIVE)) {
+ *     AssertUtil.containsExact("order items", expectedItems, order.getItems());
+ * }
+ * </pre>
+ */
+public final class AssertionSite {
+
+    /** The system property for the global assertion level. */
+    public static final String LEVEL_PROPERTY = "queo.asserts.level";
+
+    /** The system property for the global sample rate. */
+    public static final String SAMPLE_RATE_PROPERTY = "queo.asserts.sampleRate";
+
+    /** The sample rate, if no one is configured. */
+    public static final int DEFAULT_SAMPLE_RATE = 100;
+
+    /** The logger for invalid system properties. */
+    private static final Logger LOGGER = Logger.getLogger(AssertionSite.class.getName());
+
+    /** The global assertion level. */
+    private static final AssertionLevel GLOBAL_LEVEL = readLevel(LEVEL_PROPERTY, AssertionLevel.FULL);
+
+    /** The global sample rate. */
+    private static final int GLOBAL_SAMPLE_RATE = readSampleRate(SAMPLE_RATE_PROPERTY, DEFAULT_SAMPLE_RATE);
+
+    /** The site that uses the global settings. */
+    public static final AssertionSite GLOBAL = new AssertionSite("global", GLOBAL_LEVEL, GLOBAL_SAMPLE_RATE);
+
+    /** The site name. */
+    private final String name;
+
+    /** The level of this site. */
+    private final AssertionLevel level;
+
+    /** Execute every n-th expensive check, if the level is {@link AssertionLevel#SAMPLED}. */
+    private final int sampleRate;
+
+    /** Number of skipped expensive checks since the last executed one, per thread. */
+    private final ThreadLocal<int[]> skipped;
+
+    /**
+     * Instantiates a new assertion site.
+     *
+     * @param name the name
+     * @param level the level
+     * @param sampleRate the sample rate
+     */
+    private AssertionSite(final String name, final AssertionLevel level, final int sampleRate) {
+        this.name = name;
+        this.level = level;
+        this.sampleRate = sampleRate;
+        /* start "full", so the first expensive check of each thread is executed */
+        this.skipped = ThreadLocal.withInitial(() -> new int[] { sampleRate - 1 });
+    }
+
+    /**
+     * Create a site, with the level and sample rate configured for this name.
+     *
+     * @param name the site name, used as suffix of the system properties
+     * @return the assertion site
+     */
+    public static AssertionSite named(final String name) {
+        Check.notNullArgument(name, "name");
+
+        return new AssertionSite(name,
+                readLevel(LEVEL_PROPERTY + "." + name, GLOBAL_LEVEL),
+                readSampleRate(SAMPLE_RATE_PROPERTY + "." + name, GLOBAL_SAMPLE_RATE));
+    }
+
+    /**
+     * Create a site with an explicit level, ignoring the system properties.
+     *
+     * @param name the site name
+     * @param level the level
+     * @param sampleRate execute every n-th expensive check, if the level is {@link AssertionLevel#SAMPLED}
+     * @return the assertion site
+     */
+    public static AssertionSite of(final String name, final AssertionLevel level, final int sampleRate) {
+        Check.notNullArgument(name, "name");
+        Check.notNullArgument(level, "level");
+        if (sampleRate < 1) {
+            throw new IllegalArgumentException("sampleRate must be positive, but is " + sampleRate);
+        }
+
+        return new AssertionSite(name, level, sampleRate);
+    }
+
+    /**
+     * Decide if a check of the given cost is executed now.
+     * For the level {@link AssertionLevel#SAMPLED} every invocation with cost {@link AssertionCost#EXPENSIVE}
+     * counts as one sample, so use the result to guard exactly one check.
+     *
+     * @param cost the cost of the check
+     * @return true, if the check should be executed
+     */
+    public boolean isEnabled(final AssertionCost cost) {
+        switch (this.level) {
+        case FULL:
+            return true;
+        case OFF:
+            return false;
+        case CHEAP:
+            return cost == AssertionCost.CHEAP;
+        case SAMPLED:
+            return cost == AssertionCost.CHEAP || sample();
+        default:
+            throw new IllegalStateException("unknown assertion level " + this.level);
+        }
+    }
+
+    /**
+     * Decide if checks of the given cost can be executed at all by this site: false for the level
+     * {@link AssertionLevel#OFF}, and for expensive checks at the level {@link AssertionLevel#CHEAP}.
+     * The result does not change for the site, so it can be kept in a {@code static final} field.
+     *
+     * @param cost the cost of the check
+     * @return true, if {@link #isEnabled(AssertionCost)} can return true for this cost
+     */
+    public boolean mayBeEnabled(final AssertionCost cost) {
+        Check.notNullArgument(cost, "cost");
+
+        switch (this.level) {
+        case OFF:
+            return false;
+        case CHEAP:
+            return cost == AssertionCost.CHEAP;
+        default:
+            return true;
+        }
+    }
+
+    /**
+     * Execute the check if it is enabled for its cost, and fail if it does not pass.
+     *
+     * @param cost the cost of the check
+     * @param check the check, like {@code () -> AssertUtil.checkHasSize(null, 1, items)}
+     */
+    public void check(final AssertionCost cost, final Supplier<CheckResult> check) {
+        if (isEnabled(cost)) {
+            check.get().orFail();
+        }
+    }
+
+    /**
+     * Count the sample and decide if it is the n-th one.
+     *
+     * @return true, if the sample should be checked
+     */
+    private boolean sample() {
+        int[] counter = this.skipped.get();
+        if (++counter[0] >= this.sampleRate) {
+            counter[0] = 0;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the site name.
+     *
+     * @return the name
+     */
+    public String getName() {
+        return this.name;
+    }
+
+    /**
+     * Gets the level of this site.
+     *
+     * @return the level
+     */
+    public AssertionLevel getLevel() {
+        return this.level;
+    }
+
+    /**
+     * Gets the sample rate.
+     *
+     * @return the sample rate
+     */
+    public int getSampleRate() {
+        return this.sampleRate;
+    }
+
+    /**
+     * Read the level from a system property.
+     *
+     * @param property the property name
+     * @param defaultLevel the level if the property is not set or invalid
+     * @return the level
+     */
+    static AssertionLevel readLevel(final String property, final AssertionLevel defaultLevel) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultLevel;
+        }
+        try {
+            return AssertionLevel.parse(value);
+        } catch (IllegalArgumentException e) {
+            warnInvalid(property, e.getMessage(), defaultLevel);
+            return defaultLevel;
+        }
+    }
+
+    /**
+     * Read the sample rate from a system property.
+     *
+     * @param property the property name
+     * @param defaultRate the rate if the property is not set or invalid
+     * @return the sample rate
+     */
+    static int readSampleRate(final String property, final int defaultRate) {
+        String value = System.getProperty(property);
+        if (value == null) {
+            return defaultRate;
+        }
+        int rate;
+        try {
+            rate = Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            rate = 0;
+        }
+        if (rate < 1) {
+            warnInvalid(property, "expected a positive number, but is `" + value + "`", defaultRate);
+            return defaultRate;
+        }
+        return rate;
+    }
+
+    /**
+     * Log that a system property is invalid and the default is used.
+     *
+     * @param property the property name
+     * @param problem the description of the problem
+     * @param defaultValue the used default
+     */
+    private static void warnInvalid(final String property, final String problem, final Object defaultValue) {
+        LOGGER.warning("invalid system property " + property + " (" + problem + ") - using " + defaultValue);
+    }
+
+    @Override
+    public String toString() {
+        return "AssertionSite [name=" + this.name + ", level=" + this.level + ", sampleRate=" + this.sampleRate + "]";
+    }
+}
@@ -0,0 +1,117 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * An {@link AssertionListener} that counts the passed and failed checks of each assertion and records their
+ * latencies in a {@link LatencyHistogram}.
+ *
+ * <pre>
+ * AssertionStatistics statistics = new AssertionStatistics();
+ * AssertionMetrics.setListener(statistics);
+ * ... // run the tests
+ * System.out.println(statistics);
+ * </pre>
+ */
+public final class AssertionStatistics implements AssertionListener {
+
+    /** The statistics of each assertion. */
+    private final ConcurrentMap<String, Statistics> statistics = new ConcurrentHashMap<String, Statistics>();
+
+    @Override
+    public void assertionChecked(final String assertion, final String algorithm, final int expectedSize,
+            final int foundSize, final long durationNanos, final boolean passed) {
+        Statistics assertionStatistics = this.statistics.get(assertion);
+        if (assertionStatistics == null) {
+            /* computeIfAbsent locks even if the key is present (jdk 8), so it is only used for new keys */
+            assertionStatistics = this.statistics.computeIfAbsent(assertion, name -> new Statistics());
+        }
+        if (passed) {
+            assertionStatistics.passed.increment();
+        } else {
+            assertionStatistics.failed.increment();
+        }
+        assertionStatistics.latencies.record(Math.max(0, durationNanos));
+    }
+
+    /**
+     * Get the number of passed checks of the assertion.
+     *
+     * @param assertion the name of the assertion
+     * @return the count
+     */
+    public long getPassed(final String assertion) {
+        Statistics assertionStatistics = this.statistics.get(assertion);
+        return assertionStatistics != null ? assertionStatistics.passed.sum() : 0;
+    }
+
+    /**
+     * Get the number of failed checks of the assertion.
+     *
+     * @param assertion the name of the assertion
+     * @return the count
+     */
+    public long getFailed(final String assertion) {
+        Statistics assertionStatistics = this.statistics.get(assertion);
+        return assertionStatistics != null ? assertionStatistics.failed.sum() : 0;
+    }
+
+    /**
+     * Get the latencies of the assertion.
+     *
+     * @param assertion the name of the assertion
+     * @return the latencies, {@code null} if the assertion was not checked
+     */
+    public LatencyHistogram getLatencies(final String assertion) {
+        Statistics assertionStatistics = this.statistics.get(assertion);
+        return assertionStatistics != null ? assertionStatistics.latencies : null;
+    }
+
+    /**
+     * Remove all statistics.
+     */
+    public void reset() {
+        this.statistics.clear();
+    }
+
+    /**
+     * Describe the statistics of each assertion (sorted by name), one line per assertion.
+     *
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder();
+        for (Map.Entry<String, Statistics> entry : new TreeMap<String, Statistics>(this.statistics).entrySet()) {
+            Statistics assertionStatistics = entry.getValue();
+            description.append(entry.getKey())
+                    .append(": passed=")
+                    .append(assertionStatistics.passed.sum())
+                    .append(", failed=")
+                    .append(assertionStatistics.failed.sum())
+                    .append(", ")
+                    .append(assertionStatistics.latencies)
+                    .append(System.lineSeparator());
+        }
+        return description.toString();
+    }
+
+    /**
+     * The statistics of one assertion.
+     */
+    private static final class Statistics {
+
+        /** The number of passed checks. */
+        private final LongAdder passed = new LongAdder();
+
+        /** The number of failed checks. */
+        private final LongAdder failed = new LongAdder();
+
+        /** The latencies. */
+        private final LatencyHistogram latencies = new LatencyHistogram();
+    }
+}
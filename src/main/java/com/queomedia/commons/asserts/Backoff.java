@@ -0,0 +1,145 @@
+package com.queomedia.commons.asserts;
+
+import java.time.Duration;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * The delay between two attempts of an {@link EventuallyAssert eventually} check.
+ *
+ * <p>
+ * The delay starts with an initial value, grows by a multiplier after each failed attempt, and is capped by a
+ * maximum. An adaptive backoff waits additionally at least as long as the last attempt took, so expensive checks
+ * (like {@code containsExact} on large collections) do not use more than half of the waiting time.
+ * </p>
+ */
+public final class Backoff {
+
+    /** The default backoff: exponential from 10 ms up to 1 s. */
+    public static final Backoff DEFAULT = exponential(Duration.ofMillis(10), Duration.ofSeconds(1));
+
+    /** The first delay in nanoseconds. */
+    private final long initialNanos;
+
+    /** The maximal delay in nanoseconds. */
+    private final long maxNanos;
+
+    /** The factor the delay grows after each attempt. */
+    private final double multiplier;
+
+    /** True if the delay is at least the duration of the last attempt. */
+    private final boolean adaptive;
+
+    /**
+     * Instantiates a new backoff.
+     *
+     * @param initialNanos the first delay in nanoseconds
+     * @param maxNanos the maximal delay in nanoseconds
+     * @param multiplier the factor the delay grows after each attempt
+     * @param adaptive true if the delay is at least the duration of the last attempt
+     */
+    private Backoff(final long initialNanos, final long maxNanos, final double multiplier, final boolean adaptive) {
+        this.initialNanos = initialNanos;
+        this.maxNanos = maxNanos;
+        this.multiplier = multiplier;
+        this.adaptive = adaptive;
+    }
+
+    /**
+     * Create a backoff with a constant delay.
+     *
+     * @param delay the delay, must be positive
+     * @return the backoff
+     */
+    public static Backoff fixed(final Duration delay) {
+        Check.notNullArgument(delay, "delay");
+        checkPositive(delay, "delay");
+
+        return new Backoff(delay.toNanos(), delay.toNanos(), 1, false);
+    }
+
+    /**
+     * Create a backoff that doubles the delay after each attempt.
+     *
+     * @param initialDelay the first delay, must be positive
+     * @param maxDelay the maximal delay
+     * @return the backoff
+     */
+    public static Backoff exponential(final Duration initialDelay, final Duration maxDelay) {
+        return exponential(initialDelay, maxDelay, 2);
+    }
+
+    /**
+     * Create a backoff that multiplies the delay after each attempt.
+     *
+     * @param initialDelay the first delay, must be positive
+     * @param maxDelay the maximal delay
+     * @param multiplier the factor the delay grows after each attempt, at least 1
+     * @return the backoff
+     */
+    public static Backoff exponential(final Duration initialDelay, final Duration maxDelay,
+            final double multiplier) {
+        Check.notNullArgument(initialDelay, "initialDelay");
+        Check.notNullArgument(maxDelay, "maxDelay");
+        checkPositive(initialDelay, "initialDelay");
+        if (maxDelay.compareTo(initialDelay) < 0) {
+            throw new IllegalArgumentException(
+                    "maxDelay " + maxDelay + " must not be less than initialDelay " + initialDelay);
+        }
+        if (!(multiplier >= 1)) {
+            throw new IllegalArgumentException("multiplier must be at least 1, but is " + multiplier);
+        }
+
+        return new Backoff(initialDelay.toNanos(), maxDelay.toNanos(), multiplier, false);
+    }
+
+    /**
+     * Create an exponential backoff (factor 2), that waits at least as long as the last attempt took.
+     *
+     * @param initialDelay the first delay, must be positive
+     * @param maxDelay the maximal delay, (not applied to the attempt duration)
+     * @return the backoff
+     */
+    public static Backoff adaptive(final Duration initialDelay, final Duration maxDelay) {
+        Backoff exponential = exponential(initialDelay, maxDelay);
+        return new Backoff(exponential.initialNanos, exponential.maxNanos, exponential.multiplier, true);
+    }
+
+    /**
+     * Calculate the delay before the next attempt.
+     *
+     * @param previousDelayNanos the delay before the last attempt, {@code 0} for the first attempt
+     * @param attemptNanos the duration of the last attempt
+     * @return the delay in nanoseconds
+     */
+    long nextDelayNanos(final long previousDelayNanos, final long attemptNanos) {
+        long delay;
+        if (previousDelayNanos <= 0) {
+            delay = this.initialNanos;
+        } else {
+            delay = (long) Math.min(previousDelayNanos * this.multiplier, this.maxNanos);
+        }
+        if (this.adaptive) {
+            delay = Math.max(delay, attemptNanos);
+        }
+        return delay;
+    }
+
+    /**
+     * Check that the duration is positive, because a zero delay would poll without pause.
+     *
+     * @param duration the duration
+     * @param name the argument name
+     */
+    private static void checkPositive(final Duration duration, final String name) {
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException(name + " must be positive, but is " + duration);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Backoff [initial=" + Duration.ofNanos(this.initialNanos) + ", max=" + Duration.ofNanos(this.maxNanos)
+                + ", multiplier=" + this.multiplier + ", adaptive=" + this.adaptive + "]";
+    }
+}
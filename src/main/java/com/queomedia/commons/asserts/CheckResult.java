@@ -0,0 +1,155 @@
+package com.queomedia.commons.asserts;
+
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * The result of a non throwing check, like {@link AssertUtil#checkContainsExact(String, java.util.Collection,
+ * java.util.Collection)}.
+ *
+ * <p>
+ * A passed check returns the shared {@link #SUCCESS} instance, so passing checks do not allocate a result.
+ * A failed check returns a result with the failure description and (optional) the expected and actual values,
+ * that can be turned into an {@link AssertionFailedError} by {@link #orFail()}.
+ * </p>
+ */
+public final class CheckResult {
+
+    /** The shared result of all passed checks. */
+    public static final CheckResult SUCCESS = new CheckResult(null, false, null, null);
+
+    /** The failure description, {@code null} for {@link #SUCCESS}. */
+    private final String description;
+
+    /** True if the failure compares an expected with an actual value. */
+    private final boolean comparison;
+
+    /** The expected value of a comparison failure. */
+    private final Object expected;
+
+    /** The actual value of a comparison failure. */
+    private final Object actual;
+
+    /**
+     * Instantiates a new check result.
+     *
+     * @param description the failure description
+     * @param comparison true if the failure compares an expected with an actual value
+     * @param expected the expected value
+     * @param actual the actual value
+     */
+    private CheckResult(final String description, final boolean comparison, final Object expected,
+            final Object actual) {
+        this.description = description;
+        this.comparison = comparison;
+        this.expected = expected;
+        this.actual = actual;
+    }
+
+    /**
+     * Create the result of a failed check.
+     *
+     * @param description the failure description
+     * @return the check result
+     */
+    public static CheckResult failure(final String description) {
+        return new CheckResult(description, false, null, null);
+    }
+
+    /**
+     * Create the result of a failed check, that compares an expected with an actual value.
+     *
+     * @param description the failure description - can be {@code null}
+     * @param expected the expected value - can be {@code null}
+     * @param actual the actual value - can be {@code null}
+     * @return the check result
+     */
+    public static CheckResult failureCompare(final String description, final Object expected, final Object actual) {
+        return new CheckResult(description, true, expected, actual);
+    }
+
+    /**
+     * Checks if the check passed.
+     *
+     * @return true, if successful
+     */
+    public boolean isSuccess() {
+        return this == SUCCESS;
+    }
+
+    /**
+     * Checks if the check failed.
+     *
+     * @return true, if failed
+     */
+    public boolean isFailure() {
+        return this != SUCCESS;
+    }
+
+    /**
+     * Gets the failure description.
+     *
+     * @return the failure description, {@code null} if the check passed
+     */
+    public String getDescription() {
+        return this.description;
+    }
+
+    /**
+     * Checks if the failure compares an expected with an actual value.
+     *
+     * @return true, if expected and actual value are defined
+     */
+    public boolean isComparison() {
+        return this.comparison;
+    }
+
+    /**
+     * Gets the expected value of a comparison failure.
+     *
+     * @return the expected value
+     */
+    public Object getExpected() {
+        return this.expected;
+    }
+
+    /**
+     * Gets the actual value of a comparison failure.
+     *
+     * @return the actual value
+     */
+    public Object getActual() {
+        return this.actual;
+    }
+
+    /**
+     * Throw an {@link AssertionFailedError} if the check failed.
+     * The thrown error is the same the throwing variant of the check would throw.
+     */
+    public void orFail() {
+        if (this == SUCCESS) {
+            return;
+        }
+        throw toError();
+    }
+
+    /**
+     * Create (but not throw) the error, that {@link #orFail()} throws for a failed check.
+     *
+     * @return the assertion failed error
+     */
+    AssertionFailedError toError() {
+        if (this.comparison) {
+            return AssertUtil.compareFailure(this.description, this.expected, this.actual);
+        } else {
+            return new AssertionFailedError(this.description);
+        }
+    }
+
+    @Override
+    public String toString() {
+        if (this == SUCCESS) {
+            return "CheckResult [SUCCESS]";
+        }
+        return "CheckResult [FAILURE: " + this.description + "]";
+    }
+}
@@ -0,0 +1,71 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * The declared upper bound of the time complexity of a workload.
+ *
+ * @see PerformanceAssert#complexityAtMost(String, java.util.function.IntFunction, int, int, ComplexityBound)
+ */
+public enum ComplexityBound {
+
+    /** O(1). */
+    CONSTANT {
+
+        @Override
+        double model(final double n) {
+            return 1;
+        }
+    },
+
+    /** O(log n). */
+    LOG_N {
+
+        @Override
+        double model(final double n) {
+            return Math.log(n);
+        }
+    },
+
+    /** O(n). */
+    LINEAR {
+
+        @Override
+        double model(final double n) {
+            return n;
+        }
+    },
+
+    /** O(n log n). */
+    N_LOG_N {
+
+        @Override
+        double model(final double n) {
+            return n * Math.log(n);
+        }
+    },
+
+    /** O(n^2). */
+    QUADRATIC {
+
+        @Override
+        double model(final double n) {
+            return n * n;
+        }
+    },
+
+    /** O(n^3). */
+    CUBIC {
+
+        @Override
+        double model(final double n) {
+            return n * n * n;
+        }
+    };
+
+    /**
+     * Calculate the growth function of the bound (without constant factor).
+     *
+     * @param n the input size, at least 2
+     * @return the value of the growth function
+     */
+    abstract double model(double n);
+}
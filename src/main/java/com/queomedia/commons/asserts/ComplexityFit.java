@@ -0,0 +1,212 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Least squares fit of measured times to a power law {@code t(n) = c * n^k}, in log-log space.
+ *
+ * <p>
+ * Each size is measured several times, the repetitions are reduced to one robust time: samples that are more
+ * than three (scaled) median absolute deviations away from the median are rejected (for example runs
+ * interrupted by a garbage collection), the mean of the remaining samples is used.
+ * </p>
+ */
+final class ComplexityFit {
+
+    /** Scales the median absolute deviation to the standard deviation of normal distributed samples. */
+    private static final double MAD_SCALE = 1.4826;
+
+    /** Samples further away from the median (in scaled median absolute deviations) are outliers. */
+    private static final double OUTLIER_THRESHOLD = 3;
+
+    /** The input sizes. */
+    private final int[] sizes;
+
+    /** The robust time of each size, in nanoseconds. */
+    private final double[] times;
+
+    /** The number of rejected outliers. */
+    private int rejected;
+
+    /**
+     * Instantiates a new fit.
+     *
+     * @param sizes the input sizes
+     */
+    ComplexityFit(final int[] sizes) {
+        this.sizes = sizes.clone();
+        this.times = new double[sizes.length];
+    }
+
+    /**
+     * Set the measured samples of one size.
+     *
+     * @param index the index of the size
+     * @param samples the measured times in nanoseconds
+     */
+    void setSamples(final int index, final double[] samples) {
+        double median = median(samples);
+        double[] deviations = new double[samples.length];
+        for (int i = 0; i < samples.length; i++) {
+            deviations[i] = Math.abs(samples[i] - median);
+        }
+        double limit = OUTLIER_THRESHOLD * MAD_SCALE * median(deviations);
+
+        double sum = 0;
+        int kept = 0;
+        for (double sample : samples) {
+            if (Math.abs(sample - median) <= limit) {
+                sum += sample;
+                kept++;
+            }
+        }
+        this.rejected += samples.length - kept;
+        this.times[index] = kept > 0 ? sum / kept : median;
+    }
+
+    /**
+     * Fit the growth exponent of the times divided by the bound: {@code t(n) / bound(n) = c * n^k}.
+     * A workload within the bound has an exponent of (about) zero or less.
+     *
+     * @param bound the bound
+     * @return the exponent {@code k}
+     */
+    double exponentRelativeTo(final ComplexityBound bound) {
+        return slope(bound);
+    }
+
+    /**
+     * Fit the growth exponent of the times: {@code t(n) = c * n^k}.
+     *
+     * @return the exponent {@code k}
+     */
+    double exponent() {
+        return slope(ComplexityBound.CONSTANT);
+    }
+
+    /**
+     * Fit the constant factor of the times: {@code t(n) = c * n^k}.
+     *
+     * @return the factor {@code c} in nanoseconds
+     */
+    double factor() {
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < this.sizes.length; i++) {
+            meanX += Math.log(this.sizes[i]);
+            meanY += logTime(i);
+        }
+        meanX /= this.sizes.length;
+        meanY /= this.sizes.length;
+        return Math.exp(meanY - exponent() * meanX);
+    }
+
+    /**
+     * Calculate the coefficient of determination of the power law fit.
+     *
+     * @return R^2, 1 for a perfect fit
+     */
+    double rSquared() {
+        double k = exponent();
+        double logC = Math.log(factor());
+        double meanY = 0;
+        for (int i = 0; i < this.times.length; i++) {
+            meanY += logTime(i);
+        }
+        meanY /= this.times.length;
+        double residual = 0;
+        double total = 0;
+        for (int i = 0; i < this.sizes.length; i++) {
+            double y = logTime(i);
+            double predicted = logC + k * Math.log(this.sizes[i]);
+            residual += (y - predicted) * (y - predicted);
+            total += (y - meanY) * (y - meanY);
+        }
+        return total > 0 ? 1 - residual / total : 1;
+    }
+
+    /**
+     * Get the number of rejected outliers.
+     *
+     * @return the count
+     */
+    int getRejected() {
+        return this.rejected;
+    }
+
+    /**
+     * Describe the fitted curve and the measured times.
+     *
+     * @return for example {@code t(n) = 1.2e+00ns * n^1.98 (R^2=0.998) - n=1000: 1.20ms, ...}
+     */
+    String describe() {
+        StringBuilder description = new StringBuilder(String.format(Locale.ROOT,
+                "fitted t(n) = %.3gns * n^%.2f (R^2=%.3f, %d outliers rejected) - measured",
+                factor(),
+                exponent(),
+                rSquared(),
+                this.rejected));
+        for (int i = 0; i < this.sizes.length; i++) {
+            description.append(i > 0 ? ", " : " ")
+                    .append("n=")
+                    .append(this.sizes[i])
+                    .append(": ")
+                    .append(LatencyHistogram.formatNanos((long) this.times[i]));
+        }
+        return description.toString();
+    }
+
+    /**
+     * Least squares slope of {@code log(t(n) / bound(n))} over {@code log(n)}.
+     *
+     * @param bound the bound
+     * @return the slope
+     */
+    private double slope(final ComplexityBound bound) {
+        int count = this.sizes.length;
+        double[] x = new double[count];
+        double[] y = new double[count];
+        double meanX = 0;
+        double meanY = 0;
+        for (int i = 0; i < count; i++) {
+            x[i] = Math.log(this.sizes[i]);
+            y[i] = logTime(i) - Math.log(bound.model(this.sizes[i]));
+            meanX += x[i];
+            meanY += y[i];
+        }
+        meanX /= count;
+        meanY /= count;
+        double covariance = 0;
+        double variance = 0;
+        for (int i = 0; i < count; i++) {
+            covariance += (x[i] - meanX) * (y[i] - meanY);
+            variance += (x[i] - meanX) * (x[i] - meanX);
+        }
+        return covariance / variance;
+    }
+
+    /**
+     * Get the logarithm of the time of a size.
+     *
+     * @param index the index of the size
+     * @return the logarithm
+     */
+    private double logTime(final int index) {
+        /* times below one nanosecond can not be measured, and log(0) is not defined */
+        return Math.log(Math.max(1, this.times[index]));
+    }
+
+    /**
+     * Calculate the median.
+     *
+     * @param values the values
+     * @return the median
+     */
+    private static double median(final double[] values) {
+        double[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+}
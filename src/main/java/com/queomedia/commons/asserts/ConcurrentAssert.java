@@ -0,0 +1,240 @@
+package com.queomedia.commons.asserts;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import com.queomedia.commons.checks.Check;
+import com.queomedia.commons.equals.EqualsChecker;
+import com.queomedia.commons.equals.NativeEqualsChecker;
+
+/**
+ * Checks for collections that are modified by other threads while they are checked,
+ * like the views of a {@link java.util.concurrent.ConcurrentHashMap} or a
+ * {@link java.util.concurrent.CopyOnWriteArrayList}.
+ *
+ * <p>
+ * {@link AssertUtil#containsExact(String, Collection, Collection)} reads the size and iterates the elements
+ * in separate steps, so a concurrent modification between them leads to flaky results.
+ * The checks of this class capture the found collection in a single (weakly consistent) pass first,
+ * and check size and elements against this one capture.
+ * With {@code maxCaptures > 1} the collection is captured again until two consecutive captures are identical
+ * (retry until stable), at most {@code maxCaptures} times.
+ * </p>
+ *
+ * <p>
+ * The capture buffers are reused per thread, so steady state checks do not allocate capture buffers.
+ * </p>
+ */
+public abstract class ConcurrentAssert {
+
+    /**
+     * Util classes need no constructor.
+     */
+    private ConcurrentAssert() {
+        super();
+    }
+
+    /**
+     * Check that the snapshot of the found collection contains exactly equals elements, like the expected
+     * collection. The order doesn't matter.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements
+     * @param found the (concurrently modified) collection
+     * @param maxCaptures the maximal number of captures until the snapshot is stable, {@code 1} for a single
+     *        pass
+     * @param equalsChecker the equals checker
+     * @param <T> the type of the expected object
+     * @param <K> the type of the found objects
+     * @return the check result
+     */
+    public static <T, K> CheckResult checkContainsExact(final String message, final Collection<? extends T> expected,
+            final Collection<? extends K> found, final int maxCaptures, final EqualsChecker<T, K> equalsChecker) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(equalsChecker, "equalsChecker");
+        checkMaxCaptures(maxCaptures);
+
+        SnapshotCapture snapshot = SnapshotCapture.captureStable(found, maxCaptures);
+        try {
+            return detach(AssertUtil.checkContainsExact(message, expected, ConcurrentAssert.<K> typed(snapshot),
+                    equalsChecker), snapshot);
+        } finally {
+            snapshot.release();
+        }
+    }
+
+    /**
+     * Check that the snapshot of the found collection contains exactly equals elements, like the expected
+     * collection. The order doesn't matter.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements
+     * @param found the (concurrently modified) collection
+     * @param maxCaptures the maximal number of captures until the snapshot is stable, {@code 1} for a single
+     *        pass
+     * @param <T> The type of expected and found objects
+     * @return the check result
+     */
+    public static <T> CheckResult checkContainsExact(final String message, final Collection<? extends T> expected,
+            final Collection<? extends T> found, final int maxCaptures) {
+        return checkContainsExact(message, expected, found, maxCaptures, NativeEqualsChecker.<T> getInstance());
+    }
+
+    /**
+     * Assert that the snapshot of the found collection contains exactly equals elements, like the expected
+     * collection. The order doesn't matter.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements
+     * @param found the (concurrently modified) collection
+     * @param maxCaptures the maximal number of captures until the snapshot is stable, {@code 1} for a single
+     *        pass
+     * @param <T> The type of expected and found objects
+     * @see #checkContainsExact(String, Collection, Collection, int)
+     */
+    public static <T> void containsExact(final String message, final Collection<? extends T> expected,
+            final Collection<? extends T> found, final int maxCaptures) {
+        checkContainsExact(message, expected, found, maxCaptures).orFail();
+    }
+
+    /**
+     * Assert that a single pass snapshot of the found collection contains exactly equals elements, like the
+     * expected collection. The order doesn't matter.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements
+     * @param found the (concurrently modified) collection
+     * @param <T> The type of expected and found objects
+     */
+    public static <T> void containsExact(final String message, final Collection<? extends T> expected,
+            final Collection<? extends T> found) {
+        checkContainsExact(message, expected, found, 1).orFail();
+    }
+
+    /**
+     * Check that the snapshot of the found collection contains equals elements in the same (iteration) order,
+     * like the expected list.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements
+     * @param found the (concurrently modified) collection
+     * @param maxCaptures the maximal number of captures until the snapshot is stable, {@code 1} for a single
+     *        pass
+     * @param <T> The type of expected and found objects
+     * @return the check result
+     */
+    public static <T> CheckResult checkSameOrder(final String message, final List<? extends T> expected,
+            final Collection<? extends T> found, final int maxCaptures) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        checkMaxCaptures(maxCaptures);
+
+        SnapshotCapture snapshot = SnapshotCapture.captureStable(found, maxCaptures);
+        try {
+            return detach(AssertUtil.checkSameOrder(message, expected, ConcurrentAssert.<T> typed(snapshot)),
+                    snapshot);
+        } finally {
+            snapshot.release();
+        }
+    }
+
+    /**
+     * Assert that the snapshot of the found collection contains equals elements in the same (iteration) order,
+     * like the expected list.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected elements
+     * @param found the (concurrently modified) collection
+     * @param maxCaptures the maximal number of captures until the snapshot is stable, {@code 1} for a single
+     *        pass
+     * @param <T> The type of expected and found objects
+     * @see #checkSameOrder(String, List, Collection, int)
+     */
+    public static <T> void sameOrder(final String message, final List<? extends T> expected,
+            final Collection<? extends T> found, final int maxCaptures) {
+        checkSameOrder(message, expected, found, maxCaptures).orFail();
+    }
+
+    /**
+     * Check the size of the snapshot of the found collection.
+     * In contrast to {@link Collection#size()} the size is the number of elements of one traversal.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedSize the expected size
+     * @param found the (concurrently modified) collection
+     * @param maxCaptures the maximal number of captures until the snapshot is stable, {@code 1} for a single
+     *        pass
+     * @return the check result
+     */
+    public static CheckResult checkHasSize(final String message, final int expectedSize, final Collection<?> found,
+            final int maxCaptures) {
+        Check.notNullArgument(found, "found");
+        checkMaxCaptures(maxCaptures);
+
+        SnapshotCapture snapshot = SnapshotCapture.captureStable(found, maxCaptures);
+        try {
+            return detach(AssertUtil.checkHasSize(message, expectedSize, snapshot), snapshot);
+        } finally {
+            snapshot.release();
+        }
+    }
+
+    /**
+     * Assert the size of the snapshot of the found collection.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expectedSize the expected size
+     * @param found the (concurrently modified) collection
+     * @param maxCaptures the maximal number of captures until the snapshot is stable, {@code 1} for a single
+     *        pass
+     * @see #checkHasSize(String, int, Collection, int)
+     */
+    public static void hasSize(final String message, final int expectedSize, final Collection<?> found,
+            final int maxCaptures) {
+        checkHasSize(message, expectedSize, found, maxCaptures).orFail();
+    }
+
+    /**
+     * Replace the reused snapshot in a failure result by a copy, because the snapshot is cleared after the check.
+     *
+     * @param result the result
+     * @param snapshot the snapshot
+     * @return the result that does not refer to the snapshot
+     */
+    private static CheckResult detach(final CheckResult result, final SnapshotCapture snapshot) {
+        if (result.isSuccess()) {
+            return result;
+        }
+        if (result.getActual() == snapshot) {
+            return CheckResult.failureCompare(result.getDescription(),
+                    result.getExpected(),
+                    new ArrayList<Object>(snapshot));
+        }
+        return result;
+    }
+
+    /**
+     * View the snapshot as list of the found type, the elements were taken from a collection of this type.
+     *
+     * @param snapshot the snapshot
+     * @param <K> the type of the found objects
+     * @return the snapshot
+     */
+    @SuppressWarnings("unchecked")
+    private static <K> List<K> typed(final SnapshotCapture snapshot) {
+        return (List<K>) (List<?>) snapshot;
+    }
+
+    /**
+     * Check the number of captures.
+     *
+     * @param maxCaptures the maximal number of captures
+     */
+    private static void checkMaxCaptures(final int maxCaptures) {
+        if (maxCaptures < 1) {
+            throw new IllegalArgumentException("maxCaptures must be positive, but is " + maxCaptures);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * Growing open addressing hash table from object keys (compared by {@link Object#equals(Object)})
+ * to the position where the key appears first and the number of its appearances (a multiset).
+ *
+ * <p>
+ * In contrast to {@link ObjectHashIndex} the table starts small and grows (doubles) when it is half full,
+ * because the number of keys of a growing sequence is not known up front. It uses linear probing and
+ * needs no entry objects. The {@code null} key is stored in separate fields.
+ * </p>
+ */
+final class ElementCounts {
+
+    /** Marker for "key not yet contained". */
+    static final long ABSENT = -1;
+
+    /** Initial table capacity. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** Maximal table capacity. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** The keys, {@code null} marks a free slot. */
+    private Object[] keys;
+
+    /** The cached hash code of each key. */
+    private int[] hashes;
+
+    /** The first position of each key. */
+    private long[] firstPositions;
+
+    /** The number of appearances of each key. */
+    private long[] counts;
+
+    /** The mask to map a hash to a slot. */
+    private int mask;
+
+    /** The first position of key {@code null} or {@link #ABSENT}. */
+    private long nullKeyPosition = ABSENT;
+
+    /** The number of appearances of key {@code null}. */
+    private long nullKeyCount;
+
+    /** The number of keys in the table (without key {@code null}). */
+    private int size;
+
+    /**
+     * Instantiates a new empty table.
+     */
+    ElementCounts() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Instantiates a copy of the other table.
+     *
+     * @param other the other table
+     */
+    private ElementCounts(final ElementCounts other) {
+        this.keys = other.keys.clone();
+        this.hashes = other.hashes.clone();
+        this.firstPositions = other.firstPositions.clone();
+        this.counts = other.counts.clone();
+        this.mask = other.mask;
+        this.nullKeyPosition = other.nullKeyPosition;
+        this.nullKeyCount = other.nullKeyCount;
+        this.size = other.size;
+    }
+
+    /**
+     * Create an independent copy of this table.
+     *
+     * @return the copy
+     */
+    ElementCounts copy() {
+        return new ElementCounts(this);
+    }
+
+    /**
+     * Count one appearance of the key at the given position.
+     *
+     * @param key the key - can be {@code null}
+     * @param position the position of this appearance
+     * @return the first position of the already contained key or {@link #ABSENT} if the key is new
+     */
+    long add(final Object key, final long position) {
+        if (key == null) {
+            long existing = this.nullKeyPosition;
+            if (existing == ABSENT) {
+                this.nullKeyPosition = position;
+            }
+            this.nullKeyCount++;
+            return existing;
+        }
+
+        int hash = key.hashCode();
+        int slot = find(key, hash);
+        if (this.keys[slot] != null) {
+            this.counts[slot]++;
+            return this.firstPositions[slot];
+        }
+        if ((this.size + 1) * 2L > this.keys.length) {
+            resize();
+            slot = find(key, hash);
+        }
+        this.size++;
+        this.keys[slot] = key;
+        this.hashes[slot] = hash;
+        this.firstPositions[slot] = position;
+        this.counts[slot] = 1;
+        return ABSENT;
+    }
+
+    /**
+     * Get the first position of the key.
+     *
+     * @param key the key - can be {@code null}
+     * @return the first position or {@link #ABSENT} if the key is not contained
+     */
+    long firstPosition(final Object key) {
+        if (key == null) {
+            return this.nullKeyPosition;
+        }
+        int slot = find(key, key.hashCode());
+        return this.keys[slot] != null ? this.firstPositions[slot] : ABSENT;
+    }
+
+    /**
+     * Get the number of appearances of the key.
+     *
+     * @param key the key - can be {@code null}
+     * @return the number of appearances
+     */
+    long count(final Object key) {
+        if (key == null) {
+            return this.nullKeyCount;
+        }
+        int slot = find(key, key.hashCode());
+        return this.keys[slot] != null ? this.counts[slot] : 0;
+    }
+
+    /**
+     * Find the slot of the key, or the free slot where it belongs to.
+     *
+     * @param key the key, not {@code null}
+     * @param hash the hash code of the key
+     * @return the slot
+     */
+    private int find(final Object key, final int hash) {
+        int slot = (int) LongHashIndex.mix(hash) & this.mask;
+        while (true) {
+            Object slotKey = this.keys[slot];
+            if (slotKey == null
+                    || (this.hashes[slot] == hash && (slotKey == key || slotKey.equals(key)))) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    /**
+     * Double the table capacity.
+     */
+    private void resize() {
+        if (this.keys.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("element counts are full, capacity=" + this.keys.length);
+        }
+        Object[] oldKeys = this.keys;
+        int[] oldHashes = this.hashes;
+        long[] oldFirstPositions = this.firstPositions;
+        long[] oldCounts = this.counts;
+
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null) {
+                int slot = find(key, oldHashes[i]);
+                this.keys[slot] = key;
+                this.hashes[slot] = oldHashes[i];
+                this.firstPositions[slot] = oldFirstPositions[i];
+                this.counts[slot] = oldCounts[i];
+            }
+        }
+    }
+
+    /**
+     * Allocate empty arrays of the given capacity.
+     *
+     * @param capacity the capacity, a power of two
+     */
+    private void allocate(final int capacity) {
+        this.keys = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.firstPositions = new long[capacity];
+        this.counts = new long[capacity];
+        this.mask = capacity - 1;
+    }
+}
@@ -0,0 +1,416 @@
+package com.queomedia.commons.asserts;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import org.opentest4j.AssertionFailedError;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * Checks for asynchronous components: repeat a check until it passes or a deadline is reached.
+ *
+ * <p>
+ * The check is polled with a {@link Backoff} between the attempts. Failed attempts do not throw exceptions (the
+ * checks return a {@link CheckResult}, like {@link AssertUtil#checkContainsExact(String, java.util.Collection,
+ * java.util.Collection)}), only the last failure is kept and reported when the deadline is reached.
+ * </p>
+ *
+ * <pre>
+ * EventuallyAssert.eventually(Duration.ofSeconds(5), () -&gt; AssertUtil.checkHasSize(null, 3, queue));
+ * </pre>
+ *
+ * <p>
+ * The {@code eventuallyAsync} variants do not block the caller, so many conditions can be awaited concurrently.
+ * They run on virtual threads if the runtime supports them (Java 21+), otherwise the attempts are scheduled on a
+ * small shared pool of daemon threads, that does not block a thread while waiting.
+ * </p>
+ */
+public abstract class EventuallyAssert {
+
+    /**
+     * Util classes need no constructor.
+     */
+    private EventuallyAssert() {
+        super();
+    }
+
+    /**
+     * Repeat the check until it passes, and fail with the last failure if it does not pass within the timeout.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param timeout the maximal time to wait
+     * @param backoff the delays between the attempts
+     * @param check the check, must not return {@code null}
+     */
+    public static void eventually(final String message, final Duration timeout, final Backoff backoff,
+            final Supplier<CheckResult> check) {
+        await(new Poll(message, timeout, backoff, check));
+    }
+
+    /**
+     * Poll in the current thread until the check passes or the deadline is reached.
+     *
+     * @param poll the poll state
+     */
+    private static void await(final Poll poll) {
+        long delay;
+        while ((delay = poll.attempt()) > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw poll.failure("interrupted after");
+            }
+        }
+        if (delay == Poll.FAILED) {
+            throw poll.failure("not fulfilled within " + poll.timeout + " after");
+        }
+    }
+
+    /**
+     * Repeat the check with the {@link Backoff#DEFAULT default backoff} until it passes,
+     * and fail with the last failure if it does not pass within the timeout.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param timeout the maximal time to wait
+     * @param check the check, must not return {@code null}
+     */
+    public static void eventually(final String message, final Duration timeout, final Supplier<CheckResult> check) {
+        eventually(message, timeout, Backoff.DEFAULT, check);
+    }
+
+    /**
+     * Repeat the check with the {@link Backoff#DEFAULT default backoff} until it passes,
+     * and fail with the last failure if it does not pass within the timeout.
+     *
+     * @param timeout the maximal time to wait
+     * @param check the check, must not return {@code null}
+     */
+    public static void eventually(final Duration timeout, final Supplier<CheckResult> check) {
+        eventually(null, timeout, Backoff.DEFAULT, check);
+    }
+
+    /**
+     * Repeat a throwing assertion (like {@link AssertUtil#containsExact(java.util.Collection,
+     * java.util.Collection)}) until it passes, and fail if it does not pass within the timeout.
+     * Prefer the {@link CheckResult} variant, because this one has to create an exception for each failed attempt.
+     * The last {@link AssertionError} becomes the cause of the failure.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param timeout the maximal time to wait
+     * @param backoff the delays between the attempts
+     * @param assertion the assertion
+     */
+    public static void eventuallyPasses(final String message, final Duration timeout, final Backoff backoff,
+            final Runnable assertion) {
+        Check.notNullArgument(assertion, "assertion");
+
+        eventually(message, timeout, backoff, new AssertionCheck(assertion));
+    }
+
+    /**
+     * Repeat a throwing assertion with the {@link Backoff#DEFAULT default backoff} until it passes,
+     * and fail if it does not pass within the timeout.
+     *
+     * @param timeout the maximal time to wait
+     * @param assertion the assertion
+     * @see #eventuallyPasses(String, Duration, Backoff, Runnable)
+     */
+    public static void eventuallyPasses(final Duration timeout, final Runnable assertion) {
+        eventuallyPasses(null, timeout, Backoff.DEFAULT, assertion);
+    }
+
+    /**
+     * Repeat the check asynchronous until it passes or the timeout is reached.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param timeout the maximal time to wait
+     * @param backoff the delays between the attempts
+     * @param check the check, must be thread safe and not return {@code null}
+     * @return the future, completed normally when the check passes, or exceptionally with an
+     *         {@link AssertionFailedError} when the timeout is reached
+     */
+    public static CompletableFuture<Void> eventuallyAsync(final String message, final Duration timeout,
+            final Backoff backoff, final Supplier<CheckResult> check) {
+        Poll poll = new Poll(message, timeout, backoff, check);
+        CompletableFuture<Void> result = new CompletableFuture<Void>();
+
+        Executor virtualThreads = Runtimes.VIRTUAL_THREADS;
+        if (virtualThreads != null) {
+            virtualThreads.execute(() -> {
+                try {
+                    await(poll);
+                    result.complete(null);
+                } catch (RuntimeException | Error e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } else {
+            schedule(poll, result, 0);
+        }
+        return result;
+    }
+
+    /**
+     * Repeat the check asynchronous with the {@link Backoff#DEFAULT default backoff} until it passes or the
+     * timeout is reached.
+     *
+     * @param timeout the maximal time to wait
+     * @param check the check, must be thread safe and not return {@code null}
+     * @return the future
+     * @see #eventuallyAsync(String, Duration, Backoff, Supplier)
+     */
+    public static CompletableFuture<Void> eventuallyAsync(final Duration timeout,
+            final Supplier<CheckResult> check) {
+        return eventuallyAsync(null, timeout, Backoff.DEFAULT, check);
+    }
+
+    /**
+     * Check if the async variants run on virtual threads.
+     *
+     * @return true, if virtual threads are available
+     */
+    public static boolean isUsingVirtualThreads() {
+        return Runtimes.VIRTUAL_THREADS != null;
+    }
+
+    /**
+     * Schedule the next attempt on the shared scheduler (fallback without virtual threads).
+     *
+     * @param poll the poll state
+     * @param result the future to complete
+     * @param delayNanos the delay before the attempt
+     */
+    private static void schedule(final Poll poll, final CompletableFuture<Void> result, final long delayNanos) {
+        Runtimes.SCHEDULER.schedule(() -> {
+            try {
+                long nextDelay = poll.attempt();
+                if (nextDelay == Poll.PASSED) {
+                    result.complete(null);
+                } else if (nextDelay == Poll.FAILED) {
+                    result.completeExceptionally(poll.failure("not fulfilled within " + poll.timeout + " after"));
+                } else {
+                    schedule(poll, result, nextDelay);
+                }
+            } catch (RuntimeException | Error e) {
+                result.completeExceptionally(e);
+            }
+        }, delayNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * The state of polling one check: deadline, number of attempts, current delay and last failure.
+     */
+    private static final class Poll {
+
+        /** Result of {@link #attempt()}: the check passed. */
+        static final long PASSED = 0;
+
+        /** Result of {@link #attempt()}: the check failed and the deadline is reached. */
+        static final long FAILED = -1;
+
+        /** The message. */
+        private final String message;
+
+        /** The timeout. */
+        private final Duration timeout;
+
+        /** The backoff. */
+        private final Backoff backoff;
+
+        /** The check. */
+        private final Supplier<CheckResult> check;
+
+        /** The deadline in {@link System#nanoTime()}. */
+        private final long deadline;
+
+        /** The number of attempts. */
+        private int attempts;
+
+        /** The last delay in nanoseconds. */
+        private long delay;
+
+        /** The result of the last attempt. */
+        private CheckResult lastResult;
+
+        /**
+         * Instantiates a new poll, the deadline starts now.
+         *
+         * @param message the message
+         * @param timeout the timeout
+         * @param backoff the backoff
+         * @param check the check
+         */
+        Poll(final String message, final Duration timeout, final Backoff backoff,
+                final Supplier<CheckResult> check) {
+            Check.notNullArgument(timeout, "timeout");
+            Check.notNullArgument(backoff, "backoff");
+            Check.notNullArgument(check, "check");
+            if (timeout.isNegative()) {
+                throw new IllegalArgumentException("timeout must not be negative, but is " + timeout);
+            }
+
+            this.message = message;
+            this.timeout = timeout;
+            this.backoff = backoff;
+            this.check = check;
+            this.deadline = System.nanoTime() + saturatedNanos(timeout);
+        }
+
+        /**
+         * Run the check once.
+         *
+         * @return {@link #PASSED}, {@link #FAILED} or the (positive) delay in nanoseconds before the next attempt
+         */
+        long attempt() {
+            long start = System.nanoTime();
+            CheckResult result = this.check.get();
+            long end = System.nanoTime();
+            this.attempts++;
+            if (result == null) {
+                throw new IllegalStateException("check returned null, it must return a CheckResult");
+            }
+            if (result.isSuccess()) {
+                return PASSED;
+            }
+            this.lastResult = result;
+
+            long remaining = this.deadline - end;
+            if (remaining <= 0) {
+                return FAILED;
+            }
+            this.delay = this.backoff.nextDelayNanos(this.delay, end - start);
+            /* wake up at the deadline for a last attempt at the latest */
+            return Math.max(1, Math.min(this.delay, remaining));
+        }
+
+        /**
+         * Create the final failure, based on the last failed attempt.
+         *
+         * @param reason the reason, followed by the number of attempts
+         * @return the assertion failed error
+         */
+        AssertionFailedError failure(final String reason) {
+            String description = AssertUtil.format(this.message,
+                    "[Assertion failed] - condition " + reason + " " + this.attempts + " attempts - last failure: "
+                            + (this.lastResult != null ? this.lastResult.getDescription() : "none"));
+
+            AssertionError lastError = this.check instanceof AssertionCheck
+                    ? ((AssertionCheck) this.check).lastError
+                    : null;
+            if (lastError != null) {
+                return new AssertionFailedError(description, lastError);
+            }
+            if (this.lastResult != null && this.lastResult.isComparison()) {
+                return AssertUtil.compareFailure(description,
+                        this.lastResult.getExpected(),
+                        this.lastResult.getActual());
+            }
+            return new AssertionFailedError(description);
+        }
+
+        /**
+         * Convert the timeout to nanoseconds, without overflow for very long timeouts.
+         *
+         * @param timeout the timeout
+         * @return the nanoseconds
+         */
+        private static long saturatedNanos(final Duration timeout) {
+            try {
+                return timeout.toNanos();
+            } catch (ArithmeticException e) {
+                return Long.MAX_VALUE / 2;
+            }
+        }
+    }
+
+    /**
+     * Adapter of a throwing assertion to a check, that keeps only the last assertion error.
+     */
+    private static final class AssertionCheck implements Supplier<CheckResult> {
+
+        /** The assertion. */
+        private final Runnable assertion;
+
+        /** The error of the last failed attempt. */
+        private volatile AssertionError lastError;
+
+        /**
+         * Instantiates a new assertion check.
+         *
+         * @param assertion the assertion
+         */
+        AssertionCheck(final Runnable assertion) {
+            this.assertion = assertion;
+        }
+
+        @Override
+        public CheckResult get() {
+            try {
+                this.assertion.run();
+                return CheckResult.SUCCESS;
+            } catch (AssertionError e) {
+                this.lastError = e;
+                return CheckResult.failure(e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * The executors for the async variants, created on first use.
+     */
+    private static final class Runtimes {
+
+        /** Executor that starts a virtual thread per task, {@code null} if the runtime has no virtual threads. */
+        static final Executor VIRTUAL_THREADS = createVirtualThreadExecutor();
+
+        /** The scheduler for runtimes without virtual threads, {@code null} if virtual threads are used. */
+        static final ScheduledExecutorService SCHEDULER = VIRTUAL_THREADS == null ? createScheduler() : null;
+
+        /**
+         * Util classes need no constructor.
+         */
+        private Runtimes() {
+            super();
+        }
+
+        /**
+         * Create {@code Executors.newVirtualThreadPerTaskExecutor()} by reflection, because this library is
+         * compiled for Java 8.
+         *
+         * @return the executor or {@code null}
+         */
+        private static Executor createVirtualThreadExecutor() {
+            try {
+                Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+                return (ExecutorService) factory.invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Create the scheduler with daemon threads.
+         *
+         * @return the scheduler
+         */
+        private static ScheduledExecutorService createScheduler() {
+            AtomicInteger threadNumber = new AtomicInteger();
+            return Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()),
+                    runnable -> {
+                        Thread thread = new Thread(runnable, "eventually-assert-" + threadNumber.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+}
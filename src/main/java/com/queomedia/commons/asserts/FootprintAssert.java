@@ -0,0 +1,88 @@
+package com.queomedia.commons.asserts;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * Memory footprint checks, that estimate the size of all objects reachable from a root object
+ * (a cache, an index, a session) and fail if it exceeds a byte budget.
+ *
+ * <p>
+ * The size is estimated by walking the object graph reflectively, with the object layout (header size,
+ * compressed references, alignment) of the running JVM. Each object is counted once, even if it is referenced
+ * more than once or by a cycle. Classes, class loaders, threads and enum constants are not counted,
+ * the internals of JDK classes that can not be made accessible (since Java 16) are estimated:
+ * strings by their length, collections and maps by their elements, without their internal nodes.
+ * The failure description lists the paths with the largest contribution.
+ * </p>
+ *
+ * <pre>
+ * FootprintAssert.retainedSizeAtMost("cache with 1000 entries", cache, 256 * 1024);
+ * </pre>
+ */
+public abstract class FootprintAssert {
+
+    /** The number of paths listed in the failure description. */
+    private static final int REPORTED_PATHS = 5;
+
+    /**
+     * Util classes need no constructor.
+     */
+    private FootprintAssert() {
+        super();
+    }
+
+    /**
+     * Estimate the size of all objects reachable from the root (including the root).
+     *
+     * @param root the root object
+     * @return the estimated size in bytes
+     */
+    public static long retainedSize(final Object root) {
+        Check.notNullArgument(root, "root");
+
+        return ObjectGraphFootprint.measure(root).getTotalBytes();
+    }
+
+    /**
+     * Assert that the estimated size of all objects reachable from the root is at most {@code maxBytes}.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param root the root object
+     * @param maxBytes the byte budget
+     * @see #retainedSize(Object)
+     */
+    public static void retainedSizeAtMost(final String message, final Object root, final long maxBytes) {
+        Check.notNullArgument(root, "root");
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative, but is " + maxBytes);
+        }
+
+        long start = AssertionMetrics.start();
+        ObjectGraphFootprint footprint = ObjectGraphFootprint.measure(root);
+        boolean passed = footprint.getTotalBytes() <= maxBytes;
+        AssertionMetrics.end(start, "retainedSizeAtMost", "reflective graph walk", 0, footprint.getObjectCount(),
+                passed);
+        if (!passed) {
+            String shallow = footprint.getShallowCount() > 0
+                    ? ", " + footprint.getShallowCount() + " objects with inaccessible internals were estimated"
+                    : "";
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - object graph exceeds the byte budget - " + footprint.getObjectCount()
+                            + " objects, largest paths: " + footprint.describeLargestPaths(REPORTED_PATHS)
+                            + " (" + footprint.getLayout() + shallow + ")"),
+                    "<= " + maxBytes + " bytes",
+                    footprint.getTotalBytes() + " bytes");
+        }
+    }
+
+    /**
+     * Assert that the estimated size of all objects reachable from the root is at most {@code maxBytes}.
+     *
+     * @param root the root object
+     * @param maxBytes the byte budget
+     * @see #retainedSizeAtMost(String, Object, long)
+     */
+    public static void retainedSizeAtMost(final Object root, final long maxBytes) {
+        retainedSizeAtMost(null, root, maxBytes);
+    }
+}
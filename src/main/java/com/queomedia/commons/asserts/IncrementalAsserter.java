@@ -0,0 +1,396 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.RandomAccess;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * Stateful checks for append only sequences (event logs, queues), that are checked again after each appended
+ * batch.
+ *
+ * <p>
+ * The asserter remembers the number of already checked elements (the position), the last element and (if
+ * needed) the elements seen so far with their number of appearances. Each check inspects only the newly
+ * appended elements, so checking a sequence of n elements in k batches costs O(n) instead of O(n * k).
+ * </p>
+ *
+ * <pre>
+ * IncrementalAsserter&lt;Event&gt; log = new IncrementalAsserter&lt;Event&gt;("event log").unique()
+ *         .sorted(Comparator.comparing(Event::getTimestamp), SortOrder.ASCENDING);
+ * ...
+ * log.appended(eventLog); // after each batch
+ * </pre>
+ *
+ * <p>
+ * When a check fails, the elements before the violating one are consumed, the violating one is not.
+ * Use {@link #checkpoint()} and {@link #restore(Checkpoint)} to go back to a known good state.
+ * The asserter is not thread safe.
+ * </p>
+ *
+ * @param <T> the type of the elements
+ */
+public final class IncrementalAsserter<T> {
+
+    /** Additional message for the failure descriptions. */
+    private final String message;
+
+    /** True if each element must appear only once. */
+    private boolean unique;
+
+    /** The comparator for the order check, {@code null} if the order is not checked. */
+    private Comparator<? super T> comparator;
+
+    /** The expected order, {@code null} if the order is not checked. */
+    private SortOrder order;
+
+    /** The number of checked elements. */
+    private long position;
+
+    /** The last checked element. */
+    private T last;
+
+    /** The seen elements with their first position and count, {@code null} if not needed. */
+    private ElementCounts seen;
+
+    /**
+     * Instantiates a new asserter, that checks nothing but the append only property,
+     * until {@link #unique()}, {@link #sorted(Comparator, SortOrder)} or {@link #countOccurrences()} is enabled.
+     *
+     * @param message additional message for the failure description when a check fails - can be {@code null}
+     */
+    public IncrementalAsserter(final String message) {
+        this.message = message;
+    }
+
+    /**
+     * Check that each element appears only once.
+     *
+     * @return this asserter
+     */
+    public IncrementalAsserter<T> unique() {
+        checkNotStarted();
+        this.unique = true;
+        if (this.seen == null) {
+            this.seen = new ElementCounts();
+        }
+        return this;
+    }
+
+    /**
+     * Check that the elements are sorted.
+     *
+     * @param comparator the comparator
+     * @param order the expected order
+     * @return this asserter
+     */
+    public IncrementalAsserter<T> sorted(final Comparator<? super T> comparator, final SortOrder order) {
+        Check.notNullArgument(comparator, "comparator");
+        Check.notNullArgument(order, "order");
+        checkNotStarted();
+
+        this.comparator = comparator;
+        this.order = order;
+        return this;
+    }
+
+    /**
+     * Count the appearances of each element, needed for {@link #checkContainsAtLeast(Collection)}.
+     *
+     * @return this asserter
+     */
+    public IncrementalAsserter<T> countOccurrences() {
+        checkNotStarted();
+        if (this.seen == null) {
+            this.seen = new ElementCounts();
+        }
+        return this;
+    }
+
+    /**
+     * Check the elements that were appended to the sequence since the last check.
+     *
+     * @param sequence the whole (append only) sequence
+     * @return the check result
+     */
+    public CheckResult checkAppended(final List<? extends T> sequence) {
+        Check.notNullArgument(sequence, "sequence");
+
+        int size = sequence.size();
+        if (size < this.position) {
+            return CheckResult.failureCompare(AssertUtil.format(this.message,
+                    "[Assertion failed] - sequence is not append only - it has less elements than already checked"),
+                    this.position,
+                    size);
+        }
+        int start = (int) this.position;
+        if (sequence instanceof RandomAccess) {
+            if (start > 0 && !equal(this.last, sequence.get(start - 1))) {
+                return replacedFailure(start - 1, sequence.get(start - 1));
+            }
+            for (int i = start; i < size; i++) {
+                CheckResult result = next(sequence.get(i));
+                if (result.isFailure()) {
+                    return result;
+                }
+            }
+            return CheckResult.SUCCESS;
+        }
+
+        /* a single list iterator positioned at the last checked element, for linked lists */
+        ListIterator<? extends T> iterator = sequence.listIterator(Math.max(0, start - 1));
+        if (start > 0) {
+            T lastFound = iterator.next();
+            if (!equal(this.last, lastFound)) {
+                return replacedFailure(start - 1, lastFound);
+            }
+        }
+        while (iterator.hasNext()) {
+            CheckResult result = next(iterator.next());
+            if (result.isFailure()) {
+                return result;
+            }
+        }
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Create the failure for a sequence where the last checked element was replaced.
+     *
+     * @param index the index of the last checked element
+     * @param found the element currently at this index
+     * @return the check result
+     */
+    private CheckResult replacedFailure(final int index, final Object found) {
+        return CheckResult.failure(AssertUtil.format(this.message,
+                "[Assertion failed] - sequence is not append only - element at index " + index
+                        + " was replaced - checked element=" + this.last + ", current element=" + found));
+    }
+
+    /**
+     * Assert the elements that were appended to the sequence since the last check.
+     *
+     * @param sequence the whole (append only) sequence
+     * @see #checkAppended(List)
+     */
+    public void appended(final List<? extends T> sequence) {
+        checkAppended(sequence).orFail();
+    }
+
+    /**
+     * Check a batch of new elements, for sequences where only the new elements are available
+     * (for example consumed from a queue).
+     *
+     * @param newElements the elements that follow the already checked ones
+     * @return the check result
+     */
+    public CheckResult checkBatch(final Iterable<? extends T> newElements) {
+        Check.notNullArgument(newElements, "newElements");
+
+        for (Iterator<? extends T> iterator = newElements.iterator(); iterator.hasNext();) {
+            CheckResult result = next(iterator.next());
+            if (result.isFailure()) {
+                return result;
+            }
+        }
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Assert a batch of new elements.
+     *
+     * @param newElements the elements that follow the already checked ones
+     * @see #checkBatch(Iterable)
+     */
+    public void batch(final Iterable<? extends T> newElements) {
+        checkBatch(newElements).orFail();
+    }
+
+    /**
+     * Check that the checked elements contain the expected elements (at least as often as they appear in
+     * expected), without scanning the sequence again. Needs {@link #countOccurrences()} or {@link #unique()}.
+     *
+     * @param expected the expected elements
+     * @return the check result
+     */
+    public CheckResult checkContainsAtLeast(final Collection<? extends T> expected) {
+        Check.notNullArgument(expected, "expected");
+        if (this.seen == null) {
+            throw new IllegalStateException("containsAtLeast needs countOccurrences() or unique()");
+        }
+
+        ElementCounts expectedCounts = new ElementCounts();
+        for (T expectedElement : expected) {
+            expectedCounts.add(expectedElement, 0);
+            long required = expectedCounts.count(expectedElement);
+            if (this.seen.count(expectedElement) < required) {
+                return CheckResult.failureCompare(AssertUtil.format(this.message,
+                        "[Assertion failed] - sequence does not contain expected element=" + expectedElement
+                                + " " + required + " times"),
+                        required,
+                        this.seen.count(expectedElement));
+            }
+        }
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Assert that the checked elements contain the expected elements.
+     *
+     * @param expected the expected elements
+     * @see #checkContainsAtLeast(Collection)
+     */
+    public void containsAtLeast(final Collection<? extends T> expected) {
+        checkContainsAtLeast(expected).orFail();
+    }
+
+    /**
+     * Get the number of appearances of the element in the checked elements.
+     * Needs {@link #countOccurrences()} or {@link #unique()}.
+     *
+     * @param element the element
+     * @return the number of appearances
+     */
+    public long count(final T element) {
+        if (this.seen == null) {
+            throw new IllegalStateException("count needs countOccurrences() or unique()");
+        }
+        return this.seen.count(element);
+    }
+
+    /**
+     * Get the number of checked elements.
+     *
+     * @return the position
+     */
+    public long getPosition() {
+        return this.position;
+    }
+
+    /**
+     * Save the current state.
+     * The checkpoint copies the seen elements, so it costs memory and time proportional to their number.
+     *
+     * @return the checkpoint
+     */
+    public Checkpoint<T> checkpoint() {
+        return new Checkpoint<T>(this, this.position, this.last, this.seen != null ? this.seen.copy() : null);
+    }
+
+    /**
+     * Go back to a saved state of this asserter.
+     *
+     * @param checkpoint the checkpoint, created by this asserter
+     */
+    public void restore(final Checkpoint<T> checkpoint) {
+        Check.notNullArgument(checkpoint, "checkpoint");
+        if (checkpoint.owner != this) {
+            throw new IllegalArgumentException("the checkpoint was created by an other asserter");
+        }
+
+        this.position = checkpoint.position;
+        this.last = checkpoint.last;
+        /* copy again, so the checkpoint can be restored more than once */
+        this.seen = checkpoint.seen != null ? checkpoint.seen.copy() : null;
+    }
+
+    /**
+     * Check and consume the next element.
+     *
+     * @param element the element
+     * @return the check result
+     */
+    private CheckResult next(final T element) {
+        long index = this.position;
+        if (this.order != null && index > 0) {
+            if (!this.order.isInOrder(this.comparator.compare(this.last, element))) {
+                return CheckResult.failure(AssertUtil.format(this.message,
+                        "[Assertion failed] - elements are not sorted " + this.order + " - first violation at index "
+                                + index + " - [" + (index - 1) + "]=" + this.last + ", [" + index + "]=" + element));
+            }
+        }
+        if (this.unique) {
+            long firstPosition = this.seen.firstPosition(element);
+            if (firstPosition != ElementCounts.ABSENT) {
+                return CheckResult.failure(AssertUtil.format(this.message,
+                        "[Assertion failed] - elements are not unique - element=" + element + " at index "
+                                + firstPosition + " and " + index));
+            }
+        }
+        if (this.seen != null) {
+            this.seen.add(element, index);
+        }
+        this.position = index + 1;
+        this.last = element;
+        return CheckResult.SUCCESS;
+    }
+
+    /**
+     * Throw an exception if elements were already checked, because the configuration must not change then.
+     */
+    private void checkNotStarted() {
+        if (this.position > 0) {
+            throw new IllegalStateException("the configuration can not be changed after elements were checked");
+        }
+    }
+
+    /**
+     * Null safe equals.
+     *
+     * @param a the a
+     * @param b the b
+     * @return true, if equal
+     */
+    private static boolean equal(final Object a, final Object b) {
+        return a == b || (a != null && a.equals(b));
+    }
+
+    /**
+     * A saved state of an {@link IncrementalAsserter}.
+     *
+     * @param <T> the type of the elements
+     */
+    public static final class Checkpoint<T> {
+
+        /** The asserter that created this checkpoint. */
+        private final IncrementalAsserter<T> owner;
+
+        /** The number of checked elements. */
+        private final long position;
+
+        /** The last checked element. */
+        private final T last;
+
+        /** The seen elements, {@code null} if not needed. */
+        private final ElementCounts seen;
+
+        /**
+         * Instantiates a new checkpoint.
+         *
+         * @param owner the asserter that created this checkpoint
+         * @param position the number of checked elements
+         * @param last the last checked element
+         * @param seen the seen elements
+         */
+        private Checkpoint(final IncrementalAsserter<T> owner, final long position, final T last,
+                final ElementCounts seen) {
+            this.owner = owner;
+            this.position = position;
+            this.last = last;
+            this.seen = seen;
+        }
+
+        /**
+         * Get the number of checked elements at this checkpoint.
+         *
+         * @return the position
+         */
+        public long getPosition() {
+            return this.position;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.queomedia.commons.asserts;
+
+import jdk.jfr.EventType;
+import jdk.jfr.FlightRecorder;
+
+/**
+ * Emits the {@link AssertionEvent}s.
+ *
+ * <p>
+ * This is the only class (besides the event) that references the JFR API, so it must only be loaded after
+ * the presence of the API was checked by reflection (see {@link AssertionMetrics}).
+ * </p>
+ */
+final class JfrEvents {
+
+    /** The registered event type, to check cheaply if the event is enabled in a running recording. */
+    private static final EventType EVENT_TYPE = EventType.getEventType(AssertionEvent.class);
+
+    /**
+     * Util classes need no constructor.
+     */
+    private JfrEvents() {
+        super();
+    }
+
+    /**
+     * Check if the flight recorder is available in this JVM.
+     *
+     * @return true, if available
+     */
+    static boolean isAvailable() {
+        return FlightRecorder.isAvailable();
+    }
+
+    /**
+     * Check if the assertion event is enabled by a running recording.
+     *
+     * @return true, if enabled
+     */
+    static boolean isEnabled() {
+        return EVENT_TYPE.isEnabled();
+    }
+
+    /**
+     * Emit an assertion event.
+     *
+     * @param assertion the name of the assertion
+     * @param algorithm the algorithm
+     * @param expectedSize the number of expected elements
+     * @param foundSize the number of found elements
+     * @param durationNanos the duration of the check
+     * @param passed true if the check passed
+     */
+    static void commit(final String assertion, final String algorithm, final int expectedSize, final int foundSize,
+            final long durationNanos, final boolean passed) {
+        AssertionEvent event = new AssertionEvent();
+        if (event.shouldCommit()) {
+            event.assertion = assertion;
+            event.algorithm = algorithm;
+            event.expectedSize = expectedSize;
+            event.foundSize = foundSize;
+            event.checkDuration = durationNanos;
+            event.passed = passed;
+            event.commit();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A fixed memory histogram of latencies (or other non negative {@code long} values).
+ *
+ * <p>
+ * The values are counted in logarithmic buckets: each power of two range is divided into 32 linear
+ * sub buckets, so the reported percentiles are at most about 3% too large, for all values from 1 nanosecond
+ * up to {@code Long.MAX_VALUE}. The histogram has a fixed size (about 15 KB), recording a value does not
+ * allocate, and it is thread safe (values recorded while a percentile is determined may or may not be
+ * included).
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    /** The number of bits that select the sub bucket. */
+    private static final int SUB_BUCKET_BITS = 5;
+
+    /** The number of sub buckets of each power of two range. */
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+
+    /** The number of buckets, enough for all positive {@code long} values. */
+    private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS) * SUB_BUCKETS;
+
+    /** The percentiles reported by {@link #toString()}. */
+    private static final double[] REPORTED_PERCENTILES = { 50, 90, 99, 99.9 };
+
+    /** The count of each bucket. */
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+
+    /** The number of recorded values. */
+    private final AtomicLong count = new AtomicLong();
+
+    /** The sum of the recorded values. */
+    private final AtomicLong sum = new AtomicLong();
+
+    /** The largest recorded value. */
+    private final AtomicLong max = new AtomicLong();
+
+    /** The smallest recorded value. */
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+
+    /**
+     * Record a value.
+     *
+     * @param value the value, for example a duration in nanoseconds, not negative
+     */
+    public void record(final long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("value must not be negative, but is " + value);
+        }
+        this.counts.incrementAndGet(bucket(value));
+        this.count.incrementAndGet();
+        this.sum.addAndGet(value);
+        long currentMax = this.max.get();
+        while (value > currentMax && !this.max.compareAndSet(currentMax, value)) {
+            currentMax = this.max.get();
+        }
+        long currentMin = this.min.get();
+        while (value < currentMin && !this.min.compareAndSet(currentMin, value)) {
+            currentMin = this.min.get();
+        }
+    }
+
+    /**
+     * Get the number of recorded values.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return this.count.get();
+    }
+
+    /**
+     * Get the largest recorded value.
+     *
+     * @return the maximum, {@code 0} if no value was recorded
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * Get the smallest recorded value.
+     *
+     * @return the minimum, {@code 0} if no value was recorded
+     */
+    public long getMin() {
+        return getCount() == 0 ? 0 : this.min.get();
+    }
+
+    /**
+     * Get the arithmetic mean of the recorded values.
+     *
+     * @return the mean, {@code 0} if no value was recorded
+     */
+    public double getMean() {
+        long currentCount = getCount();
+        return currentCount == 0 ? 0 : (double) this.sum.get() / currentCount;
+    }
+
+    /**
+     * Get the value at the percentile: at least {@code percentile} percent of the recorded values are
+     * smaller or equal.
+     * The result is the upper bound of the bucket that contains the percentile, but not more than the maximum.
+     *
+     * @param percentile the percentile, from 0 to 100, for example {@code 99.9}
+     * @return the value, {@code 0} if no value was recorded
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (!(percentile >= 0 && percentile <= 100)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100, but is " + percentile);
+        }
+        long currentCount = getCount();
+        if (currentCount == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * currentCount));
+        long seen = 0;
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            seen += this.counts.get(bucket);
+            if (seen >= rank) {
+                return Math.min(upperBound(bucket), getMax());
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     * Remove all recorded values.
+     * Values that are recorded concurrently may be lost or kept partially.
+     */
+    public void reset() {
+        for (int bucket = 0; bucket < BUCKETS; bucket++) {
+            this.counts.set(bucket, 0);
+        }
+        this.count.set(0);
+        this.sum.set(0);
+        this.max.set(0);
+        this.min.set(Long.MAX_VALUE);
+    }
+
+    /**
+     * Describe the distribution, with the values formatted as durations (the values must be nanoseconds).
+     *
+     * @return for example {@code count=1000, mean=1.20ms, p50=1.10ms, p90=1.50ms, ...}
+     */
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("count=").append(getCount())
+                .append(", min=")
+                .append(formatNanos(getMin()))
+                .append(", mean=")
+                .append(formatNanos((long) getMean()));
+        for (double percentile : REPORTED_PERCENTILES) {
+            description.append(", p")
+                    .append(percentile == Math.rint(percentile) ? Long.toString((long) percentile)
+                            : Double.toString(percentile))
+                    .append('=')
+                    .append(formatNanos(getValueAtPercentile(percentile)));
+        }
+        return description.append(", max=").append(formatNanos(getMax())).toString();
+    }
+
+    /**
+     * Format a duration in the largest unit that keeps at least one digit before the decimal point.
+     *
+     * @param nanos the duration in nanoseconds
+     * @return for example {@code 850ns}, {@code 1.25us}, {@code 12.00ms} or {@code 3.10s}
+     */
+    static String formatNanos(final long nanos) {
+        if (nanos < 1_000) {
+            return nanos + "ns";
+        }
+        if (nanos < 1_000_000) {
+            return String.format(Locale.ROOT, "%.2fus", nanos / 1e3);
+        }
+        if (nanos < 1_000_000_000) {
+            return String.format(Locale.ROOT, "%.2fms", nanos / 1e6);
+        }
+        return String.format(Locale.ROOT, "%.2fs", nanos / 1e9);
+    }
+
+    /**
+     * Determine the bucket of a value.
+     *
+     * @param value the value, not negative
+     * @return the bucket
+     */
+    static int bucket(final long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        int subBucket = (int) (value >>> shift) - SUB_BUCKETS;
+        return (shift + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * Determine the largest value of a bucket.
+     *
+     * @param bucket the bucket
+     * @return the upper bound (inclusive)
+     */
+    static long upperBound(final int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = bucket / SUB_BUCKETS - 1;
+        long lowerBound = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+        return lowerBound + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,120 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Arrays;
+
+/**
+ * Open addressing multiset of primitive {@code long} keys: counts how often each key was added.
+ *
+ * <p>
+ * The table is sized up front for the expected number of distinct keys, and never resized,
+ * it uses linear probing and does not box the keys.
+ * The key {@code 0} is used to mark free slots, so its count is stored in a separate field.
+ * A key whose count drops to zero keeps its slot (so probing chains stay intact).
+ * </p>
+ */
+final class LongCounts {
+
+    /** The keys, {@code 0} marks a free slot. */
+    private final long[] keys;
+
+    /** The count of each key. */
+    private final int[] counts;
+
+    /** The mask to map a hash to a slot. */
+    private final int mask;
+
+    /** The count of key {@code 0}. */
+    private int zeroKeyCount;
+
+    /** The number of keys in the table (without key {@code 0}). */
+    private int size;
+
+    /**
+     * Instantiates a new multiset for the expected number of distinct keys.
+     *
+     * @param expectedKeys the expected number of distinct keys
+     */
+    LongCounts(final int expectedKeys) {
+        int capacity = LongHashIndex.tableSize(expectedKeys);
+        this.keys = new long[capacity];
+        this.counts = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Add one appearance of the key.
+     *
+     * @param key the key
+     */
+    void increment(final long key) {
+        if (key == 0) {
+            this.zeroKeyCount++;
+            return;
+        }
+        int slot = find(key);
+        if (this.keys[slot] == 0) {
+            if (this.size == this.mask) {
+                throw new IllegalStateException("counts are full, capacity=" + this.keys.length);
+            }
+            this.size++;
+            this.keys[slot] = key;
+        }
+        this.counts[slot]++;
+    }
+
+    /**
+     * Remove one appearance of the key, if the key has a positive count.
+     *
+     * @param key the key
+     * @return true, if the key had a positive count
+     */
+    boolean decrement(final long key) {
+        if (key == 0) {
+            if (this.zeroKeyCount == 0) {
+                return false;
+            }
+            this.zeroKeyCount--;
+            return true;
+        }
+        int slot = find(key);
+        if (this.keys[slot] == 0 || this.counts[slot] == 0) {
+            return false;
+        }
+        this.counts[slot]--;
+        return true;
+    }
+
+    /**
+     * Get the keys with a positive count (each key once).
+     *
+     * @param maxKeys the maximal number of returned keys
+     * @return the keys, at most {@code maxKeys}
+     */
+    long[] positiveKeys(final int maxKeys) {
+        long[] result = new long[maxKeys];
+        int found = 0;
+        if (this.zeroKeyCount > 0 && found < maxKeys) {
+            result[found++] = 0;
+        }
+        for (int slot = 0; slot < this.keys.length && found < maxKeys; slot++) {
+            if (this.keys[slot] != 0 && this.counts[slot] > 0) {
+                result[found++] = this.keys[slot];
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    /**
+     * Find the slot of the key, or the free slot where it belongs to.
+     *
+     * @param key the key, not {@code 0}
+     * @return the slot
+     */
+    private int find(final long key) {
+        int slot = (int) LongHashIndex.mix(key) & this.mask;
+        while (this.keys[slot] != 0 && this.keys[slot] != key) {
+            slot = (slot + 1) & this.mask;
+        }
+        return slot;
+    }
+}
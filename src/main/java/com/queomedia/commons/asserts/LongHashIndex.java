@@ -0,0 +1,111 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * Open addressing hash table from primitive {@code long} keys to the position where the key appears first.
+ *
+ * <p>
+ * The table is sized up front for the expected number of keys, and never resized,
+ * it uses linear probing and does not box the keys.
+ * The key {@code 0} is used to mark free slots, so it is stored in a separate field.
+ * </p>
+ */
+final class LongHashIndex {
+
+    /** Marker for "key not yet contained". */
+    static final int ABSENT = -1;
+
+    /** The keys, {@code 0} marks a free slot. */
+    private final long[] keys;
+
+    /** The position of each key. */
+    private final int[] positions;
+
+    /** The mask to map a hash to a slot. */
+    private final int mask;
+
+    /** The position of key {@code 0} or {@link #ABSENT}. */
+    private int zeroKeyPosition = ABSENT;
+
+    /** The number of keys in the table (without key {@code 0}). */
+    private int size;
+
+    /**
+     * Instantiates a new index for the expected number of keys.
+     *
+     * @param expectedKeys the expected number of keys
+     */
+    LongHashIndex(final int expectedKeys) {
+        int capacity = tableSize(expectedKeys);
+        this.keys = new long[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+    }
+
+    /**
+     * Add the key with its position, if the key is not already contained.
+     *
+     * @param key the key
+     * @param position the position of the key
+     * @return the position of the already contained key or {@link #ABSENT} if the key is new
+     */
+    int putIfAbsent(final long key, final int position) {
+        if (key == 0) {
+            int existing = this.zeroKeyPosition;
+            if (existing == ABSENT) {
+                this.zeroKeyPosition = position;
+            }
+            return existing;
+        }
+
+        int slot = (int) mix(key) & this.mask;
+        while (true) {
+            long slotKey = this.keys[slot];
+            if (slotKey == 0) {
+                if (this.size == this.mask) {
+                    throw new IllegalStateException("index is full, capacity=" + this.keys.length);
+                }
+                this.size++;
+                this.keys[slot] = key;
+                this.positions[slot] = position;
+                return ABSENT;
+            }
+            if (slotKey == key) {
+                return this.positions[slot];
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    /**
+     * Calculate a power of two table size, with a load factor of at most 0.5.
+     *
+     * @param expectedKeys the expected number of keys
+     * @return the table size
+     */
+    static int tableSize(final int expectedKeys) {
+        if (expectedKeys < 0) {
+            throw new IllegalArgumentException("expectedKeys must not be negative but was " + expectedKeys);
+        }
+        long minimum = Math.max(16L, 2L * expectedKeys);
+        if (minimum > (1 << 30)) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit((int) minimum - 1) << 1;
+    }
+
+    /**
+     * Spread the bits of the key (murmur3 finalizer).
+     *
+     * @param key the key
+     * @return the mixed hash
+     */
+    static long mix(final long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
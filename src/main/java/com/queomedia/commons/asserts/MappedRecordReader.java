@@ -0,0 +1,110 @@
+package com.queomedia.commons.asserts;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Sequential reader for length prefixed binary records, that memory maps the file in windows.
+ *
+ * <p>
+ * Each record is stored as an {@code int} length followed by the record bytes.
+ * Only one window of the file is mapped at a time, so files larger than 2 GB can be read too.
+ * </p>
+ */
+final class MappedRecordReader implements Closeable {
+
+    /** Default size of the mapped window. */
+    private static final long WINDOW_SIZE = 64L * 1024 * 1024;
+
+    /** The channel. */
+    private final FileChannel channel;
+
+    /** The file size. */
+    private final long fileSize;
+
+    /** File position of the first byte of the current window. */
+    private long windowStart;
+
+    /** The current window. */
+    private MappedByteBuffer window;
+
+    /**
+     * Instantiates a new reader, that starts reading at the given offset.
+     *
+     * @param file the file
+     * @param offset the offset of the first record
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    MappedRecordReader(final Path file, final long offset) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.fileSize = this.channel.size();
+        map(offset, 0);
+    }
+
+    /**
+     * Checks for more records.
+     *
+     * @return true, if there is at least one more record
+     */
+    boolean hasNext() {
+        return this.windowStart + this.window.position() < this.fileSize;
+    }
+
+    /**
+     * Read the next record.
+     *
+     * @return the record bytes
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    byte[] next() throws IOException {
+        ensureRemaining(Integer.BYTES);
+        int length = this.window.getInt();
+        if (length < 0) {
+            throw new IOException("corrupt record length " + length + " at position "
+                    + (this.windowStart + this.window.position() - Integer.BYTES));
+        }
+        ensureRemaining(length);
+        byte[] record = new byte[length];
+        this.window.get(record);
+        return record;
+    }
+
+    /**
+     * Make sure that the current window contains at least the required number of bytes, remap it otherwise.
+     *
+     * @param required the required number of bytes
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void ensureRemaining(final int required) throws IOException {
+        if (this.window.remaining() < required) {
+            map(this.windowStart + this.window.position(), required);
+        }
+    }
+
+    /**
+     * Map a new window starting at the given position.
+     *
+     * @param position the file position
+     * @param required the minimal number of bytes the window must contain
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    private void map(final long position, final int required) throws IOException {
+        long size = Math.min(this.fileSize - position, Math.max(WINDOW_SIZE, required));
+        if (size < required) {
+            throw new EOFException("unexpected end of file at position " + position + ", " + required
+                    + " bytes required but only " + size + " available");
+        }
+        this.window = this.channel.map(FileChannel.MapMode.READ_ONLY, position, size);
+        this.windowStart = position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        this.channel.close();
+    }
+}
@@ -0,0 +1,359 @@
+package com.queomedia.commons.asserts;
+
+import java.nio.DoubleBuffer;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * Element wise tolerance checks for floating point arrays and buffers.
+ *
+ * <p>
+ * Two values are equal, if their (absolute) difference is at most
+ * {@code max(absoluteTolerance, relativeTolerance * max(|expected|, |found|))}.
+ * Two {@code NaN} values are equal, {@code NaN} and a number are not. Infinite values are only equal to the
+ * same infinite value.
+ * </p>
+ *
+ * <p>
+ * The values are compared in a first pass, that only counts the violations. The comparisons are combined with
+ * non short circuit operators, so the loop has no branch per comparison. Whether the JIT compiles it to
+ * conditional moves or vector instructions depends on the JVM and is not guaranteed. Only if there are violations,
+ * a second pass determines the maximal deviation and its index for the failure description.
+ * </p>
+ */
+public abstract class NumericAssert {
+
+    /**
+     * Util classes need no constructor.
+     */
+    private NumericAssert() {
+        super();
+    }
+
+    /**
+     * Assert that both arrays have the same length and equal (within the tolerance) values at each index.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     * @param relativeTolerance the maximal difference relative to the larger magnitude, not negative
+     */
+    public static void equalsWithin(final String message, final double[] expected, final double[] found,
+            final double absoluteTolerance, final double relativeTolerance) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        checkTolerances(absoluteTolerance, relativeTolerance);
+        sameLength(message, "arrays", expected.length, found.length);
+
+        compare(message, expected, 0, found, 0, expected.length, absoluteTolerance, relativeTolerance);
+    }
+
+    /**
+     * Assert that both arrays have the same length and values that differ at most by the absolute tolerance.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     */
+    public static void equalsWithin(final String message, final double[] expected, final double[] found,
+            final double absoluteTolerance) {
+        equalsWithin(message, expected, found, absoluteTolerance, 0);
+    }
+
+    /**
+     * Assert that both arrays have the same length and values that differ at most by the absolute tolerance.
+     *
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     */
+    public static void equalsWithin(final double[] expected, final double[] found, final double absoluteTolerance) {
+        equalsWithin(null, expected, found, absoluteTolerance, 0);
+    }
+
+    /**
+     * Assert that both arrays have the same length and equal (within the tolerance) values at each index.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     * @param relativeTolerance the maximal difference relative to the larger magnitude, not negative
+     */
+    public static void equalsWithin(final String message, final float[] expected, final float[] found,
+            final float absoluteTolerance, final float relativeTolerance) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        checkTolerances(absoluteTolerance, relativeTolerance);
+        sameLength(message, "arrays", expected.length, found.length);
+
+        int length = expected.length;
+        int violations = 0;
+        for (int i = 0; i < length; i++) {
+            violations += isEqual(expected[i], found[i], absoluteTolerance, relativeTolerance) ? 0 : 1;
+        }
+        if (violations == 0) {
+            return;
+        }
+
+        int maxIndex = -1;
+        double maxDeviation = -1;
+        for (int i = 0; i < length; i++) {
+            float e = expected[i];
+            float f = found[i];
+            if (!isEqual(e, f, absoluteTolerance, relativeTolerance) && deviation(e, f) > maxDeviation) {
+                maxDeviation = deviation(e, f);
+                maxIndex = i;
+            }
+        }
+        failTolerance(message, absoluteTolerance, relativeTolerance, violations, length, maxDeviation, maxIndex,
+                expected[maxIndex], found[maxIndex]);
+    }
+
+    /**
+     * Assert that both arrays have the same length and values that differ at most by the absolute tolerance.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     */
+    public static void equalsWithin(final String message, final float[] expected, final float[] found,
+            final float absoluteTolerance) {
+        equalsWithin(message, expected, found, absoluteTolerance, 0);
+    }
+
+    /**
+     * Assert that both arrays have the same length and values that differ at most by the absolute tolerance.
+     *
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     */
+    public static void equalsWithin(final float[] expected, final float[] found, final float absoluteTolerance) {
+        equalsWithin(null, expected, found, absoluteTolerance, 0);
+    }
+
+    /**
+     * Assert that both buffers have the same number of remaining values, and equal (within the tolerance) values
+     * at each relative index. The positions of the buffers are not changed.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     * @param relativeTolerance the maximal difference relative to the larger magnitude, not negative
+     */
+    public static void equalsWithin(final String message, final DoubleBuffer expected, final DoubleBuffer found,
+            final double absoluteTolerance, final double relativeTolerance) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        checkTolerances(absoluteTolerance, relativeTolerance);
+        sameLength(message, "buffers", expected.remaining(), found.remaining());
+
+        if (expected.hasArray() && found.hasArray()) {
+            compare(message,
+                    expected.array(),
+                    expected.arrayOffset() + expected.position(),
+                    found.array(),
+                    found.arrayOffset() + found.position(),
+                    expected.remaining(),
+                    absoluteTolerance,
+                    relativeTolerance);
+            return;
+        }
+
+        int expectedStart = expected.position();
+        int foundStart = found.position();
+        int length = expected.remaining();
+        int violations = 0;
+        for (int i = 0; i < length; i++) {
+            violations += isEqual(expected.get(expectedStart + i), found.get(foundStart + i), absoluteTolerance,
+                    relativeTolerance) ? 0 : 1;
+        }
+        if (violations == 0) {
+            return;
+        }
+
+        int maxIndex = -1;
+        double maxDeviation = -1;
+        for (int i = 0; i < length; i++) {
+            double e = expected.get(expectedStart + i);
+            double f = found.get(foundStart + i);
+            if (!isEqual(e, f, absoluteTolerance, relativeTolerance) && deviation(e, f) > maxDeviation) {
+                maxDeviation = deviation(e, f);
+                maxIndex = i;
+            }
+        }
+        failTolerance(message, absoluteTolerance, relativeTolerance, violations, length, maxDeviation, maxIndex,
+                expected.get(expectedStart + maxIndex), found.get(foundStart + maxIndex));
+    }
+
+    /**
+     * Assert that both buffers have the same number of remaining values, that differ at most by the absolute
+     * tolerance. The positions of the buffers are not changed.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     */
+    public static void equalsWithin(final String message, final DoubleBuffer expected, final DoubleBuffer found,
+            final double absoluteTolerance) {
+        equalsWithin(message, expected, found, absoluteTolerance, 0);
+    }
+
+    /**
+     * Assert that both buffers have the same number of remaining values, that differ at most by the absolute
+     * tolerance. The positions of the buffers are not changed.
+     *
+     * @param expected the expected values
+     * @param found the found values
+     * @param absoluteTolerance the maximal absolute difference, not negative
+     */
+    public static void equalsWithin(final DoubleBuffer expected, final DoubleBuffer found,
+            final double absoluteTolerance) {
+        equalsWithin(null, expected, found, absoluteTolerance, 0);
+    }
+
+    /**
+     * Compare the array ranges and fail if values differ more than the tolerance.
+     *
+     * @param message the message
+     * @param expected the expected values
+     * @param expectedOffset the index of the first expected value
+     * @param found the found values
+     * @param foundOffset the index of the first found value
+     * @param length the number of values
+     * @param absoluteTolerance the absolute tolerance
+     * @param relativeTolerance the relative tolerance
+     */
+    private static void compare(final String message, final double[] expected, final int expectedOffset,
+            final double[] found, final int foundOffset, final int length, final double absoluteTolerance,
+            final double relativeTolerance) {
+        int violations = 0;
+        for (int i = 0; i < length; i++) {
+            violations += isEqual(expected[expectedOffset + i], found[foundOffset + i], absoluteTolerance,
+                    relativeTolerance) ? 0 : 1;
+        }
+        if (violations == 0) {
+            return;
+        }
+
+        int maxIndex = -1;
+        double maxDeviation = -1;
+        for (int i = 0; i < length; i++) {
+            double e = expected[expectedOffset + i];
+            double f = found[foundOffset + i];
+            if (!isEqual(e, f, absoluteTolerance, relativeTolerance) && deviation(e, f) > maxDeviation) {
+                maxDeviation = deviation(e, f);
+                maxIndex = i;
+            }
+        }
+        failTolerance(message, absoluteTolerance, relativeTolerance, violations, length, maxDeviation, maxIndex,
+                expected[expectedOffset + maxIndex], found[foundOffset + maxIndex]);
+    }
+
+    /**
+     * Check if both values are equal within the tolerance, without short circuit operators.
+     *
+     * @param e the expected value
+     * @param f the found value
+     * @param absoluteTolerance the absolute tolerance
+     * @param relativeTolerance the relative tolerance
+     * @return true, if equal
+     */
+    private static boolean isEqual(final double e, final double f, final double absoluteTolerance,
+            final double relativeTolerance) {
+        double tolerance = Math.max(absoluteTolerance, relativeTolerance * Math.max(Math.abs(e), Math.abs(f)));
+        /* the tolerance applies to finite values only, e == f for equal infinite values, (e != e) & (f != f) for NaN */
+        return ((Math.abs(e - f) <= tolerance) & Double.isFinite(e) & Double.isFinite(f)) | (e == f)
+                | ((e != e) & (f != f));
+    }
+
+    /**
+     * Check if both values are equal within the tolerance, without short circuit operators.
+     *
+     * @param e the expected value
+     * @param f the found value
+     * @param absoluteTolerance the absolute tolerance
+     * @param relativeTolerance the relative tolerance
+     * @return true, if equal
+     */
+    private static boolean isEqual(final float e, final float f, final float absoluteTolerance,
+            final float relativeTolerance) {
+        float tolerance = Math.max(absoluteTolerance, relativeTolerance * Math.max(Math.abs(e), Math.abs(f)));
+        return ((Math.abs(e - f) <= tolerance) & Float.isFinite(e) & Float.isFinite(f)) | (e == f)
+                | ((e != e) & (f != f));
+    }
+
+    /**
+     * Calculate the deviation of two not equal values, {@code NaN} deviations are infinite.
+     *
+     * @param e the expected value
+     * @param f the found value
+     * @return the deviation
+     */
+    private static double deviation(final double e, final double f) {
+        double deviation = Math.abs(e - f);
+        return Double.isNaN(deviation) ? Double.POSITIVE_INFINITY : deviation;
+    }
+
+    /**
+     * Fail because of values that differ more than the tolerance.
+     *
+     * @param message the message
+     * @param absoluteTolerance the absolute tolerance
+     * @param relativeTolerance the relative tolerance
+     * @param violations the number of violations
+     * @param length the number of compared values
+     * @param maxDeviation the maximal deviation
+     * @param maxIndex the index of the maximal deviation
+     * @param expected the expected value at this index
+     * @param found the found value at this index
+     */
+    private static void failTolerance(final String message, final double absoluteTolerance,
+            final double relativeTolerance, final int violations, final int length, final double maxDeviation,
+            final int maxIndex, final double expected, final double found) {
+        AssertUtil.fail(AssertUtil.format(message,
+                "[Assertion failed] - values differ more than the tolerance (absolute=" + absoluteTolerance
+                        + ", relative=" + relativeTolerance + ") - " + violations + " of " + length
+                        + " values differ, maximal deviation " + maxDeviation + " at index " + maxIndex
+                        + " - expected=" + expected + ", found=" + found));
+    }
+
+    /**
+     * Fail if the lengths are different.
+     *
+     * @param message the message
+     * @param kind the compared values, "arrays" or "buffers"
+     * @param expectedLength the expected length
+     * @param foundLength the found length
+     */
+    private static void sameLength(final String message, final String kind, final int expectedLength,
+            final int foundLength) {
+        if (expectedLength != foundLength) {
+            AssertUtil.failCompare(
+                    AssertUtil.format(message, "[Assertion failed] - " + kind + " have not the same length"),
+                    expectedLength,
+                    foundLength);
+        }
+    }
+
+    /**
+     * Check that the tolerances are not negative (or NaN).
+     *
+     * @param absoluteTolerance the absolute tolerance
+     * @param relativeTolerance the relative tolerance
+     */
+    private static void checkTolerances(final double absoluteTolerance, final double relativeTolerance) {
+        if (!(absoluteTolerance >= 0)) {
+            throw new IllegalArgumentException("absoluteTolerance must not be negative, but is " + absoluteTolerance);
+        }
+        if (!(relativeTolerance >= 0)) {
+            throw new IllegalArgumentException("relativeTolerance must not be negative, but is " + relativeTolerance);
+        }
+    }
+}
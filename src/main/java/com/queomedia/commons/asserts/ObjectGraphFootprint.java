@@ -0,0 +1,448 @@
+package com.queomedia.commons.asserts;
+
+import java.lang.ref.Reference;
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The estimated size of all objects reachable from a root object, and the size of each path.
+ *
+ * <p>
+ * The graph is walked breadth first over the instance fields and array elements, each object is counted once
+ * (by identity, so cycles and shared objects are no problem). The size of each object is estimated from the
+ * {@link ObjectLayout layout} of the running JVM: the header, the sizes of the declared instance fields of
+ * the class and its super classes, and the alignment. Field packing gaps are not modeled.
+ * </p>
+ *
+ * <p>
+ * Objects that are shared with the whole JVM (classes, class loaders, threads, enum constants) are not counted,
+ * the referents of weak, soft and phantom references are not followed.
+ * Objects whose fields can not be made accessible (the internals of JDK classes, since Java 16) are counted
+ * shallow: strings with an estimate of their content, collections and maps with their elements (but without
+ * their internal nodes and tables). The number of these objects is reported, because the estimate is lower
+ * for them.
+ * </p>
+ *
+ * <p>
+ * Each object is attributed to the path it was first reached by. The size of a path is the size of all objects
+ * that were first reached through it, so the sizes of the paths below an object add up to its size.
+ * </p>
+ */
+final class ObjectGraphFootprint {
+
+    /** A path element that is an instance field. */
+    private static final byte FIELD = 0;
+
+    /** A path element that is an array index or the iteration index of a collection element. */
+    private static final byte INDEX = 1;
+
+    /** A path element that is a key of a map. */
+    private static final byte KEY = 2;
+
+    /** A path element that is the value of a map key. */
+    private static final byte VALUE = 3;
+
+    /** A single child with at least this share of a path makes the child the better path to report. */
+    private static final double DOMINANT_CHILD_SHARE = 0.9;
+
+    /** The maximal length of a map key in a path. */
+    private static final int MAX_KEY_LENGTH = 30;
+
+    /** The layout of the instances of each class. */
+    private static final ClassValue<ClassLayout> CLASS_LAYOUTS = new ClassValue<ClassLayout>() {
+
+        @Override
+        protected ClassLayout computeValue(final Class<?> type) {
+            return new ClassLayout(type, ObjectLayout.CURRENT);
+        }
+    };
+
+    /** The layout used for the estimate. */
+    private final ObjectLayout layout;
+
+    /** The objects that are already counted. */
+    private final Set<Object> visited = Collections.newSetFromMap(new IdentityHashMap<Object, Boolean>());
+
+    /** The objects by number (in the order they were reached), cleared after they were walked. */
+    private Object[] objects = new Object[64];
+
+    /** The number of the object each object was first reached from, {@code -1} for the root. */
+    private int[] parents = new int[64];
+
+    /** The size of each object, later the size of its path. */
+    private long[] sizes = new long[64];
+
+    /** The kind of the path element of each object. */
+    private byte[] kinds = new byte[64];
+
+    /** The field or map key of the path element of each object. */
+    private Object[] labels = new Object[64];
+
+    /** The index of the path element of each object. */
+    private int[] indexes = new int[64];
+
+    /** The number of reached objects. */
+    private int count;
+
+    /** The number of objects that were counted without their inaccessible internals. */
+    private int shallowCount;
+
+    /** The size of the largest child path of each object. */
+    private long[] largestChild;
+
+    /**
+     * Instantiates a new footprint.
+     *
+     * @param layout the layout
+     */
+    private ObjectGraphFootprint(final ObjectLayout layout) {
+        this.layout = layout;
+    }
+
+    /**
+     * Estimate the size of the objects reachable from the root.
+     *
+     * @param root the root object, not {@code null}
+     * @return the footprint
+     */
+    static ObjectGraphFootprint measure(final Object root) {
+        ObjectGraphFootprint footprint = new ObjectGraphFootprint(ObjectLayout.CURRENT);
+        footprint.reach(root, -1, FIELD, null, 0);
+        for (int next = 0; next < footprint.count; next++) {
+            Object object = footprint.objects[next];
+            footprint.objects[next] = null;
+            footprint.walk(object, next);
+        }
+        footprint.sumPaths();
+        return footprint;
+    }
+
+    /**
+     * Get the estimated size of all objects.
+     *
+     * @return the size in bytes
+     */
+    long getTotalBytes() {
+        return this.count == 0 ? 0 : this.sizes[0];
+    }
+
+    /**
+     * Get the number of counted objects.
+     *
+     * @return the number of objects
+     */
+    int getObjectCount() {
+        return this.count;
+    }
+
+    /**
+     * Get the number of objects that were counted without their inaccessible internals.
+     *
+     * @return the number of objects
+     */
+    int getShallowCount() {
+        return this.shallowCount;
+    }
+
+    /**
+     * Get the layout used for the estimate.
+     *
+     * @return the layout
+     */
+    ObjectLayout getLayout() {
+        return this.layout;
+    }
+
+    /**
+     * Describe the largest paths below the root. A path is skipped in favor of its child, if this single child
+     * accounts for nearly all of its size.
+     *
+     * @param maxPaths the maximal number of described paths
+     * @return for example {@code root.cache.table = 4016 bytes (97%), ...}
+     */
+    String describeLargestPaths(final int maxPaths) {
+        long total = getTotalBytes();
+        boolean[] reported = new boolean[this.count];
+        StringBuilder description = new StringBuilder();
+        for (int path = 0; path < maxPaths; path++) {
+            int largest = -1;
+            for (int id = 1; id < this.count; id++) {
+                if (!reported[id] && this.largestChild[id] < this.sizes[id] * DOMINANT_CHILD_SHARE
+                        && (largest < 0 || this.sizes[id] > this.sizes[largest])) {
+                    largest = id;
+                }
+            }
+            if (largest < 0) {
+                break;
+            }
+            reported[largest] = true;
+            if (description.length() > 0) {
+                description.append(", ");
+            }
+            description.append(path(largest)).append(" = ").append(this.sizes[largest]).append(" bytes (")
+                    .append(Math.round(100.0 * this.sizes[largest] / total)).append("%)");
+        }
+        return description.toString();
+    }
+
+    /**
+     * Build the path of an object.
+     *
+     * @param id the number of the object
+     * @return for example {@code root.entries[3].value}
+     */
+    String path(final int id) {
+        List<String> elements = new ArrayList<String>();
+        for (int current = id; current > 0; current = this.parents[current]) {
+            elements.add(pathElement(current));
+        }
+        StringBuilder path = new StringBuilder("root");
+        for (int i = elements.size() - 1; i >= 0; i--) {
+            path.append(elements.get(i));
+        }
+        return path.toString();
+    }
+
+    /**
+     * Build the path element of an object.
+     *
+     * @param id the number of the object
+     * @return the path element
+     */
+    private String pathElement(final int id) {
+        switch (this.kinds[id]) {
+        case FIELD:
+            return "." + ((Field) this.labels[id]).getName();
+        case INDEX:
+            return "[" + this.indexes[id] + "]";
+        case KEY:
+            return ".<key " + abbreviate(this.labels[id]) + ">";
+        default:
+            return "[" + abbreviate(this.labels[id]) + "]";
+        }
+    }
+
+    /**
+     * Count the object, if it was not reached before and belongs to the graph.
+     *
+     * @param object the object
+     * @param parent the number of the object it is reached from
+     * @param kind the kind of the path element
+     * @param label the field or map key of the path element
+     * @param index the index of the path element
+     */
+    private void reach(final Object object, final int parent, final byte kind, final Object label,
+            final int index) {
+        if (object == null || isShared(object) || !this.visited.add(object)) {
+            return;
+        }
+        if (this.count == this.parents.length) {
+            int capacity = this.count * 2;
+            this.objects = Arrays.copyOf(this.objects, capacity);
+            this.parents = Arrays.copyOf(this.parents, capacity);
+            this.sizes = Arrays.copyOf(this.sizes, capacity);
+            this.kinds = Arrays.copyOf(this.kinds, capacity);
+            this.labels = Arrays.copyOf(this.labels, capacity);
+            this.indexes = Arrays.copyOf(this.indexes, capacity);
+        }
+        int id = this.count++;
+        this.objects[id] = object;
+        this.parents[id] = parent;
+        this.kinds[id] = kind;
+        this.labels[id] = label;
+        this.indexes[id] = index;
+    }
+
+    /**
+     * Determine the size of the object and reach the objects it references.
+     *
+     * @param object the object
+     * @param id the number of the object
+     */
+    private void walk(final Object object, final int id) {
+        Class<?> type = object.getClass();
+        if (type.isArray()) {
+            Class<?> componentType = type.getComponentType();
+            int length = Array.getLength(object);
+            this.sizes[id] = this.layout.arraySize(this.layout.sizeOf(componentType), length);
+            if (!componentType.isPrimitive()) {
+                Object[] elements = (Object[]) object;
+                for (int i = 0; i < length; i++) {
+                    reach(elements[i], id, INDEX, null, i);
+                }
+            }
+            return;
+        }
+
+        ClassLayout classLayout = CLASS_LAYOUTS.get(type);
+        this.sizes[id] = classLayout.shallowSize;
+        for (Field field : classLayout.references) {
+            reach(read(field, object), id, FIELD, field, 0);
+        }
+        if (classLayout.accessible) {
+            return;
+        }
+
+        this.shallowCount++;
+        if (object instanceof String) {
+            this.sizes[id] += contentSize((String) object);
+        } else if (object instanceof Map) {
+            int i = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) object).entrySet()) {
+                reach(entry.getKey(), id, KEY, entry.getKey(), i);
+                reach(entry.getValue(), id, VALUE, entry.getKey(), i);
+                i++;
+            }
+        } else if (object instanceof Collection) {
+            int i = 0;
+            for (Object element : (Collection<?>) object) {
+                reach(element, id, INDEX, null, i++);
+            }
+        }
+    }
+
+    /**
+     * Sum the sizes of the objects to the sizes of their paths.
+     * Each object has a higher number than the object it was reached from, so a single backward pass is enough.
+     */
+    private void sumPaths() {
+        this.largestChild = new long[this.count];
+        for (int id = this.count - 1; id > 0; id--) {
+            int parent = this.parents[id];
+            this.sizes[parent] += this.sizes[id];
+            this.largestChild[parent] = Math.max(this.largestChild[parent], this.sizes[id]);
+        }
+    }
+
+    /**
+     * Estimate the size of the character array of a string, whose fields are inaccessible.
+     * This only happens on Java 9 and later, where strings are stored as bytes (one byte per character,
+     * if all characters are Latin-1).
+     *
+     * @param string the string
+     * @return the size in bytes
+     */
+    private long contentSize(final String string) {
+        int length = string.length();
+        for (int i = 0; i < length; i++) {
+            if (string.charAt(i) > 0xFF) {
+                return this.layout.arraySize(1, length * 2);
+            }
+        }
+        return this.layout.arraySize(1, length);
+    }
+
+    /**
+     * Check if the object is shared with the whole JVM, so it is not retained by the graph.
+     *
+     * @param object the object
+     * @return true, if shared
+     */
+    private static boolean isShared(final Object object) {
+        return object instanceof Class
+                || object instanceof ClassLoader
+                || object instanceof Thread
+                || object instanceof ThreadGroup
+                || object instanceof Enum;
+    }
+
+    /**
+     * Read an accessible field.
+     *
+     * @param field the field
+     * @param object the object
+     * @return the value
+     */
+    private static Object read(final Field field, final Object object) {
+        try {
+            return field.get(object);
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException("field " + field + " was made accessible, but can not be read", e);
+        }
+    }
+
+    /**
+     * Describe a map key for a path, without failing.
+     *
+     * @param key the key
+     * @return the (abbreviated) string of the key
+     */
+    private static String abbreviate(final Object key) {
+        String text;
+        try {
+            text = String.valueOf(key);
+        } catch (RuntimeException e) {
+            text = key.getClass().getSimpleName();
+        }
+        return text.length() <= MAX_KEY_LENGTH ? text : text.substring(0, MAX_KEY_LENGTH - 3) + "...";
+    }
+
+    /**
+     * Describe the footprint.
+     *
+     * @return the description
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d bytes in %d objects (%s)", getTotalBytes(), this.count, this.layout);
+    }
+
+    /**
+     * The size and the reference fields of the instances of a class.
+     */
+    private static final class ClassLayout {
+
+        /** The size of an instance. */
+        private final long shallowSize;
+
+        /** The accessible instance fields (of the class and its super classes) that contain references. */
+        private final Field[] references;
+
+        /** True if all reference fields are accessible. */
+        private final boolean accessible;
+
+        /**
+         * Determine the layout of the instances of a class.
+         *
+         * @param type the class, not an array class
+         * @param layout the layout of the JVM
+         */
+        private ClassLayout(final Class<?> type, final ObjectLayout layout) {
+            long fieldsSize = 0;
+            List<Field> referenceFields = new ArrayList<Field>();
+            boolean allAccessible = true;
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                for (Field field : current.getDeclaredFields()) {
+                    if (Modifier.isStatic(field.getModifiers())) {
+                        continue;
+                    }
+                    fieldsSize += layout.sizeOf(field.getType());
+                    /* the referents of weak, soft and phantom references are not retained */
+                    if (field.getType().isPrimitive() || current == Reference.class) {
+                        continue;
+                    }
+                    try {
+                        field.setAccessible(true);
+                        referenceFields.add(field);
+                    } catch (RuntimeException e) {
+                        /* InaccessibleObjectException (Java 9+) or SecurityException */
+                        allAccessible = false;
+                    }
+                }
+            }
+            this.shallowSize = layout.instanceSize(fieldsSize);
+            this.references = referenceFields.toArray(new Field[referenceFields.size()]);
+            this.accessible = allAccessible;
+        }
+    }
+}
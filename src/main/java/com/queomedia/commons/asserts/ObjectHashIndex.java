@@ -0,0 +1,134 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * Open addressing hash table from object keys (compared by {@link Object#equals(Object)})
+ * to the position where the key appears first.
+ *
+ * <p>
+ * The table is sized up front for the expected number of keys, and doubles only when it gets more than half
+ * full (for example when the collection grows while it is checked, or its size was not known).
+ * It uses linear probing and needs no entry objects.
+ * The {@code null} key is stored in a separate field.
+ * </p>
+ */
+final class ObjectHashIndex {
+
+    /** Marker for "key not yet contained". */
+    static final int ABSENT = LongHashIndex.ABSENT;
+
+    /** Maximal table capacity. */
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    /** The keys, {@code null} marks a free slot. */
+    private Object[] keys;
+
+    /** The cached hash code of each key. */
+    private int[] hashes;
+
+    /** The position of each key. */
+    private int[] positions;
+
+    /** The mask to map a hash to a slot. */
+    private int mask;
+
+    /** The position of key {@code null} or {@link #ABSENT}. */
+    private int nullKeyPosition = ABSENT;
+
+    /** The number of keys in the table (without key {@code null}). */
+    private int size;
+
+    /**
+     * Instantiates a new index for the expected number of keys.
+     *
+     * @param expectedKeys the expected number of keys
+     */
+    ObjectHashIndex(final int expectedKeys) {
+        allocate(LongHashIndex.tableSize(expectedKeys));
+    }
+
+    /**
+     * Add the key with its position, if the key is not already contained.
+     *
+     * @param key the key - can be {@code null}
+     * @param position the position of the key
+     * @return the position of the already contained key or {@link #ABSENT} if the key is new
+     */
+    int putIfAbsent(final Object key, final int position) {
+        if (key == null) {
+            int existing = this.nullKeyPosition;
+            if (existing == ABSENT) {
+                this.nullKeyPosition = position;
+            }
+            return existing;
+        }
+
+        int hash = key.hashCode();
+        int slot = find(key, hash);
+        if (this.keys[slot] != null) {
+            return this.positions[slot];
+        }
+        if ((this.size + 1) * 2L > this.keys.length) {
+            resize();
+            slot = find(key, hash);
+        }
+        this.size++;
+        this.keys[slot] = key;
+        this.hashes[slot] = hash;
+        this.positions[slot] = position;
+        return ABSENT;
+    }
+
+    /**
+     * Find the slot of the key, or the free slot where it belongs to.
+     *
+     * @param key the key, not {@code null}
+     * @param hash the hash code of the key
+     * @return the slot
+     */
+    private int find(final Object key, final int hash) {
+        int slot = (int) LongHashIndex.mix(hash) & this.mask;
+        while (true) {
+            Object slotKey = this.keys[slot];
+            if (slotKey == null
+                    || (this.hashes[slot] == hash && (slotKey == key || slotKey.equals(key)))) {
+                return slot;
+            }
+            slot = (slot + 1) & this.mask;
+        }
+    }
+
+    /**
+     * Double the table capacity.
+     */
+    private void resize() {
+        if (this.keys.length >= MAX_CAPACITY) {
+            throw new IllegalStateException("index is full, capacity=" + this.keys.length);
+        }
+        Object[] oldKeys = this.keys;
+        int[] oldHashes = this.hashes;
+        int[] oldPositions = this.positions;
+
+        allocate(oldKeys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            Object key = oldKeys[i];
+            if (key != null) {
+                int slot = find(key, oldHashes[i]);
+                this.keys[slot] = key;
+                this.hashes[slot] = oldHashes[i];
+                this.positions[slot] = oldPositions[i];
+            }
+        }
+    }
+
+    /**
+     * Allocate empty arrays of the given capacity.
+     *
+     * @param capacity the capacity, a power of two
+     */
+    private void allocate(final int capacity) {
+        this.keys = new Object[capacity];
+        this.hashes = new int[capacity];
+        this.positions = new int[capacity];
+        this.mask = capacity - 1;
+    }
+}
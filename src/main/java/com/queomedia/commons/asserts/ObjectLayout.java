@@ -0,0 +1,171 @@
+package com.queomedia.commons.asserts;
+
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+
+/**
+ * The object layout of the running JVM (HotSpot): header size, reference size and alignment.
+ *
+ * <p>
+ * The settings are read from the HotSpot diagnostic bean ({@code com.sun.management.HotSpotDiagnosticMXBean}),
+ * that is only used after its presence was checked by name. Without it, the defaults of a 64 bit HotSpot JVM
+ * are assumed: compressed references for heaps below 32 GB, 8 byte alignment.
+ * </p>
+ */
+final class ObjectLayout {
+
+    /** The layout of the running JVM. */
+    static final ObjectLayout CURRENT = detect();
+
+    /** The largest heap that can use compressed references (with 8 byte alignment). */
+    private static final long MAX_COMPRESSED_HEAP = 32L * 1024 * 1024 * 1024;
+
+    /** The size of an object header. */
+    private final int headerSize;
+
+    /** The size of a reference. */
+    private final int referenceSize;
+
+    /** The alignment of objects. */
+    private final int alignment;
+
+    /** True if compressed references are used. */
+    private final boolean compressedReferences;
+
+    /**
+     * Instantiates a new layout.
+     *
+     * @param headerSize the size of an object header
+     * @param referenceSize the size of a reference
+     * @param alignment the alignment of objects
+     * @param compressedReferences true if compressed references are used
+     */
+    ObjectLayout(final int headerSize, final int referenceSize, final int alignment,
+            final boolean compressedReferences) {
+        this.headerSize = headerSize;
+        this.referenceSize = referenceSize;
+        this.alignment = alignment;
+        this.compressedReferences = compressedReferences;
+    }
+
+    /**
+     * Calculate the size of an instance with the given size of its fields.
+     *
+     * @param fieldsSize the sum of the sizes of all instance fields
+     * @return the aligned size
+     */
+    long instanceSize(final long fieldsSize) {
+        return align(this.headerSize + fieldsSize);
+    }
+
+    /**
+     * Calculate the size of an array.
+     *
+     * @param elementSize the size of an element
+     * @param length the length
+     * @return the aligned size
+     */
+    long arraySize(final int elementSize, final int length) {
+        /* the length follows the header, the elements start at their natural alignment (at most 8) */
+        long base = this.headerSize + 4;
+        int elementAlignment = Math.min(elementSize, 8);
+        base = (base + elementAlignment - 1) / elementAlignment * elementAlignment;
+        return align(base + (long) elementSize * length);
+    }
+
+    /**
+     * Get the size of a field or array element of the type.
+     *
+     * @param type the type
+     * @return the size in bytes
+     */
+    int sizeOf(final Class<?> type) {
+        if (!type.isPrimitive()) {
+            return this.referenceSize;
+        }
+        if (type == long.class || type == double.class) {
+            return 8;
+        }
+        if (type == int.class || type == float.class) {
+            return 4;
+        }
+        if (type == short.class || type == char.class) {
+            return 2;
+        }
+        return 1;
+    }
+
+    /**
+     * Describe the layout.
+     *
+     * @return for example {@code 12 byte headers, 4 byte (compressed) references, 8 byte alignment}
+     */
+    @Override
+    public String toString() {
+        return String.format(Locale.ROOT, "%d byte headers, %d byte %sreferences, %d byte alignment",
+                this.headerSize,
+                this.referenceSize,
+                this.compressedReferences ? "(compressed) " : "",
+                this.alignment);
+    }
+
+    /**
+     * Round the size up to the alignment.
+     *
+     * @param size the size
+     * @return the aligned size
+     */
+    private long align(final long size) {
+        return (size + this.alignment - 1) / this.alignment * this.alignment;
+    }
+
+    /**
+     * Detect the layout of the running JVM.
+     *
+     * @return the layout
+     */
+    private static ObjectLayout detect() {
+        if ("32".equals(System.getProperty("sun.arch.data.model"))) {
+            return new ObjectLayout(8, 4, 8, false);
+        }
+        boolean compressedReferences = Runtime.getRuntime().maxMemory() < MAX_COMPRESSED_HEAP;
+        boolean compressedClassPointers = compressedReferences;
+        boolean compactHeaders = false;
+        int alignment = 8;
+        try {
+            Class.forName("com.sun.management.HotSpotDiagnosticMXBean", false, ObjectLayout.class.getClassLoader());
+            com.sun.management.HotSpotDiagnosticMXBean diagnostic = ManagementFactory
+                    .getPlatformMXBean(com.sun.management.HotSpotDiagnosticMXBean.class);
+            if (diagnostic != null) {
+                compressedReferences = booleanOption(diagnostic, "UseCompressedOops", compressedReferences);
+                compressedClassPointers = booleanOption(diagnostic,
+                        "UseCompressedClassPointers",
+                        compressedReferences);
+                compactHeaders = booleanOption(diagnostic, "UseCompactObjectHeaders", false);
+                alignment = Integer.parseInt(diagnostic.getVMOption("ObjectAlignmentInBytes").getValue());
+            }
+        } catch (ClassNotFoundException | LinkageError | RuntimeException e) {
+            /* keep the defaults */
+        }
+        /* mark word (8 bytes) and class pointer, compact headers contain the class pointer in the mark word */
+        int headerSize = compactHeaders ? 8 : compressedClassPointers ? 12 : 16;
+        return new ObjectLayout(headerSize, compressedReferences ? 4 : 8, alignment, compressedReferences);
+    }
+
+    /**
+     * Read a boolean VM option.
+     *
+     * @param diagnostic the diagnostic bean
+     * @param name the name of the option
+     * @param defaultValue the value if the option does not exist in this JVM
+     * @return the value
+     */
+    private static boolean booleanOption(final com.sun.management.HotSpotDiagnosticMXBean diagnostic,
+            final String name, final boolean defaultValue) {
+        try {
+            return Boolean.parseBoolean(diagnostic.getVMOption(name).getValue());
+        } catch (IllegalArgumentException e) {
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,256 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Arrays;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntPredicate;
+import java.util.stream.IntStream;
+
+/**
+ * Search for indexes that match a predicate, in parallel chunks for large index ranges.
+ *
+ * <p>
+ * The range is split into chunks that are scanned concurrently (on the common {@link ForkJoinPool}
+ * or a given {@link Executor}), each chunk stops as soon as the search result is known.
+ * </p>
+ */
+final class ParallelScan {
+
+    /** Ranges smaller than this are scanned sequential. */
+    static final int PARALLEL_THRESHOLD = 1 << 16;
+
+    /** Marker for "no index matches". */
+    static final int NOT_FOUND = -1;
+
+    /** Number of chunks per available worker, to compensate for unequal chunk costs. */
+    private static final int CHUNKS_PER_WORKER = 4;
+
+    /** Value of the settled chunk, that stops all chunks after a failure. */
+    private static final int ABORTED = -1;
+
+    /** Initial capacity of the match buffer of a chunk, it doubles when it is full. */
+    private static final int INITIAL_MATCHES_CAPACITY = 16;
+
+    /**
+     * Util classes need no constructor.
+     */
+    private ParallelScan() {
+        super();
+    }
+
+    /**
+     * Find the smallest index in [{@code from}, {@code to}) that matches the predicate.
+     * The predicate must be thread safe, because it is invoked from several threads for large ranges.
+     *
+     * <p>
+     * Each chunk stops at its first match, and chunks that are behind an already found match stop too,
+     * so the result is always the smallest matching index.
+     * </p>
+     *
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param predicate the predicate
+     * @return the smallest matching index or {@link #NOT_FOUND}
+     */
+    static int firstMatch(final int from, final int to, final IntPredicate predicate) {
+        if (to - from < PARALLEL_THRESHOLD || ForkJoinPool.getCommonPoolParallelism() < 2) {
+            return firstMatchSequential(from, to, predicate);
+        }
+
+        final int chunks = ForkJoinPool.getCommonPoolParallelism() * CHUNKS_PER_WORKER;
+        final int chunkSize = (int) (((long) to - from + chunks - 1) / chunks);
+        final AtomicInteger firstFound = new AtomicInteger(Integer.MAX_VALUE);
+
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            long chunkStart = from + (long) chunk * chunkSize;
+            if (chunkStart >= to) {
+                return;
+            }
+            int chunkFrom = (int) chunkStart;
+            int chunkTo = (int) Math.min(chunkStart + chunkSize, to);
+            for (int i = chunkFrom; i < chunkTo; i++) {
+                /* a match in an earlier chunk makes the rest of this chunk irrelevant */
+                if (firstFound.get() < i) {
+                    return;
+                }
+                if (predicate.test(i)) {
+                    firstFound.accumulateAndGet(i, Math::min);
+                    return;
+                }
+            }
+        });
+
+        int result = firstFound.get();
+        return result == Integer.MAX_VALUE ? NOT_FOUND : result;
+    }
+
+    /**
+     * Find the first {@code maxMatches} indexes in [{@code from}, {@code to}) that match the predicate,
+     * by scanning chunks of the range as tasks of the given executor.
+     *
+     * <p>
+     * A chunk stops as soon as it and the chunks before it together found {@code maxMatches} matches
+     * (or the predicate throws an exception), and publishes this, so all later chunks stop at their next element.
+     * Chunks before it keep scanning until their matches are settled, so the result is always the smallest
+     * matching indexes.
+     * The predicate must be thread safe.
+     * </p>
+     *
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param predicate the predicate
+     * @param maxMatches the maximal number of matches to find, must be positive
+     * @param executor the executor that scans the chunks
+     * @param parallelism the number of threads of the executor, used to determine the number of chunks
+     * @return the sorted smallest matching indexes, at most {@code maxMatches}
+     */
+    static int[] matches(final int from, final int to, final IntPredicate predicate, final int maxMatches,
+            final Executor executor, final int parallelism) {
+        final int range = to - from;
+        if (range <= 0) {
+            return new int[0];
+        }
+        final int chunks = (int) Math.min((long) Math.max(1, parallelism) * CHUNKS_PER_WORKER, range);
+        final int chunkSize = (int) (((long) range + chunks - 1) / chunks);
+        final AtomicIntegerArray matchCounts = new AtomicIntegerArray(chunks);
+        final AtomicInteger settledChunk = new AtomicInteger(Integer.MAX_VALUE);
+        final int[][] chunkMatches = new int[chunks][];
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[chunks];
+        for (int chunk = 0; chunk < chunks; chunk++) {
+            final int chunkIndex = chunk;
+            final int chunkFrom = (int) Math.min(from + (long) chunk * chunkSize, to);
+            final int chunkTo = (int) Math.min((long) chunkFrom + chunkSize, to);
+            tasks[chunk] = CompletableFuture.runAsync(() -> {
+                try {
+                    chunkMatches[chunkIndex] = scan(chunkIndex,
+                            chunkFrom,
+                            chunkTo,
+                            predicate,
+                            maxMatches,
+                            matchCounts,
+                            settledChunk);
+                } catch (RuntimeException | Error e) {
+                    /* stop the other chunks */
+                    settledChunk.set(ABORTED);
+                    throw e;
+                }
+            }, executor);
+        }
+
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+
+        /* the chunks are in index order, so the first matches are the first maxMatches of the concatenation */
+        int[] result = new int[Math.min(maxMatches, totalLength(chunkMatches))];
+        int length = 0;
+        for (int chunk = 0; chunk < chunks && length < result.length; chunk++) {
+            int copied = Math.min(chunkMatches[chunk].length, result.length - length);
+            System.arraycopy(chunkMatches[chunk], 0, result, length, copied);
+            length += copied;
+        }
+        return result;
+    }
+
+    /**
+     * Scan one chunk, and stop when the chunks before it and this chunk found {@code maxMatches} matches.
+     *
+     * @param chunk the index of the chunk
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param predicate the predicate
+     * @param maxMatches the maximal number of matches to find
+     * @param matchCounts the number of matches found by each chunk, shared by all chunks
+     * @param settledChunk the earliest chunk that, with the chunks before it, found {@code maxMatches} matches,
+     *        {@link #ABORTED} if a chunk failed - shared by all chunks
+     * @return the matching indexes found in this chunk
+     */
+    private static int[] scan(final int chunk, final int from, final int to, final IntPredicate predicate,
+            final int maxMatches, final AtomicIntegerArray matchCounts, final AtomicInteger settledChunk) {
+        int[] found = new int[Math.min(maxMatches, INITIAL_MATCHES_CAPACITY)];
+        int count = 0;
+        for (int i = from; i < to; i++) {
+            /* a settled earlier chunk (or a failure) makes the rest of this chunk irrelevant */
+            if (settledChunk.get() < chunk) {
+                break;
+            }
+            /* the sum over the earlier chunks is more expensive, so it is checked only every 1024 elements */
+            if (((i - from) & 0x3ff) == 0 && countBefore(chunk, matchCounts) + count >= maxMatches) {
+                settledChunk.accumulateAndGet(chunk, Math::min);
+                break;
+            }
+            if (predicate.test(i)) {
+                if (count == found.length) {
+                    found = Arrays.copyOf(found, (int) Math.min((long) found.length * 2, maxMatches));
+                }
+                found[count++] = i;
+                matchCounts.set(chunk, count);
+                if (countBefore(chunk, matchCounts) + count >= maxMatches) {
+                    settledChunk.accumulateAndGet(chunk, Math::min);
+                    break;
+                }
+            }
+        }
+        return count == found.length ? found : Arrays.copyOf(found, count);
+    }
+
+    /**
+     * Sum the matches found so far by the chunks before the given chunk.
+     *
+     * @param chunk the index of the chunk
+     * @param matchCounts the number of matches found by each chunk
+     * @return the number of matches
+     */
+    private static long countBefore(final int chunk, final AtomicIntegerArray matchCounts) {
+        long count = 0;
+        for (int i = 0; i < chunk; i++) {
+            count += matchCounts.get(i);
+        }
+        return count;
+    }
+
+    /**
+     * Sum the lengths of the arrays.
+     *
+     * @param arrays the arrays
+     * @return the total length, at most {@link Integer#MAX_VALUE}
+     */
+    private static int totalLength(final int[][] arrays) {
+        long length = 0;
+        for (int[] array : arrays) {
+            length += array.length;
+        }
+        return (int) Math.min(length, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Find the smallest index in [{@code from}, {@code to}) that matches the predicate, in the current thread.
+     *
+     * @param from the first index (inclusive)
+     * @param to the last index (exclusive)
+     * @param predicate the predicate
+     * @return the smallest matching index or {@link #NOT_FOUND}
+     */
+    static int firstMatchSequential(final int from, final int to, final IntPredicate predicate) {
+        for (int i = from; i < to; i++) {
+            if (predicate.test(i)) {
+                return i;
+            }
+        }
+        return NOT_FOUND;
+    }
+}
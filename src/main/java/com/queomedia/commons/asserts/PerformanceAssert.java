@@ -0,0 +1,511 @@
+package com.queomedia.commons.asserts;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.function.IntFunction;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * Performance checks, that measure a task (latency percentiles, allocated bytes, concurrent throughput, growth
+ * with the input size) and fail like the functional checks.
+ *
+ * <p>
+ * The measurements are taken in the running test JVM, so the task is warmed up first (to let the JIT compile
+ * it), and the limits should have enough headroom for a loaded build machine.
+ * These checks are no replacement for a benchmark harness like JMH, they guard against regressions
+ * by orders of magnitude.
+ * </p>
+ *
+ * <pre>
+ * PerformanceAssert.latencyPercentiles("lookup", () -&gt; cache.get(key), 10_000, 100_000,
+ *         Duration.ofNanos(500), Duration.ofMicros(5), Duration.ofMicros(50));
+ * </pre>
+ */
+public abstract class PerformanceAssert {
+
+    /** The default number of runs before the measurement. */
+    private static final int DEFAULT_WARMUP_ITERATIONS = 10_000;
+
+    /** The default number of measured runs. */
+    private static final int DEFAULT_MEASURED_ITERATIONS = 1_000;
+
+    /** The number of rounds of the allocation measurement, the smallest round counts. */
+    private static final int ALLOCATION_ROUNDS = 3;
+
+    /** The default number of measurements of each size of a complexity check. */
+    private static final int DEFAULT_REPETITIONS = 5;
+
+    /** The default accepted growth exponent relative to the bound of a complexity check. */
+    private static final double DEFAULT_TOLERANCE = 0.25;
+
+    /** The minimal duration of one measurement of a complexity check. */
+    private static final long MIN_SAMPLE_NANOS = 1_000_000;
+
+    /** Keeps the results of the measured callables, so the JIT can not remove their computation. */
+    private static Object blackhole;
+
+    /**
+     * Util classes need no constructor.
+     */
+    private PerformanceAssert() {
+        super();
+    }
+
+    /**
+     * Assert that the latency percentiles of the task are within the limits.
+     *
+     * <p>
+     * The task is run {@code warmupIterations} times without measurement, then {@code measuredIterations} times,
+     * each run is measured and recorded in a {@link LatencyHistogram} (with a relative error of at most 3%).
+     * If a percentile exceeds its limit, the check fails with the complete percentile breakdown.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param task the measured task
+     * @param warmupIterations the number of runs before the measurement, not negative
+     * @param measuredIterations the number of measured runs, positive
+     * @param maxP50 the limit of the median, {@code null} if not checked
+     * @param maxP99 the limit of the 99th percentile, {@code null} if not checked
+     * @param maxP999 the limit of the 99.9th percentile, {@code null} if not checked
+     */
+    public static void latencyPercentiles(final String message, final Runnable task, final int warmupIterations,
+            final int measuredIterations, final Duration maxP50, final Duration maxP99, final Duration maxP999) {
+        Check.notNullArgument(task, "task");
+
+        latencyPercentiles(message, () -> {
+            task.run();
+            return null;
+        }, warmupIterations, measuredIterations, maxP50, maxP99, maxP999);
+    }
+
+    /**
+     * Assert that the latency percentiles of the task are within the limits.
+     * The results of the task are consumed, so the JIT can not remove the computation.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param task the measured task, exceptions are rethrown (checked exceptions wrapped
+     *        in an {@link IllegalStateException})
+     * @param warmupIterations the number of runs before the measurement, not negative
+     * @param measuredIterations the number of measured runs, positive
+     * @param maxP50 the limit of the median, {@code null} if not checked
+     * @param maxP99 the limit of the 99th percentile, {@code null} if not checked
+     * @param maxP999 the limit of the 99.9th percentile, {@code null} if not checked
+     * @param <V> the type of the results
+     * @see #latencyPercentiles(String, Runnable, int, int, Duration, Duration, Duration)
+     */
+    public static <V> void latencyPercentiles(final String message, final Callable<V> task,
+            final int warmupIterations, final int measuredIterations, final Duration maxP50, final Duration maxP99,
+            final Duration maxP999) {
+        Check.notNullArgument(task, "task");
+        checkIterations(warmupIterations, measuredIterations);
+        if (maxP50 == null && maxP99 == null && maxP999 == null) {
+            throw new IllegalArgumentException("at least one percentile limit is required");
+        }
+
+        for (int i = 0; i < warmupIterations; i++) {
+            blackhole = call(task);
+        }
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < measuredIterations; i++) {
+            long start = System.nanoTime();
+            Object result = call(task);
+            histogram.record(Math.max(0, System.nanoTime() - start));
+            blackhole = result;
+        }
+
+        checkPercentiles(message, histogram, maxP50, maxP99, maxP999);
+    }
+
+    /**
+     * Assert that the latency percentiles of the task are within the limits, the median and the 99th
+     * percentile are checked.
+     *
+     * @param task the measured task
+     * @param warmupIterations the number of runs before the measurement, not negative
+     * @param measuredIterations the number of measured runs, positive
+     * @param maxP50 the limit of the median
+     * @param maxP99 the limit of the 99th percentile
+     * @see #latencyPercentiles(String, Runnable, int, int, Duration, Duration, Duration)
+     */
+    public static void latencyPercentiles(final Runnable task, final int warmupIterations,
+            final int measuredIterations, final Duration maxP50, final Duration maxP99) {
+        latencyPercentiles(null, task, warmupIterations, measuredIterations, maxP50, maxP99, null);
+    }
+
+    /**
+     * Assert that the task allocates at most {@code maxBytesPerInvocation} bytes per invocation on the current
+     * thread.
+     *
+     * <p>
+     * The task is run {@code warmupIterations} times (so the JIT can compile it and eliminate allocations of
+     * objects that do not escape), then {@code measuredIterations} times in each of some rounds. The allocated
+     * bytes of the thread are read before and after each round, the overhead of the measurement itself is
+     * subtracted (calibrated up front), and the smallest round counts (to ignore one time allocations, for
+     * example of a lazy initialization or of a compilation that happens during the round).
+     * Allocations of other threads started by the task are not counted.
+     * </p>
+     *
+     * <p>
+     * The measurement needs the HotSpot extension {@code com.sun.management.ThreadMXBean}. On JVMs without it
+     * the check throws a {@link org.opentest4j.TestAbortedException}, so the test is reported as aborted.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param task the measured task
+     * @param warmupIterations the number of runs before the measurement, not negative
+     * @param measuredIterations the number of measured runs per round, positive
+     * @param maxBytesPerInvocation the budget, not negative
+     */
+    public static void allocationWithin(final String message, final Runnable task, final int warmupIterations,
+            final int measuredIterations, final long maxBytesPerInvocation) {
+        Check.notNullArgument(task, "task");
+        checkIterations(warmupIterations, measuredIterations);
+        if (maxBytesPerInvocation < 0) {
+            throw new IllegalArgumentException(
+                    "maxBytesPerInvocation must not be negative, but is " + maxBytesPerInvocation);
+        }
+
+        AllocationMeter meter = AllocationMeter.forCurrentThread();
+        for (int i = 0; i < warmupIterations; i++) {
+            task.run();
+        }
+        long smallest = Long.MAX_VALUE;
+        for (int round = 0; round < ALLOCATION_ROUNDS; round++) {
+            long before = meter.allocatedBytes();
+            for (int i = 0; i < measuredIterations; i++) {
+                task.run();
+            }
+            long after = meter.allocatedBytes();
+            smallest = Math.min(smallest, Math.max(0, after - before - meter.getOverhead()));
+        }
+
+        double bytesPerInvocation = (double) smallest / measuredIterations;
+        if (bytesPerInvocation > maxBytesPerInvocation) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - allocation exceeds the budget - " + smallest + " bytes in "
+                            + measuredIterations + " invocations (smallest of " + ALLOCATION_ROUNDS
+                            + " rounds, measurement overhead of " + meter.getOverhead() + " bytes subtracted)"),
+                    maxBytesPerInvocation + " bytes per invocation",
+                    String.format(Locale.ROOT, "%.1f bytes per invocation", bytesPerInvocation));
+        }
+    }
+
+    /**
+     * Assert that the task allocates at most {@code maxBytesPerInvocation} bytes per invocation, with
+     * 10000 warmup and 1000 measured iterations.
+     *
+     * @param task the measured task
+     * @param maxBytesPerInvocation the budget, not negative
+     * @see #allocationWithin(String, Runnable, int, int, long)
+     */
+    public static void allocationWithin(final Runnable task, final long maxBytesPerInvocation) {
+        allocationWithin(null, task, DEFAULT_WARMUP_ITERATIONS, DEFAULT_MEASURED_ITERATIONS, maxBytesPerInvocation);
+    }
+
+    /**
+     * Assert that {@code workers} concurrent workers, that run the task in a loop for the given duration, achieve
+     * at least {@code minOperationsPerSecond} operations per second together.
+     *
+     * <p>
+     * All workers are started at the same time (after all threads are ready), each counts its operations in its
+     * own padded counter. The failure description reports the operations of each worker and their skew
+     * (the ratio of the most to the least operations), a high skew indicates unfair locking or starvation.
+     * Exceptions of the task stop all workers and are rethrown.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param task the task, must be thread safe
+     * @param workers the number of workers, positive
+     * @param threads the kind of the worker threads
+     * @param duration the duration of the run
+     * @param minOperationsPerSecond the minimal throughput of all workers together
+     */
+    public static void throughputAtLeast(final String message, final Runnable task, final int workers,
+            final WorkerThreads threads, final Duration duration, final double minOperationsPerSecond) {
+        Check.notNullArgument(duration, "duration");
+        if (duration.isNegative() || duration.isZero()) {
+            throw new IllegalArgumentException("duration must be positive, but is " + duration);
+        }
+
+        throughputAtLeast(message, task, workers, threads, duration.toNanos(), -1, minOperationsPerSecond);
+    }
+
+    /**
+     * Assert that {@code workers} concurrent workers, that run the task {@code operations} times together
+     * (each worker an equal share), achieve at least {@code minOperationsPerSecond} operations per second.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param task the task, must be thread safe
+     * @param workers the number of workers, positive
+     * @param threads the kind of the worker threads
+     * @param operations the number of operations of all workers together, positive
+     * @param minOperationsPerSecond the minimal throughput of all workers together
+     * @see #throughputAtLeast(String, Runnable, int, WorkerThreads, Duration, double)
+     */
+    public static void throughputAtLeast(final String message, final Runnable task, final int workers,
+            final WorkerThreads threads, final long operations, final double minOperationsPerSecond) {
+        if (operations <= 0) {
+            throw new IllegalArgumentException("operations must be positive, but is " + operations);
+        }
+
+        throughputAtLeast(message, task, workers, threads, 0, operations, minOperationsPerSecond);
+    }
+
+    /**
+     * Run the throughput check.
+     *
+     * @param message the message
+     * @param task the task
+     * @param workers the number of workers
+     * @param threads the kind of the worker threads
+     * @param durationNanos the duration, if operations is negative
+     * @param operations the number of operations, negative to run for the duration
+     * @param minOperationsPerSecond the minimal throughput
+     */
+    private static void throughputAtLeast(final String message, final Runnable task, final int workers,
+            final WorkerThreads threads, final long durationNanos, final long operations,
+            final double minOperationsPerSecond) {
+        Check.notNullArgument(task, "task");
+        Check.notNullArgument(threads, "threads");
+        if (workers <= 0) {
+            throw new IllegalArgumentException("workers must be positive, but is " + workers);
+        }
+        if (!(minOperationsPerSecond >= 0)) {
+            throw new IllegalArgumentException(
+                    "minOperationsPerSecond must not be negative, but is " + minOperationsPerSecond);
+        }
+
+        ThroughputRun run = new ThroughputRun(task, workers, threads);
+        run.run(durationNanos, operations);
+
+        double operationsPerSecond = run.getOperationsPerSecond();
+        if (operationsPerSecond < minOperationsPerSecond) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - throughput below the minimum - " + run.describe()),
+                    String.format(Locale.ROOT, ">= %.1f operations per second", minOperationsPerSecond),
+                    String.format(Locale.ROOT, "%.1f operations per second", operationsPerSecond));
+        }
+    }
+
+    /**
+     * Assert that the time of the workload grows at most like the bound, when the input size grows.
+     *
+     * <p>
+     * The workload is measured for the sizes {@code minSize, 2 * minSize, 4 * minSize, ...} up to
+     * {@code maxSize}. For each size, {@code workload} creates the measured task (so the creation of the input
+     * is not measured), that must be repeatable. Short tasks are run in batches of at least one millisecond,
+     * each size is measured {@code repetitions} times (interleaved with the other sizes, so a slow phase of the
+     * machine affects all sizes) and outliers are rejected.
+     * </p>
+     *
+     * <p>
+     * The times are divided by the growth function of the bound, and the growth exponent of this ratio is
+     * fitted by a least squares regression in log-log space. The check fails if the exponent is larger than
+     * {@code tolerance}: for example a quadratic workload checked against {@link ComplexityBound#N_LOG_N} has
+     * an exponent of about 1. The failure reports the fitted curve {@code t(n) = c * n^k} and the measured
+     * times.
+     * </p>
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param workload creates the measured task for an input size
+     * @param minSize the smallest input size, at least 2
+     * @param maxSize the largest input size, at least {@code 4 * minSize} (so at least 3 sizes are measured)
+     * @param repetitions the number of measurements of each size, at least 3
+     * @param bound the declared bound
+     * @param tolerance the accepted growth exponent of the time relative to the bound, for cache effects and
+     *        measurement noise, for example {@code 0.25}
+     */
+    public static void complexityAtMost(final String message, final IntFunction<? extends Runnable> workload,
+            final int minSize, final int maxSize, final int repetitions, final ComplexityBound bound,
+            final double tolerance) {
+        Check.notNullArgument(workload, "workload");
+        Check.notNullArgument(bound, "bound");
+        if (minSize < 2) {
+            throw new IllegalArgumentException("minSize must be at least 2, but is " + minSize);
+        }
+        if (maxSize / 4 < minSize) {
+            throw new IllegalArgumentException(
+                    "maxSize must be at least 4 * minSize, but is " + maxSize + " (minSize=" + minSize + ")");
+        }
+        if (repetitions < 3) {
+            throw new IllegalArgumentException("repetitions must be at least 3, but is " + repetitions);
+        }
+        if (!(tolerance >= 0)) {
+            throw new IllegalArgumentException("tolerance must not be negative, but is " + tolerance);
+        }
+
+        int count = 1;
+        while ((long) minSize << count <= maxSize) {
+            count++;
+        }
+        int[] sizes = new int[count];
+        Runnable[] tasks = new Runnable[count];
+        long[] batches = new long[count];
+        for (int i = 0; i < count; i++) {
+            sizes[i] = minSize << i;
+            tasks[i] = workload.apply(sizes[i]);
+            Check.notNullArgument(tasks[i], "task of size " + sizes[i]);
+            /* the calibration runs each task at least once, this warms up the smaller sizes too */
+            batches[i] = batchSize(tasks[i]);
+        }
+
+        double[][] samples = new double[count][repetitions];
+        for (int repetition = 0; repetition < repetitions; repetition++) {
+            for (int i = 0; i < count; i++) {
+                samples[i][repetition] = (double) timeBatch(tasks[i], batches[i]) / batches[i];
+            }
+        }
+        ComplexityFit fit = new ComplexityFit(sizes);
+        for (int i = 0; i < count; i++) {
+            fit.setSamples(i, samples[i]);
+        }
+
+        double exponent = fit.exponentRelativeTo(bound);
+        if (exponent > tolerance) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - complexity exceeds the bound " + bound + " - " + fit.describe()),
+                    String.format(Locale.ROOT, "at most %s: t(n)/bound(n) grows at most with n^%.2f", bound,
+                            tolerance),
+                    String.format(Locale.ROOT, "t(n)/bound(n) grows with n^%.2f (t(n) grows with n^%.2f)",
+                            exponent,
+                            fit.exponent()));
+        }
+    }
+
+    /**
+     * Assert that the time of the workload grows at most like the bound, with 5 repetitions and a tolerance
+     * of 0.25.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param workload creates the measured task for an input size
+     * @param minSize the smallest input size, at least 2
+     * @param maxSize the largest input size, at least {@code 4 * minSize}
+     * @param bound the declared bound
+     * @see #complexityAtMost(String, IntFunction, int, int, int, ComplexityBound, double)
+     */
+    public static void complexityAtMost(final String message, final IntFunction<? extends Runnable> workload,
+            final int minSize, final int maxSize, final ComplexityBound bound) {
+        complexityAtMost(message, workload, minSize, maxSize, DEFAULT_REPETITIONS, bound, DEFAULT_TOLERANCE);
+    }
+
+    /**
+     * Determine how often the task must be run, so that the measurement takes at least
+     * {@link #MIN_SAMPLE_NANOS}.
+     *
+     * @param task the task
+     * @return the batch size
+     */
+    private static long batchSize(final Runnable task) {
+        long batch = 1;
+        while (timeBatch(task, batch) < MIN_SAMPLE_NANOS && batch < Long.MAX_VALUE / 2) {
+            batch *= 2;
+        }
+        return batch;
+    }
+
+    /**
+     * Measure a batch of runs.
+     *
+     * @param task the task
+     * @param batch the number of runs
+     * @return the elapsed nanoseconds
+     */
+    private static long timeBatch(final Runnable task, final long batch) {
+        long start = System.nanoTime();
+        for (long i = 0; i < batch; i++) {
+            task.run();
+        }
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Check that the iteration counts are valid.
+     *
+     * @param warmupIterations the number of runs before the measurement
+     * @param measuredIterations the number of measured runs
+     */
+    private static void checkIterations(final int warmupIterations, final int measuredIterations) {
+        if (warmupIterations < 0) {
+            throw new IllegalArgumentException("warmupIterations must not be negative, but is " + warmupIterations);
+        }
+        if (measuredIterations <= 0) {
+            throw new IllegalArgumentException("measuredIterations must be positive, but is " + measuredIterations);
+        }
+    }
+
+    /**
+     * Compare the percentiles with the limits and fail with the breakdown if one is exceeded.
+     *
+     * @param message the message
+     * @param histogram the recorded latencies
+     * @param maxP50 the limit of the median - can be {@code null}
+     * @param maxP99 the limit of the 99th percentile - can be {@code null}
+     * @param maxP999 the limit of the 99.9th percentile - can be {@code null}
+     */
+    static void checkPercentiles(final String message, final LatencyHistogram histogram, final Duration maxP50,
+            final Duration maxP99, final Duration maxP999) {
+        StringBuilder exceeded = new StringBuilder();
+        StringBuilder expected = new StringBuilder();
+        StringBuilder actual = new StringBuilder();
+        comparePercentile(histogram, 50, "p50", maxP50, exceeded, expected, actual);
+        comparePercentile(histogram, 99, "p99", maxP99, exceeded, expected, actual);
+        comparePercentile(histogram, 99.9, "p99.9", maxP999, exceeded, expected, actual);
+
+        if (exceeded.length() > 0) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - latency exceeds the limit at " + exceeded + " - " + histogram),
+                    expected.toString(),
+                    actual.toString());
+        }
+    }
+
+    /**
+     * Compare one percentile with its limit and append it to the descriptions.
+     *
+     * @param histogram the recorded latencies
+     * @param percentile the percentile
+     * @param name the name of the percentile
+     * @param limit the limit, {@code null} if not checked
+     * @param exceeded the names of the exceeded percentiles
+     * @param expected the limits
+     * @param actual the measured percentiles
+     */
+    private static void comparePercentile(final LatencyHistogram histogram, final double percentile,
+            final String name, final Duration limit, final StringBuilder exceeded, final StringBuilder expected,
+            final StringBuilder actual) {
+        if (limit == null) {
+            return;
+        }
+        long value = histogram.getValueAtPercentile(percentile);
+        if (value > limit.toNanos()) {
+            exceeded.append(exceeded.length() > 0 ? ", " : "").append(name);
+        }
+        expected.append(expected.length() > 0 ? ", " : "")
+                .append(name)
+                .append("<=")
+                .append(LatencyHistogram.formatNanos(limit.toNanos()));
+        actual.append(actual.length() > 0 ? ", " : "")
+                .append(name)
+                .append('=')
+                .append(LatencyHistogram.formatNanos(value));
+    }
+
+    /**
+     * Call the task, checked exceptions are wrapped.
+     *
+     * @param task the task
+     * @param <V> the type of the result
+     * @return the result
+     */
+    private static <V> V call(final Callable<V> task) {
+        try {
+            return task.call();
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("the measured task failed", e);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Arrays;
+
+/**
+ * A reusable bit set, for example to mark the already matched elements in {@code containsExact}.
+ *
+ * <p>
+ * Each thread owns one bit set of up to {@link #MAX_RETAINED_BITS} bits, that is reused by each check,
+ * so steady state checks do not allocate. Larger bit sets and bit sets for reentrant checks
+ * (an equals checker that runs a check itself) are allocated and not retained.
+ * </p>
+ */
+final class ScratchBits {
+
+    /** Bit sets up to this size are kept for the next check of the same thread. */
+    static final int MAX_RETAINED_BITS = 1 << 20;
+
+    /** The bit set of each thread. */
+    private static final ThreadLocal<ScratchBits> THREAD_BITS = ThreadLocal.withInitial(() -> new ScratchBits(64));
+
+    /** The bits. */
+    private long[] words;
+
+    /** True while the bit set is used by a check. */
+    private boolean inUse;
+
+    /**
+     * Instantiates a new bit set.
+     *
+     * @param size the number of bits
+     */
+    private ScratchBits(final int size) {
+        this.words = new long[wordCount(size)];
+    }
+
+    /**
+     * Acquire a cleared bit set with at least {@code size} bits.
+     * Each acquired bit set must be {@link #release() released}.
+     *
+     * @param size the number of bits
+     * @return the bit set
+     */
+    static ScratchBits acquire(final int size) {
+        ScratchBits bits = THREAD_BITS.get();
+        if (bits.inUse || size > MAX_RETAINED_BITS) {
+            bits = new ScratchBits(size);
+        } else if (bits.words.length < wordCount(size)) {
+            bits.words = new long[wordCount(size)];
+        }
+        Arrays.fill(bits.words, 0, wordCount(size), 0L);
+        bits.inUse = true;
+        return bits;
+    }
+
+    /**
+     * Release the bit set.
+     */
+    void release() {
+        this.inUse = false;
+    }
+
+    /**
+     * Get a bit.
+     *
+     * @param index the index
+     * @return true, if the bit is set
+     */
+    boolean get(final int index) {
+        return (this.words[index >>> 6] & (1L << index)) != 0;
+    }
+
+    /**
+     * Set a bit.
+     *
+     * @param index the index
+     */
+    void set(final int index) {
+        this.words[index >>> 6] |= 1L << index;
+    }
+
+    /**
+     * Calculate the number of words for the bits.
+     *
+     * @param size the number of bits
+     * @return the number of words
+     */
+    private static int wordCount(final int size) {
+        return (size + 63) >>> 6;
+    }
+}
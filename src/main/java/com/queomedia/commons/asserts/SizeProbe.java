@@ -0,0 +1,133 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.LinkedTransferQueue;
+
+/**
+ * Determine the size of collections, without calling {@link Collection#size()} on collections
+ * where it is expensive (needs to traverse all elements or to load them).
+ *
+ * <p>
+ * For these collections the elements are counted by iteration, but only up to a limit,
+ * so checking that a collection with millions of elements has size 5 needs only 6 steps.
+ * </p>
+ */
+final class SizeProbe {
+
+    /**
+     * Additional (user registered) collection types where size() is expensive.
+     * Replaced (copy on write) by each registration, and iterated by index, so the lookup does not allocate.
+     */
+    private static volatile Class<?>[] expensiveSizeTypes = new Class<?>[0];
+
+    /**
+     * Util classes need no constructor.
+     */
+    private SizeProbe() {
+        super();
+    }
+
+    /**
+     * Register a collection type, where {@link Collection#size()} is expensive.
+     *
+     * @param type the collection type, sub types are affected too
+     */
+    static synchronized void registerExpensiveSizeType(final Class<?> type) {
+        Class<?>[] types = expensiveSizeTypes;
+        for (Class<?> registered : types) {
+            if (registered == type) {
+                return;
+            }
+        }
+        Class<?>[] extended = Arrays.copyOf(types, types.length + 1);
+        extended[types.length] = type;
+        expensiveSizeTypes = extended;
+    }
+
+    /**
+     * Check if {@link Collection#size()} is expensive for the collection.
+     *
+     * @param collection the collection
+     * @return true, if size needs more than constant time
+     */
+    static boolean hasExpensiveSize(final Collection<?> collection) {
+        if (collection instanceof ConcurrentLinkedQueue || collection instanceof ConcurrentLinkedDeque
+                || collection instanceof LinkedTransferQueue || collection instanceof ConcurrentSkipListSet) {
+            return true;
+        }
+        Class<?>[] types = expensiveSizeTypes;
+        for (int i = 0; i < types.length; i++) {
+            if (types[i].isInstance(collection)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Determine the size of the collection, but count at most {@code limit} elements,
+     * if size is expensive for this collection.
+     *
+     * @param collection the collection
+     * @param limit the limit, must not be negative
+     * @return the exact size if it is less than the limit or size is cheap, {@code limit} otherwise
+     */
+    static int sizeUpTo(final Collection<?> collection, final int limit) {
+        if (!hasExpensiveSize(collection)) {
+            return collection.size();
+        }
+        return countUpTo(collection.iterator(), limit);
+    }
+
+    /**
+     * Count the elements of the iterator, but at most {@code limit}.
+     *
+     * @param iterator the iterator
+     * @param limit the limit, must not be negative
+     * @return the number of elements if it is less than the limit, {@code limit} otherwise
+     */
+    static int countUpTo(final Iterator<?> iterator, final int limit) {
+        int count = 0;
+        while (count < limit && iterator.hasNext()) {
+            iterator.next();
+            count++;
+        }
+        return count;
+    }
+
+    /**
+     * Check if both collections have the same size.
+     * If size is expensive for one of them, both are iterated in lockstep until the shorter one ends.
+     *
+     * @param first the first collection
+     * @param second the second collection
+     * @return true, if both collections have the same size
+     */
+    static boolean sameSize(final Collection<?> first, final Collection<?> second) {
+        if (!hasExpensiveSize(first) && !hasExpensiveSize(second)) {
+            return first.size() == second.size();
+        }
+        Iterator<?> firstIterator = first.iterator();
+        Iterator<?> secondIterator = second.iterator();
+        while (firstIterator.hasNext() && secondIterator.hasNext()) {
+            firstIterator.next();
+            secondIterator.next();
+        }
+        return firstIterator.hasNext() == secondIterator.hasNext();
+    }
+
+    /**
+     * Return the limit for a size probe, that can tell whether a collection has more than the expected size.
+     *
+     * @param expectedSize the expected size
+     * @return {@code expectedSize + 1} without overflow
+     */
+    static int limitFor(final int expectedSize) {
+        return expectedSize < Integer.MAX_VALUE ? Math.max(0, expectedSize) + 1 : Integer.MAX_VALUE;
+    }
+}
@@ -0,0 +1,431 @@
+package com.queomedia.commons.asserts;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * Golden snapshot checks: compare a collection against a previously stored snapshot file.
+ *
+ * <p>
+ * The snapshot file stores an order independent fingerprint of the (multi) set of elements, followed by
+ * the encoded elements. When the fingerprint of the found collection is equal to the stored one,
+ * the check passes without reading the elements.
+ * Only when the fingerprints differ, the encoded found elements are counted in a hash table,
+ * and the stored elements are read one by one (memory mapped) from the file and matched against it,
+ * to report the missing and unexpected elements. So the diff needs memory for the found elements only,
+ * not for the snapshot.
+ * </p>
+ *
+ * <p>
+ * Like {@link AssertUtil#containsExact(String, Collection, Collection)} the order does not matter,
+ * but the number of appears of each element does.
+ * </p>
+ *
+ * <p>
+ * Run with the system property {@value #UPDATE_PROPERTY}{@code =true} to (re)write the snapshot files
+ * instead of failing.
+ * </p>
+ */
+public abstract class SnapshotAssert {
+
+    /** System property to enable the update mode. */
+    public static final String UPDATE_PROPERTY = "queo.asserts.snapshot.update";
+
+    /** The magic number at the begin of each snapshot file ("QSNP"). */
+    private static final int MAGIC = 0x51534E50;
+
+    /** The file format version. */
+    private static final int VERSION = 1;
+
+    /** Size of the header: magic, version, element count and both fingerprint halves. */
+    private static final int HEADER_SIZE = Integer.BYTES + Integer.BYTES + Long.BYTES + Long.BYTES + Long.BYTES;
+
+    /** Maximal number of missing or unexpected elements listed in the failure description. */
+    private static final int MAX_REPORTED_ELEMENTS = 10;
+
+    /** Offset basis of the FNV-1a hash. */
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+
+    /** Prime of the FNV-1a hash. */
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    /** Seed of the multiply rotate hash (the 64 bit golden ratio). */
+    private static final long MULTIPLY_ROTATE_SEED = 0x9e3779b97f4a7c15L;
+
+    /**
+     * Util classes need no constructor.
+     */
+    private SnapshotAssert() {
+        super();
+    }
+
+    /**
+     * Check that the collection contains exactly the elements stored in the snapshot file.
+     * The order doesn't matter.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param snapshotFile the snapshot file
+     * @param found the found collection
+     * @param encoder function that converts an element into its snapshot representation, must not return null
+     * @param <T> the type of the found objects
+     */
+    public static <T> void matchesSnapshot(final String message, final Path snapshotFile,
+            final Collection<? extends T> found, final Function<? super T, String> encoder) {
+        Check.notNullArgument(snapshotFile, "snapshotFile");
+        Check.notNullArgument(found, "found");
+        Check.notNullArgument(encoder, "encoder");
+
+        if (!Files.exists(snapshotFile)) {
+            if (isUpdateMode()) {
+                writeSnapshot(snapshotFile, found, encoder);
+                return;
+            }
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - snapshot file " + snapshotFile + " does not exist, run with -D"
+                            + UPDATE_PROPERTY + "=true to create it"));
+        }
+
+        Fingerprint foundFingerprint = fingerprint(found, encoder);
+        Fingerprint storedFingerprint = readFingerprint(snapshotFile);
+        if (foundFingerprint.equals(storedFingerprint)) {
+            return;
+        }
+
+        if (isUpdateMode()) {
+            writeSnapshot(snapshotFile, found, encoder);
+            return;
+        }
+        failWithDiff(message, snapshotFile, storedFingerprint, found, encoder);
+    }
+
+    /**
+     * Check that the collection contains exactly the elements stored in the snapshot file.
+     * The order doesn't matter.
+     *
+     * @param snapshotFile the snapshot file
+     * @param found the found collection
+     * @param encoder function that converts an element into its snapshot representation, must not return null
+     * @param <T> the type of the found objects
+     * @see #matchesSnapshot(String, Path, Collection, Function)
+     */
+    public static <T> void matchesSnapshot(final Path snapshotFile, final Collection<? extends T> found,
+            final Function<? super T, String> encoder) {
+        SnapshotAssert.matchesSnapshot(null, snapshotFile, found, encoder);
+    }
+
+    /**
+     * Check that the collection contains exactly the elements stored in the snapshot file,
+     * the elements are compared by there {@link String#valueOf(Object)} representation.
+     * The order doesn't matter.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param snapshotFile the snapshot file
+     * @param found the found collection
+     * @see #matchesSnapshot(String, Path, Collection, Function)
+     */
+    public static void matchesSnapshot(final String message, final Path snapshotFile, final Collection<?> found) {
+        SnapshotAssert.<Object> matchesSnapshot(message, snapshotFile, found, String::valueOf);
+    }
+
+    /**
+     * Check that the collection contains exactly the elements stored in the snapshot file,
+     * the elements are compared by there {@link String#valueOf(Object)} representation.
+     * The order doesn't matter.
+     *
+     * @param snapshotFile the snapshot file
+     * @param found the found collection
+     * @see #matchesSnapshot(String, Path, Collection, Function)
+     */
+    public static void matchesSnapshot(final Path snapshotFile, final Collection<?> found) {
+        SnapshotAssert.matchesSnapshot(null, snapshotFile, found);
+    }
+
+    /**
+     * Write (or overwrite) the snapshot file.
+     * The file is written to a temporary file first and then moved to its target, so a concurrent reader
+     * never sees a partially written snapshot.
+     *
+     * @param snapshotFile the snapshot file
+     * @param elements the elements to store
+     * @param encoder function that converts an element into its snapshot representation, must not return null
+     * @param <T> the type of the elements
+     */
+    public static <T> void writeSnapshot(final Path snapshotFile, final Collection<? extends T> elements,
+            final Function<? super T, String> encoder) {
+        Check.notNullArgument(snapshotFile, "snapshotFile");
+        Check.notNullArgument(elements, "elements");
+        Check.notNullArgument(encoder, "encoder");
+
+        Fingerprint fingerprint = fingerprint(elements, encoder);
+        try {
+            Path directory = snapshotFile.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path tempFile = Files.createTempFile(directory, snapshotFile.getFileName().toString(), ".tmp");
+            try {
+                try (DataOutputStream out = new DataOutputStream(
+                        new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                    out.writeInt(MAGIC);
+                    out.writeInt(VERSION);
+                    out.writeLong(fingerprint.count);
+                    out.writeLong(fingerprint.hash1);
+                    out.writeLong(fingerprint.hash2);
+                    for (T element : elements) {
+                        byte[] record = encode(element, encoder);
+                        out.writeInt(record.length);
+                        out.write(record);
+                    }
+                }
+                Files.move(tempFile, snapshotFile, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(tempFile);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not write snapshot file " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Checks if the update mode is enabled by the system property {@value #UPDATE_PROPERTY}.
+     *
+     * @return true, if snapshots are (re)written instead of checked
+     */
+    public static boolean isUpdateMode() {
+        return Boolean.getBoolean(UPDATE_PROPERTY);
+    }
+
+    /**
+     * Match the stored elements against the counted found elements and fail with a description of the missing and
+     * unexpected elements.
+     *
+     * @param message additional message for the failure description
+     * @param snapshotFile the snapshot file
+     * @param storedFingerprint the stored fingerprint
+     * @param found the found collection
+     * @param encoder the encoder
+     * @param <T> the type of the found objects
+     */
+    private static <T> void failWithDiff(final String message, final Path snapshotFile,
+            final Fingerprint storedFingerprint, final Collection<? extends T> found,
+            final Function<? super T, String> encoder) {
+
+        /* remaining number of appears of each found element, that is not yet matched by a stored element */
+        Map<String, int[]> unmatchedFound = new HashMap<String, int[]>();
+        for (T element : found) {
+            String encoded = new String(encode(element, encoder), StandardCharsets.UTF_8);
+            int[] counter = unmatchedFound.get(encoded);
+            if (counter == null) {
+                unmatchedFound.put(encoded, new int[] { 1 });
+            } else {
+                counter[0]++;
+            }
+        }
+
+        List<String> missing = new ArrayList<String>();
+        long missingCount = 0;
+        try (MappedRecordReader reader = new MappedRecordReader(snapshotFile, HEADER_SIZE)) {
+            while (reader.hasNext()) {
+                String stored = new String(reader.next(), StandardCharsets.UTF_8);
+                int[] counter = unmatchedFound.get(stored);
+                if (counter != null && counter[0] > 0) {
+                    counter[0]--;
+                } else {
+                    missingCount++;
+                    if (missing.size() < MAX_REPORTED_ELEMENTS) {
+                        missing.add(stored);
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read snapshot file " + snapshotFile, e);
+        }
+
+        List<String> unexpected = new ArrayList<String>();
+        long unexpectedCount = 0;
+        for (Map.Entry<String, int[]> entry : unmatchedFound.entrySet()) {
+            int remaining = entry.getValue()[0];
+            unexpectedCount += remaining;
+            for (int i = 0; i < remaining && unexpected.size() < MAX_REPORTED_ELEMENTS; i++) {
+                unexpected.add(entry.getKey());
+            }
+        }
+
+        AssertUtil.failCompare(AssertUtil.format(message,
+                "[Assertion failed] - collection does not match snapshot " + snapshotFile + " - snapshot elements="
+                        + storedFingerprint.count + ", found elements=" + found.size() + ", " + missingCount
+                        + " missing elements (first " + missing.size() + ": " + missing + "), " + unexpectedCount
+                        + " unexpected elements (first " + unexpected.size() + ": " + unexpected + ")"),
+                missing,
+                unexpected);
+    }
+
+    /**
+     * Read the fingerprint from the snapshot file header.
+     *
+     * @param snapshotFile the snapshot file
+     * @return the fingerprint
+     */
+    private static Fingerprint readFingerprint(final Path snapshotFile) {
+        try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+            while (header.hasRemaining()) {
+                if (channel.read(header) < 0) {
+                    throw new IOException("snapshot file " + snapshotFile + " is too short");
+                }
+            }
+            header.flip();
+            int magic = header.getInt();
+            int version = header.getInt();
+            if (magic != MAGIC || version != VERSION) {
+                throw new IOException("file " + snapshotFile + " is not a snapshot file of version " + VERSION);
+            }
+            return new Fingerprint(header.getLong(), header.getLong(), header.getLong());
+        } catch (IOException e) {
+            throw new UncheckedIOException("could not read snapshot file " + snapshotFile, e);
+        }
+    }
+
+    /**
+     * Calculate the order independent fingerprint of the elements.
+     * It is the (wrapping) sum of two 64 bit hashes of each encoded element, that use different mixing functions,
+     * so it does not depend on the order but on the number of appears of each element.
+     *
+     * @param elements the elements
+     * @param encoder the encoder
+     * @param <T> the type of the elements
+     * @return the fingerprint
+     */
+    private static <T> Fingerprint fingerprint(final Collection<? extends T> elements,
+            final Function<? super T, String> encoder) {
+        long count = 0;
+        long hash1 = 0;
+        long hash2 = 0;
+        for (T element : elements) {
+            byte[] record = encode(element, encoder);
+            count++;
+            hash1 += fnv1aHash(record);
+            hash2 += multiplyRotateHash(record);
+        }
+        return new Fingerprint(count, hash1, hash2);
+    }
+
+    /**
+     * Encode the element to its UTF-8 snapshot representation.
+     *
+     * @param element the element
+     * @param encoder the encoder
+     * @param <T> the type of the element
+     * @return the bytes
+     */
+    private static <T> byte[] encode(final T element, final Function<? super T, String> encoder) {
+        String encoded = encoder.apply(element);
+        if (encoded == null) {
+            throw new IllegalArgumentException("encoder returned null for element " + element);
+        }
+        return encoded.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 64 bit FNV-1a hash with the murmur3 finalizer.
+     *
+     * @param bytes the bytes
+     * @return the hash
+     */
+    private static long fnv1aHash(final byte[] bytes) {
+        long h = FNV_OFFSET_BASIS;
+        for (byte b : bytes) {
+            h ^= b & 0xff;
+            h *= FNV_PRIME;
+        }
+        h ^= bytes.length;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    /**
+     * 64 bit hash that adds each byte, rotates and multiplies, with the splitmix64 finalizer.
+     * It mixes differently than {@link #fnv1aHash(byte[])}, so a collision of one hash is not likely
+     * a collision of the other.
+     *
+     * @param bytes the bytes
+     * @return the hash
+     */
+    private static long multiplyRotateHash(final byte[] bytes) {
+        long h = MULTIPLY_ROTATE_SEED;
+        for (byte b : bytes) {
+            h = Long.rotateLeft(h + (b & 0xff), 23) * 0xbf58476d1ce4e5b9L;
+        }
+        h += bytes.length;
+        h ^= h >>> 30;
+        h *= 0xbf58476d1ce4e5b9L;
+        h ^= h >>> 27;
+        h *= 0x94d049bb133111ebL;
+        h ^= h >>> 31;
+        return h;
+    }
+
+    /**
+     * Order independent fingerprint of a (multi) set of elements.
+     */
+    private static final class Fingerprint {
+
+        /** The number of elements. */
+        private final long count;
+
+        /** The first hash sum. */
+        private final long hash1;
+
+        /** The second hash sum. */
+        private final long hash2;
+
+        /**
+         * Instantiates a new fingerprint.
+         *
+         * @param count the count
+         * @param hash1 the first hash sum
+         * @param hash2 the second hash sum
+         */
+        Fingerprint(final long count, final long hash1, final long hash2) {
+            this.count = count;
+            this.hash1 = hash1;
+            this.hash2 = hash2;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            if (this == obj) {
+                return true;
+            }
+            if (!(obj instanceof Fingerprint)) {
+                return false;
+            }
+            Fingerprint other = (Fingerprint) obj;
+            return this.count == other.count && this.hash1 == other.hash1 && this.hash2 == other.hash2;
+        }
+
+        @Override
+        public int hashCode() {
+            return (int) (this.hash1 ^ (this.hash1 >>> 32));
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.queomedia.commons.asserts;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.RandomAccess;
+
+/**
+ * A reusable, array backed capture of the elements of a (concurrently modified) collection.
+ *
+ * <p>
+ * The capture iterates the collection exactly once, so it never calls {@link Collection#size()}
+ * separately from the iteration. For weakly consistent collections (like the views of a
+ * {@link java.util.concurrent.ConcurrentHashMap}) the capture is one weakly consistent traversal, for
+ * copy on write collections it is an atomic snapshot, because their iterators work on a snapshot.
+ * </p>
+ *
+ * <p>
+ * Each thread owns two captures, that are reused for each check, so steady state checks do not allocate
+ * buffers. Buffers that grew above {@link #MAX_RETAINED_CAPACITY} are dropped after use.
+ * The iterator of the captured collection is still created for each capture: the JIT removes it only if it
+ * has seen a single collection type here, otherwise each capture allocates one iterator.
+ * </p>
+ */
+final class SnapshotCapture extends AbstractList<Object> implements RandomAccess {
+
+    /** Buffers up to this capacity are kept for the next check of the same thread. */
+    static final int MAX_RETAINED_CAPACITY = 1 << 16;
+
+    /** Initial buffer capacity. */
+    private static final int INITIAL_CAPACITY = 16;
+
+    /** The captures of each thread. */
+    private static final ThreadLocal<SnapshotCapture[]> CAPTURES = ThreadLocal
+            .withInitial(() -> new SnapshotCapture[] { new SnapshotCapture(), new SnapshotCapture() });
+
+    /** The captured elements. */
+    private Object[] elements = new Object[INITIAL_CAPACITY];
+
+    /** The number of captured elements. */
+    private int size;
+
+    /** True while the capture is used by a check (guards against reentrant use). */
+    private boolean inUse;
+
+    /**
+     * Instantiates a new (empty) capture.
+     */
+    private SnapshotCapture() {
+        super();
+    }
+
+    /**
+     * Acquire a capture of the current thread, or a new one if the thread ones are in use (reentrant checks).
+     * Each acquired capture must be {@link #release() released}.
+     *
+     * @return the capture
+     */
+    static SnapshotCapture acquire() {
+        for (SnapshotCapture capture : CAPTURES.get()) {
+            if (!capture.inUse) {
+                capture.inUse = true;
+                return capture;
+            }
+        }
+        SnapshotCapture capture = new SnapshotCapture();
+        capture.inUse = true;
+        return capture;
+    }
+
+    /**
+     * Acquire a capture of the collection, that is stable: capture the collection until two consecutive
+     * captures contain identical elements, or {@code maxCaptures} captures are done (then the last one is used).
+     * The returned capture must be {@link #release() released}.
+     *
+     * @param collection the collection
+     * @param maxCaptures the maximal number of captures, {@code 1} for a single pass
+     * @return the (last) capture
+     */
+    static SnapshotCapture captureStable(final Collection<?> collection, final int maxCaptures) {
+        SnapshotCapture current = acquire();
+        try {
+            current.capture(collection);
+            if (maxCaptures > 1) {
+                SnapshotCapture previous = acquire();
+                try {
+                    for (int i = 1; i < maxCaptures; i++) {
+                        SnapshotCapture swap = previous;
+                        previous = current;
+                        current = swap;
+                        current.capture(collection);
+                        if (current.isIdentical(previous)) {
+                            break;
+                        }
+                    }
+                } finally {
+                    previous.release();
+                }
+            }
+            return current;
+        } catch (RuntimeException | Error e) {
+            current.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Release the capture: drop the references to the captured elements, and shrink oversized buffers.
+     */
+    void release() {
+        if (this.elements.length > MAX_RETAINED_CAPACITY) {
+            this.elements = new Object[INITIAL_CAPACITY];
+        } else {
+            Arrays.fill(this.elements, 0, this.size, null);
+        }
+        this.size = 0;
+        this.inUse = false;
+    }
+
+    /**
+     * Capture the elements of the collection in a single pass, replacing the previous capture.
+     *
+     * @param collection the collection
+     */
+    void capture(final Collection<?> collection) {
+        Arrays.fill(this.elements, 0, this.size, null);
+        int count = 0;
+        for (Object element : collection) {
+            if (count == this.elements.length) {
+                this.elements = Arrays.copyOf(this.elements, grow(this.elements.length));
+            }
+            this.elements[count++] = element;
+        }
+        this.size = count;
+    }
+
+    /**
+     * Check if both captures contain the same (identical) elements in the same order.
+     *
+     * @param other the other capture
+     * @return true, if both captures are identical
+     */
+    boolean isIdentical(final SnapshotCapture other) {
+        if (this.size != other.size) {
+            return false;
+        }
+        for (int i = 0; i < this.size; i++) {
+            if (this.elements[i] != other.elements[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Calculate the next buffer capacity.
+     *
+     * @param capacity the current capacity
+     * @return the new capacity
+     */
+    private static int grow(final int capacity) {
+        if (capacity >= Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("collection is too large for a snapshot");
+        }
+        return (int) Math.min((long) capacity * 2, Integer.MAX_VALUE - 8);
+    }
+
+    @Override
+    public Object get(final int index) {
+        if (index >= this.size) {
+            throw new IndexOutOfBoundsException("index " + index + ", size " + this.size);
+        }
+        return this.elements[index];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+}
@@ -0,0 +1,41 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * The expected order of a sorted sequence, used by the {@code isSorted} checks.
+ */
+public enum SortOrder {
+
+    /** Each element is greater than or equal to its predecessor. */
+    ASCENDING,
+
+    /** Each element is greater than its predecessor (no equal neighbours). */
+    STRICTLY_ASCENDING,
+
+    /** Each element is less than or equal to its predecessor. */
+    DESCENDING,
+
+    /** Each element is less than its predecessor (no equal neighbours). */
+    STRICTLY_DESCENDING;
+
+    /**
+     * Check if two neighbours are in this order.
+     *
+     * @param comparison the result of comparing the predecessor with the element
+     *        (like {@link java.util.Comparator#compare(Object, Object)})
+     * @return true, if the neighbours are in this order
+     */
+    public boolean isInOrder(final int comparison) {
+        switch (this) {
+        case ASCENDING:
+            return comparison <= 0;
+        case STRICTLY_ASCENDING:
+            return comparison < 0;
+        case DESCENDING:
+            return comparison >= 0;
+        case STRICTLY_DESCENDING:
+            return comparison > 0;
+        default:
+            throw new IllegalStateException("unknown sort order " + this);
+        }
+    }
+}
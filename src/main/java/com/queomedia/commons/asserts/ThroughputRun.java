@@ -0,0 +1,287 @@
+package com.queomedia.commons.asserts;
+
+import java.lang.reflect.Method;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * One run of a throughput check: starts the workers at the same time, lets each count its operations, and
+ * collects the result.
+ *
+ * <p>
+ * Each worker counts in its own slot of a striped array, the slots are {@value #STRIDE} longs (128 bytes)
+ * apart, so the workers do not share cache lines (no false sharing) and need no atomic operations.
+ * The counts are read after the workers are joined.
+ * </p>
+ */
+final class ThroughputRun {
+
+    /** The distance of the counter slots, in longs. */
+    private static final int STRIDE = 16;
+
+    /** The maximal number of workers listed in the description. */
+    private static final int MAX_LISTED_WORKERS = 32;
+
+    /** The task. */
+    private final Runnable task;
+
+    /** The number of workers. */
+    private final int workers;
+
+    /** The operation counts, one slot per worker. */
+    private final long[] counts;
+
+    /** Set when the workers should stop (duration mode, or when a worker failed). */
+    private volatile boolean stop;
+
+    /** The first exception of a worker. */
+    private final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+
+    /** True if virtual threads are used. */
+    private final boolean virtual;
+
+    /** The elapsed time of the run. */
+    private long elapsedNanos;
+
+    /**
+     * Instantiates a new run.
+     *
+     * @param task the task
+     * @param workers the number of workers
+     * @param threads the kind of threads
+     */
+    ThroughputRun(final Runnable task, final int workers, final WorkerThreads threads) {
+        this.task = task;
+        this.workers = workers;
+        this.counts = new long[(workers + 1) * STRIDE];
+        this.virtual = threads == WorkerThreads.VIRTUAL && VirtualThreads.UNSTARTED != null;
+    }
+
+    /**
+     * Run the workers, until the duration is over or each worker has done its share of the operations.
+     *
+     * @param durationNanos the duration, if {@code operations} is negative
+     * @param operations the total number of operations, negative to run for the duration
+     */
+    void run(final long durationNanos, final long operations) {
+        CountDownLatch ready = new CountDownLatch(this.workers);
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(this.workers);
+        Thread[] threads = new Thread[this.workers];
+        for (int worker = 0; worker < this.workers; worker++) {
+            long share = operations < 0 ? -1
+                    : operations / this.workers + (worker < operations % this.workers ? 1 : 0);
+            Runnable body = workerBody(worker, share, ready, start, finished);
+            threads[worker] = this.virtual ? VirtualThreads.unstarted(body) : platformThread(body, worker);
+            threads[worker].start();
+        }
+
+        try {
+            ready.await();
+            long startNanos = System.nanoTime();
+            start.countDown();
+            if (operations < 0) {
+                /* returns early only if all workers stopped because of a failure */
+                finished.await(durationNanos, TimeUnit.NANOSECONDS);
+                this.stop = true;
+            }
+            for (Thread thread : threads) {
+                thread.join();
+            }
+            this.elapsedNanos = System.nanoTime() - startNanos;
+        } catch (InterruptedException e) {
+            this.stop = true;
+            start.countDown();
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("interrupted while waiting for the workers", e);
+        }
+
+        Throwable workerFailure = this.failure.get();
+        if (workerFailure instanceof RuntimeException) {
+            throw (RuntimeException) workerFailure;
+        }
+        if (workerFailure instanceof Error) {
+            throw (Error) workerFailure;
+        }
+    }
+
+    /**
+     * Create the loop of one worker.
+     *
+     * @param worker the number of the worker
+     * @param share the number of operations of this worker, negative to run until stopped
+     * @param ready counted down when the worker is ready
+     * @param start released when all workers should start
+     * @param finished counted down when the worker is finished
+     * @return the worker loop
+     */
+    private Runnable workerBody(final int worker, final long share, final CountDownLatch ready,
+            final CountDownLatch start, final CountDownLatch finished) {
+        final int slot = (worker + 1) * STRIDE;
+        return () -> {
+            ready.countDown();
+            try {
+                start.await();
+                if (share < 0) {
+                    while (!this.stop) {
+                        this.task.run();
+                        this.counts[slot]++;
+                    }
+                } else {
+                    for (long i = 0; i < share && !this.stop; i++) {
+                        this.task.run();
+                        this.counts[slot]++;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException | Error e) {
+                this.failure.compareAndSet(null, e);
+                this.stop = true;
+            } finally {
+                finished.countDown();
+            }
+        };
+    }
+
+    /**
+     * Get the total number of operations.
+     *
+     * @return the operations
+     */
+    long getOperations() {
+        long total = 0;
+        for (int worker = 0; worker < this.workers; worker++) {
+            total += operations(worker);
+        }
+        return total;
+    }
+
+    /**
+     * Get the operations per second of all workers together.
+     *
+     * @return the throughput
+     */
+    double getOperationsPerSecond() {
+        return getOperations() * 1e9 / Math.max(1, this.elapsedNanos);
+    }
+
+    /**
+     * Get the elapsed time.
+     *
+     * @return the elapsed nanoseconds
+     */
+    long getElapsedNanos() {
+        return this.elapsedNanos;
+    }
+
+    /**
+     * Describe the run: threads, operations, elapsed time and the skew of the workers.
+     *
+     * @return the description
+     */
+    String describe() {
+        long min = Long.MAX_VALUE;
+        long max = 0;
+        StringBuilder perWorker = new StringBuilder("[");
+        for (int worker = 0; worker < this.workers; worker++) {
+            long workerOperations = operations(worker);
+            min = Math.min(min, workerOperations);
+            max = Math.max(max, workerOperations);
+            if (worker < MAX_LISTED_WORKERS) {
+                perWorker.append(worker > 0 ? ", " : "").append(workerOperations);
+            }
+        }
+        perWorker.append(this.workers > MAX_LISTED_WORKERS ? ", ...]" : "]");
+        return this.workers + " workers on " + (this.virtual ? "virtual" : "platform") + " threads, "
+                + getOperations() + " operations in " + LatencyHistogram.formatNanos(this.elapsedNanos)
+                + " - per worker min=" + min + ", mean="
+                + String.format(Locale.ROOT, "%.1f", (double) getOperations() / this.workers) + ", max=" + max
+                + ", skew (max/min)=" + (min > 0 ? String.format(Locale.ROOT, "%.2f", (double) max / min) : "inf")
+                + ", operations per worker " + perWorker;
+    }
+
+    /**
+     * Get the operations of one worker.
+     *
+     * @param worker the number of the worker
+     * @return the operations
+     */
+    private long operations(final int worker) {
+        return this.counts[(worker + 1) * STRIDE];
+    }
+
+    /**
+     * Create a platform worker thread.
+     *
+     * @param body the worker loop
+     * @param worker the number of the worker
+     * @return the thread, not started
+     */
+    private static Thread platformThread(final Runnable body, final int worker) {
+        Thread thread = new Thread(body, "throughput-worker-" + worker);
+        thread.setDaemon(true);
+        return thread;
+    }
+
+    /**
+     * Creates virtual threads by reflection, because this library is compiled for Java 8.
+     */
+    private static final class VirtualThreads {
+
+        /** The builder returned by {@code Thread.ofVirtual()}, {@code null} if the runtime has no virtual threads. */
+        static final Object BUILDER = createBuilder();
+
+        /** The method {@code Thread.Builder.unstarted(Runnable)}, {@code null} if not available. */
+        static final Method UNSTARTED = BUILDER != null ? unstartedMethod() : null;
+
+        /**
+         * Util classes need no constructor.
+         */
+        private VirtualThreads() {
+            super();
+        }
+
+        /**
+         * Create an unstarted virtual thread.
+         *
+         * @param body the body
+         * @return the thread
+         */
+        static Thread unstarted(final Runnable body) {
+            try {
+                return (Thread) UNSTARTED.invoke(BUILDER, body);
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalStateException("can not create a virtual thread", e);
+            }
+        }
+
+        /**
+         * Call {@code Thread.ofVirtual()}.
+         *
+         * @return the builder or {@code null}
+         */
+        private static Object createBuilder() {
+            try {
+                return Thread.class.getMethod("ofVirtual").invoke(null);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+
+        /**
+         * Find {@code Thread.Builder.unstarted(Runnable)}.
+         *
+         * @return the method or {@code null}
+         */
+        private static Method unstartedMethod() {
+            try {
+                return Class.forName("java.lang.Thread$Builder").getMethod("unstarted", Runnable.class);
+            } catch (ReflectiveOperationException | RuntimeException e) {
+                return null;
+            }
+        }
+    }
+}
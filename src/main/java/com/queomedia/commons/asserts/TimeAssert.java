@@ -0,0 +1,595 @@
+package com.queomedia.commons.asserts;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import com.queomedia.commons.checks.Check;
+
+/**
+ * Checks for {@link Instant time stamps} that lost precision (for example when they were stored in a database
+ * column with second or microsecond precision), for pairs, aligned lists and unordered collections.
+ *
+ * <p>
+ * A precision ({@link TemporalUnit}) compares the time stamps truncated to this unit
+ * (like {@link Instant#truncatedTo(TemporalUnit)}), the unit must be {@link ChronoUnit#DAYS} or divide a day evenly.
+ * A tolerance ({@link Duration}) accepts time stamps that differ by at most the tolerance.
+ * </p>
+ *
+ * <p>
+ * The unordered checks do not compare each pair: with a precision the truncated time stamps are counted in
+ * a hash table (linear time), with a tolerance both collections are sorted and compared element by element
+ * (for sorted sequences this pairing minimizes the maximal deviation, so if it fails, no other pairing passes).
+ * </p>
+ */
+public abstract class TimeAssert {
+
+    /** Nanoseconds of one second. */
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    /** Nanoseconds of one day. */
+    private static final long NANOS_PER_DAY = 86_400L * NANOS_PER_SECOND;
+
+    /** Maximal number of missing or unexpected time stamps (each) listed in the failure description. */
+    private static final int MAX_REPORTED_TIME_STAMPS = 10;
+
+    /**
+     * Util classes need no constructor.
+     */
+    private TimeAssert() {
+        super();
+    }
+
+    /**
+     * Assert that both time stamps are equal, when truncated to the precision.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected time stamp - can be {@code null}
+     * @param found the found time stamp - can be {@code null}
+     * @param precision the precision, for example {@link java.time.temporal.ChronoUnit#MILLIS}
+     */
+    public static void equals(final String message, final Instant expected, final Instant found,
+            final TemporalUnit precision) {
+        long unitNanos = unitNanos(precision);
+
+        if (!equalKeys(expected, found, unitNanos)) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - time stamps are not equal at precision " + precision),
+                    expected,
+                    found);
+        }
+    }
+
+    /**
+     * Assert that both time stamps are equal, when truncated to the precision.
+     *
+     * @param expected the expected time stamp - can be {@code null}
+     * @param found the found time stamp - can be {@code null}
+     * @param precision the precision, for example {@link java.time.temporal.ChronoUnit#MILLIS}
+     */
+    public static void equals(final Instant expected, final Instant found, final TemporalUnit precision) {
+        TimeAssert.equals(null, expected, found, precision);
+    }
+
+    /**
+     * Assert that both time stamps differ by at most the tolerance.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected time stamp
+     * @param found the found time stamp
+     * @param tolerance the maximal (absolute) difference
+     */
+    public static void equalsWithin(final String message, final Instant expected, final Instant found,
+            final Duration tolerance) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        long toleranceNanos = toleranceNanos(tolerance);
+
+        if (deviationNanos(expected, found) > toleranceNanos) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - time stamps differ by " + Duration.between(expected, found)
+                            + ", more than the tolerance " + tolerance),
+                    expected,
+                    found);
+        }
+    }
+
+    /**
+     * Assert that both time stamps differ by at most the tolerance.
+     *
+     * @param expected the expected time stamp
+     * @param found the found time stamp
+     * @param tolerance the maximal (absolute) difference
+     */
+    public static void equalsWithin(final Instant expected, final Instant found, final Duration tolerance) {
+        TimeAssert.equalsWithin(null, expected, found, tolerance);
+    }
+
+    /**
+     * Assert that both lists contain equal time stamps (truncated to the precision) at the same indexes.
+     * The failure reports the number of different time stamps and the first difference.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param precision the precision, for example {@link java.time.temporal.ChronoUnit#MILLIS}
+     */
+    public static void sameOrder(final String message, final List<Instant> expected, final List<Instant> found,
+            final TemporalUnit precision) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        long unitNanos = unitNanos(precision);
+
+        AssertUtil.sameSize(message, expected, found);
+        int violations = 0;
+        int firstViolation = -1;
+        Iterator<Instant> expectedIterator = expected.iterator();
+        Iterator<Instant> foundIterator = found.iterator();
+        for (int i = 0; expectedIterator.hasNext(); i++) {
+            if (!equalKeys(expectedIterator.next(), foundIterator.next(), unitNanos)) {
+                if (violations == 0) {
+                    firstViolation = i;
+                }
+                violations++;
+            }
+        }
+        if (violations > 0) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - time stamps are not equal at precision " + precision + " - " + violations
+                            + " of " + expected.size() + " differ, first difference at index " + firstViolation
+                            + " - expected=" + expected.get(firstViolation) + ", found="
+                            + found.get(firstViolation)));
+        }
+    }
+
+    /**
+     * Assert that both lists contain equal time stamps (truncated to the precision) at the same indexes.
+     *
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param precision the precision, for example {@link java.time.temporal.ChronoUnit#MILLIS}
+     * @see #sameOrder(String, List, List, TemporalUnit)
+     */
+    public static void sameOrder(final List<Instant> expected, final List<Instant> found,
+            final TemporalUnit precision) {
+        TimeAssert.sameOrder(null, expected, found, precision);
+    }
+
+    /**
+     * Assert that both lists contain time stamps that differ at most by the tolerance at the same indexes.
+     * The failure reports the number of violations and the maximal deviation with its index.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param tolerance the maximal (absolute) difference
+     */
+    public static void sameOrderWithin(final String message, final List<Instant> expected,
+            final List<Instant> found, final Duration tolerance) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        long toleranceNanos = toleranceNanos(tolerance);
+
+        AssertUtil.sameSize(message, expected, found);
+        int violations = 0;
+        int maxIndex = -1;
+        long maxDeviation = -1;
+        Iterator<Instant> expectedIterator = expected.iterator();
+        Iterator<Instant> foundIterator = found.iterator();
+        for (int i = 0; expectedIterator.hasNext(); i++) {
+            long deviation = deviationNanosOrNull(expectedIterator.next(), foundIterator.next());
+            if (deviation > toleranceNanos) {
+                violations++;
+                if (deviation > maxDeviation) {
+                    maxDeviation = deviation;
+                    maxIndex = i;
+                }
+            }
+        }
+        if (violations > 0) {
+            failDeviation(message, tolerance, violations, expected.size(), "index", maxIndex,
+                    expected.get(maxIndex), found.get(maxIndex));
+        }
+    }
+
+    /**
+     * Assert that both lists contain time stamps that differ at most by the tolerance at the same indexes.
+     *
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param tolerance the maximal (absolute) difference
+     * @see #sameOrderWithin(String, List, List, Duration)
+     */
+    public static void sameOrderWithin(final List<Instant> expected, final List<Instant> found,
+            final Duration tolerance) {
+        TimeAssert.sameOrderWithin(null, expected, found, tolerance);
+    }
+
+    /**
+     * Assert that both collections contain the same time stamps (truncated to the precision), the order does not
+     * matter, but the number of appearances does.
+     * The truncated time stamps are counted in a hash table, so the check needs linear time.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param precision the precision, for example {@link java.time.temporal.ChronoUnit#MILLIS}
+     */
+    public static void containsExact(final String message, final Collection<Instant> expected,
+            final Collection<Instant> found, final TemporalUnit precision) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        long unitNanos = unitNanos(precision);
+
+        AssertUtil.sameSize(message, expected, found);
+        List<Instant> unexpected = new ArrayList<Instant>();
+        List<Instant> missing = new ArrayList<Instant>();
+        int unexpectedCount;
+        try {
+            unexpectedCount = countUnexpectedByKey(expected, found, unitNanos, unexpected, missing);
+        } catch (ArithmeticException e) {
+            /* time stamps beyond the year 2262 have no key at nanosecond precision, count the truncated instants */
+            unexpected.clear();
+            missing.clear();
+            unexpectedCount = countUnexpectedTruncated(expected, found, precision, unexpected, missing);
+        }
+
+        if (unexpectedCount > 0) {
+            AssertUtil.fail(AssertUtil.format(message,
+                    "[Assertion failed] - collections does not contain equal time stamps at precision " + precision
+                            + " - " + unexpectedCount + " unexpected " + unexpected + ", missing (truncated) "
+                            + missing));
+        }
+    }
+
+    /**
+     * Assert that both collections contain the same time stamps (truncated to the precision), the order does not
+     * matter, but the number of appearances does.
+     *
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param precision the precision, for example {@link java.time.temporal.ChronoUnit#MILLIS}
+     * @see #containsExact(String, Collection, Collection, TemporalUnit)
+     */
+    public static void containsExact(final Collection<Instant> expected, final Collection<Instant> found,
+            final TemporalUnit precision) {
+        TimeAssert.containsExact(null, expected, found, precision);
+    }
+
+    /**
+     * Count the found time stamps that are not expected, by counting the {@link #key(Instant, long) keys} of the
+     * expected time stamps in a hash table.
+     *
+     * @param expected the expected time stamps, same size as found
+     * @param found the found time stamps
+     * @param unitNanos the precision in nanoseconds
+     * @param unexpected collects the first unexpected time stamps
+     * @param missing collects the first missing (truncated) time stamps
+     * @return the number of unexpected time stamps
+     * @throws ArithmeticException if a time stamp has no key at this precision
+     */
+    private static int countUnexpectedByKey(final Collection<Instant> expected, final Collection<Instant> found,
+            final long unitNanos, final List<Instant> unexpected, final List<Instant> missing) {
+        LongCounts counts = new LongCounts(expected.size());
+        int nullCount = 0;
+        for (Instant instant : expected) {
+            if (instant == null) {
+                nullCount++;
+            } else {
+                counts.increment(key(instant, unitNanos));
+            }
+        }
+
+        int unexpectedCount = 0;
+        for (Instant instant : found) {
+            boolean matched;
+            if (instant == null) {
+                matched = nullCount > 0;
+                nullCount -= matched ? 1 : 0;
+            } else {
+                matched = counts.decrement(key(instant, unitNanos));
+            }
+            if (!matched) {
+                if (unexpectedCount < MAX_REPORTED_TIME_STAMPS) {
+                    unexpected.add(instant);
+                }
+                unexpectedCount++;
+            }
+        }
+
+        if (unexpectedCount > 0) {
+            /* same size, so there are as many missing as unexpected time stamps */
+            if (nullCount > 0) {
+                missing.add(null);
+            }
+            for (long key : counts.positiveKeys(MAX_REPORTED_TIME_STAMPS - missing.size())) {
+                missing.add(fromKey(key, unitNanos));
+            }
+        }
+        return unexpectedCount;
+    }
+
+    /**
+     * Count the found time stamps that are not expected, by counting the truncated expected time stamps
+     * in a hash map. Slower than {@link #countUnexpectedByKey(Collection, Collection, long, List, List)},
+     * but it supports all time stamps.
+     *
+     * @param expected the expected time stamps, same size as found
+     * @param found the found time stamps
+     * @param precision the precision
+     * @param unexpected collects the first unexpected time stamps
+     * @param missing collects the first missing (truncated) time stamps
+     * @return the number of unexpected time stamps
+     */
+    private static int countUnexpectedTruncated(final Collection<Instant> expected, final Collection<Instant> found,
+            final TemporalUnit precision, final List<Instant> unexpected, final List<Instant> missing) {
+        Map<Instant, int[]> counts = new HashMap<Instant, int[]>();
+        for (Instant instant : expected) {
+            Instant truncated = instant == null ? null : instant.truncatedTo(precision);
+            int[] count = counts.get(truncated);
+            if (count == null) {
+                counts.put(truncated, new int[] { 1 });
+            } else {
+                count[0]++;
+            }
+        }
+
+        int unexpectedCount = 0;
+        for (Instant instant : found) {
+            int[] count = counts.get(instant == null ? null : instant.truncatedTo(precision));
+            if (count != null && count[0] > 0) {
+                count[0]--;
+            } else {
+                if (unexpectedCount < MAX_REPORTED_TIME_STAMPS) {
+                    unexpected.add(instant);
+                }
+                unexpectedCount++;
+            }
+        }
+
+        if (unexpectedCount > 0) {
+            for (Map.Entry<Instant, int[]> entry : counts.entrySet()) {
+                if (entry.getValue()[0] > 0 && missing.size() < MAX_REPORTED_TIME_STAMPS) {
+                    missing.add(entry.getKey());
+                }
+            }
+        }
+        return unexpectedCount;
+    }
+
+    /**
+     * Assert that both collections contain time stamps that can be paired, so that each pair differs at most by
+     * the tolerance. The order does not matter.
+     * Both collections are sorted and compared element by element, so the check needs O(n log n) time.
+     *
+     * @param message additional message for the failure description when the check fails
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param tolerance the maximal (absolute) difference
+     */
+    public static void containsExactWithin(final String message, final Collection<Instant> expected,
+            final Collection<Instant> found, final Duration tolerance) {
+        Check.notNullArgument(expected, "expected");
+        Check.notNullArgument(found, "found");
+        long toleranceNanos = toleranceNanos(tolerance);
+
+        AssertUtil.sameSize(message, expected, found);
+        Instant[] sortedExpected = sortedWithoutNull(expected);
+        Instant[] sortedFound = sortedWithoutNull(found);
+        if (sortedExpected.length != sortedFound.length) {
+            AssertUtil.failCompare(AssertUtil.format(message,
+                    "[Assertion failed] - collections does not contain the same number of null time stamps"),
+                    expected.size() - sortedExpected.length,
+                    found.size() - sortedFound.length);
+        }
+
+        int violations = 0;
+        int maxIndex = -1;
+        long maxDeviation = -1;
+        for (int i = 0; i < sortedExpected.length; i++) {
+            long deviation = deviationNanos(sortedExpected[i], sortedFound[i]);
+            if (deviation > toleranceNanos) {
+                violations++;
+                if (deviation > maxDeviation) {
+                    maxDeviation = deviation;
+                    maxIndex = i;
+                }
+            }
+        }
+        if (violations > 0) {
+            failDeviation(message, tolerance, violations, sortedExpected.length, "sorted index", maxIndex,
+                    sortedExpected[maxIndex], sortedFound[maxIndex]);
+        }
+    }
+
+    /**
+     * Assert that both collections contain time stamps that can be paired, so that each pair differs at most by
+     * the tolerance. The order does not matter.
+     *
+     * @param expected the expected time stamps - elements can be {@code null}
+     * @param found the found time stamps - elements can be {@code null}
+     * @param tolerance the maximal (absolute) difference
+     * @see #containsExactWithin(String, Collection, Collection, Duration)
+     */
+    public static void containsExactWithin(final Collection<Instant> expected, final Collection<Instant> found,
+            final Duration tolerance) {
+        TimeAssert.containsExactWithin(null, expected, found, tolerance);
+    }
+
+    /**
+     * Fail because of time stamps that differ more than the tolerance.
+     *
+     * @param message the message
+     * @param tolerance the tolerance
+     * @param violations the number of violations
+     * @param total the number of compared pairs
+     * @param indexName the name of the index
+     * @param maxIndex the index of the maximal deviation
+     * @param expected the expected time stamp at this index
+     * @param found the found time stamp at this index
+     */
+    private static void failDeviation(final String message, final Duration tolerance, final int violations,
+            final int total, final String indexName, final int maxIndex, final Instant expected,
+            final Instant found) {
+        AssertUtil.fail(AssertUtil.format(message,
+                "[Assertion failed] - time stamps differ more than the tolerance " + tolerance + " - " + violations
+                        + " of " + total + " differ, maximal deviation "
+                        + (expected != null && found != null ? Duration.between(expected, found) : "null")
+                        + " at " + indexName + " " + maxIndex + " - expected=" + expected + ", found=" + found));
+    }
+
+    /**
+     * Copy the non null time stamps into a sorted array.
+     *
+     * @param instants the time stamps
+     * @return the sorted array
+     */
+    private static Instant[] sortedWithoutNull(final Collection<Instant> instants) {
+        Instant[] result = new Instant[instants.size()];
+        int count = 0;
+        for (Instant instant : instants) {
+            if (instant != null) {
+                result[count++] = instant;
+            }
+        }
+        Instant[] sorted = count == result.length ? result : Arrays.copyOf(result, count);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    /**
+     * Check if both time stamps are equal, when truncated.
+     *
+     * @param expected the expected - can be {@code null}
+     * @param found the found - can be {@code null}
+     * @param unitNanos the precision in nanoseconds
+     * @return true, if equal
+     */
+    private static boolean equalKeys(final Instant expected, final Instant found, final long unitNanos) {
+        if (expected == null || found == null) {
+            return expected == found;
+        }
+        if (unitNanos >= NANOS_PER_SECOND) {
+            long unitSeconds = unitNanos / NANOS_PER_SECOND;
+            return Math.floorDiv(expected.getEpochSecond(), unitSeconds) == Math.floorDiv(found.getEpochSecond(),
+                    unitSeconds);
+        }
+        return expected.getEpochSecond() == found.getEpochSecond()
+                && expected.getNano() / unitNanos == found.getNano() / unitNanos;
+    }
+
+    /**
+     * Calculate the hash key: the number of precision units since the epoch.
+     *
+     * @param instant the time stamp
+     * @param unitNanos the precision in nanoseconds
+     * @return the key
+     * @throws ArithmeticException if the number of units does not fit in a long (possible for sub second
+     *         precisions only)
+     */
+    private static long key(final Instant instant, final long unitNanos) {
+        if (unitNanos >= NANOS_PER_SECOND) {
+            return Math.floorDiv(instant.getEpochSecond(), unitNanos / NANOS_PER_SECOND);
+        }
+        return Math.addExact(Math.multiplyExact(instant.getEpochSecond(), NANOS_PER_SECOND / unitNanos),
+                instant.getNano() / unitNanos);
+    }
+
+    /**
+     * Convert a hash key back to the truncated time stamp.
+     *
+     * @param key the key
+     * @param unitNanos the precision in nanoseconds
+     * @return the truncated time stamp
+     */
+    private static Instant fromKey(final long key, final long unitNanos) {
+        if (unitNanos >= NANOS_PER_SECOND) {
+            return Instant.ofEpochSecond(key * (unitNanos / NANOS_PER_SECOND));
+        }
+        long unitsPerSecond = NANOS_PER_SECOND / unitNanos;
+        return Instant.ofEpochSecond(Math.floorDiv(key, unitsPerSecond),
+                Math.floorMod(key, unitsPerSecond) * unitNanos);
+    }
+
+    /**
+     * Calculate the absolute difference in nanoseconds, saturated at {@link Long#MAX_VALUE}.
+     *
+     * @param expected the expected
+     * @param found the found
+     * @return the deviation
+     */
+    private static long deviationNanos(final Instant expected, final Instant found) {
+        long seconds = found.getEpochSecond() - expected.getEpochSecond();
+        if (Math.abs(seconds) >= Long.MAX_VALUE / NANOS_PER_SECOND - 1) {
+            return Long.MAX_VALUE;
+        }
+        return Math.abs(seconds * NANOS_PER_SECOND + (found.getNano() - expected.getNano()));
+    }
+
+    /**
+     * Calculate the absolute difference in nanoseconds, for time stamps that can be {@code null}.
+     *
+     * @param expected the expected - can be {@code null}
+     * @param found the found - can be {@code null}
+     * @return the deviation, {@code 0} if both are {@code null}, {@link Long#MAX_VALUE} if one is {@code null}
+     */
+    private static long deviationNanosOrNull(final Instant expected, final Instant found) {
+        if (expected == null || found == null) {
+            return expected == found ? 0 : Long.MAX_VALUE;
+        }
+        return deviationNanos(expected, found);
+    }
+
+    /**
+     * Get the length of the precision unit, and check that it divides a day evenly.
+     *
+     * @param precision the precision
+     * @return the nanoseconds of the unit
+     */
+    private static long unitNanos(final TemporalUnit precision) {
+        Check.notNullArgument(precision, "precision");
+
+        /* DAYS is estimated (because of daylight saving time), but an Instant is truncated to exactly 24 hours */
+        if (precision == ChronoUnit.DAYS) {
+            return NANOS_PER_DAY;
+        }
+        Duration duration = precision.getDuration();
+        if (precision.isDurationEstimated() || duration.compareTo(Duration.ofDays(1)) > 0) {
+            throw new IllegalArgumentException(
+                    "precision " + precision + " is not supported, it must be a day or divide a day");
+        }
+        long nanos = duration.toNanos();
+        if (nanos <= 0 || (nanos <= NANOS_PER_SECOND ? NANOS_PER_SECOND % nanos : NANOS_PER_DAY % nanos) != 0
+                || (nanos > NANOS_PER_SECOND && nanos % NANOS_PER_SECOND != 0)) {
+            throw new IllegalArgumentException(
+                    "precision " + precision + " is not supported, it must be a day or divide a day");
+        }
+        return nanos;
+    }
+
+    /**
+     * Get the tolerance in nanoseconds, saturated at {@link Long#MAX_VALUE}.
+     *
+     * @param tolerance the tolerance
+     * @return the nanoseconds
+     */
+    private static long toleranceNanos(final Duration tolerance) {
+        Check.notNullArgument(tolerance, "tolerance");
+        if (tolerance.isNegative()) {
+            throw new IllegalArgumentException("tolerance must not be negative, but is " + tolerance);
+        }
+        try {
+            return tolerance.toNanos();
+        } catch (ArithmeticException e) {
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.queomedia.commons.asserts;
+
+/**
+ * The kind of threads that run the workers of a throughput check.
+ *
+ * @see PerformanceAssert#throughputAtLeast(String, Runnable, int, WorkerThreads, java.time.Duration, double)
+ */
+public enum WorkerThreads {
+
+    /** Platform (operating system) threads. */
+    PLATFORM,
+
+    /**
+     * Virtual threads, if the runtime supports them (Java 21+), otherwise platform threads.
+     * The failure description names the used kind.
+     */
+    VIRTUAL;
+}
@@ -0,0 +1,115 @@
+package com.queomedia.commons.asserts;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Prove that passing checks do not allocate, by measuring the allocated bytes of the current thread.
+ */
+public class AllocationFreeTest {
+
+    private static final int WARMUP_CALLS = 50_000;
+
+    private static final int MEASURED_CALLS = 10_000;
+
+    /** The size of a collection iterator (for example 40 bytes for a HashMap iterator without compressed oops). */
+    private static final int MAX_ITERATOR_BYTES = 64;
+
+    private com.sun.management.ThreadMXBean threadBean;
+
+    private final List<Integer> expected = new ArrayList<>();
+
+    private final List<Integer> found = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        Assumptions.assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean,
+                "thread allocation measurement is not supported");
+        this.threadBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Assumptions.assumeTrue(this.threadBean.isThreadAllocatedMemorySupported(),
+                "thread allocation measurement is not supported");
+        this.threadBean.setThreadAllocatedMemoryEnabled(true);
+
+        for (int i = 0; i < 100; i++) {
+            this.expected.add(i);
+            this.found.add(i);
+        }
+        Collections.reverse(this.found);
+    }
+
+    @Test
+    public void testContainsExact() {
+        assertAllocationFree(() -> AssertUtil.containsExact(this.expected, this.found));
+    }
+
+    /**
+     * Collections that are no plain array list are captured to the reused snapshot buffer, so no buffer is
+     * allocated. Only the iterator of the collection can be allocated, when the JIT has seen more than one
+     * collection type at the capture (then escape analysis can not remove it), so each call may allocate
+     * one iterator, but less than a copy of the 100 elements.
+     */
+    @Test
+    public void testContainsExactLinkedListAndHashSet() {
+        LinkedList<Integer> linkedFound = new LinkedList<>(this.found);
+        HashSet<Integer> setFound = new HashSet<>(this.found);
+        assertAllocationAtMost(() -> {
+            AssertUtil.containsExact(this.expected, linkedFound);
+            AssertUtil.containsExact(this.expected, setFound);
+        }, 2 * MAX_ITERATOR_BYTES);
+    }
+
+    @Test
+    public void testContainsAtLeast() {
+        assertAllocationFree(() -> AssertUtil.containsAtLeast(null, this.expected, this.found));
+    }
+
+    @Test
+    public void testSameOrderAndSize() {
+        assertAllocationFree(() -> {
+            AssertUtil.sameOrder(this.expected, this.expected);
+            AssertUtil.sameSize(this.expected, this.found);
+            AssertUtil.hasSize(100, this.found);
+        });
+    }
+
+    @Test
+    public void testIsEmpty() {
+        List<Integer> empty = new ArrayList<>();
+        assertAllocationFree(() -> AssertUtil.isEmpty(null, empty));
+    }
+
+    private void assertAllocationFree(final Runnable check) {
+        assertAllocationAtMost(check, 0);
+    }
+
+    private void assertAllocationAtMost(final Runnable check, final int bytesPerCall) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            check.run();
+        }
+        long threadId = Thread.currentThread().getId();
+
+        /* the measurement itself may allocate a few bytes */
+        long calibrationStart = this.threadBean.getThreadAllocatedBytes(threadId);
+        long calibrationEnd = this.threadBean.getThreadAllocatedBytes(threadId);
+        long measurementCost = calibrationEnd - calibrationStart;
+
+        long start = this.threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            check.run();
+        }
+        long allocated = this.threadBean.getThreadAllocatedBytes(threadId) - start - measurementCost;
+
+        /* less than one byte per call more: any allocation in the check would be at least 16 bytes per call */
+        Assertions.assertTrue(allocated < (long) MEASURED_CALLS * (bytesPerCall + 1),
+                "passing checks allocated " + allocated + " bytes in " + MEASURED_CALLS + " calls");
+    }
+}
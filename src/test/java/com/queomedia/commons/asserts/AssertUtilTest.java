@@ -2,9 +2,21 @@ package com.queomedia.commons.asserts;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Disabled;
@@ -12,6 +24,7 @@ import org.junit.jupiter.api.Test;
 import org.opentest4j.AssertionFailedError;
 
 import com.queomedia.commons.equals.EqualsChecker;
+import com.queomedia.commons.equals.NativeEqualsChecker;
 
 public class AssertUtilTest {
 
@@ -132,6 +145,331 @@ public class AssertUtilTest {
         AssertUtil.containsExact(Arrays.asList(10, 20), Arrays.asList(20, 10), new LessThanEqualsEqualsChecker());
     }
 
+    @Test
+    public void testContainsInOrder() {
+        AssertUtil.containsInOrder(Arrays.asList(1, 3, 3), Arrays.asList(0, 1, 2, 3, 4, 3));
+    }
+
+    @Test
+    public void testContainsInOrder_wrongOrder() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.containsInOrder(Arrays.asList(1, 3, 2), Arrays.asList(1, 2, 3));
+        });
+        /* the actual value is the matched prefix */
+        Assertions.assertEquals(Arrays.asList(1, 3), error.getActual().getValue());
+    }
+
+    @Test
+    public void testContainsInOrder_iteratorWithEqualsChecker() {
+        AssertUtil.containsInOrder(null,
+                Arrays.asList(10, 20),
+                Arrays.asList(5, 12, 15, 30).iterator(),
+                new LessThanEqualsEqualsChecker());
+    }
+
+    @Test
+    public void testNoDuplicates() {
+        AssertUtil.noDuplicates(Arrays.asList(1, 2, null, 3));
+        AssertUtil.noDuplicates(new long[] { 0, 1, -1, Long.MAX_VALUE });
+        AssertUtil.noDuplicates(new int[] { 0, 1, -1, Integer.MIN_VALUE });
+    }
+
+    @Test
+    public void testNoDuplicates_withDuplicates() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicates(Arrays.asList("a", "b", "a", null, null));
+        });
+        Assertions.assertTrue(error.getMessage().contains("element=a at index 0 and 2"), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("element=null at index 3 and 4"), error.getMessage());
+    }
+
+    @Test
+    public void testNoDuplicates_primitiveStopsAfterLimit() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicates(null, new long[] { 0, 0, 5, 5, 7, 7 }, 2);
+        });
+        Assertions.assertTrue(error.getMessage().contains("stopped after the first 2 duplicates"), error.getMessage());
+        Assertions.assertFalse(error.getMessage().contains("element=7"), error.getMessage());
+    }
+
+    /** The last duplicate is the last element, so the check did not stop early. */
+    @Test
+    public void testNoDuplicates_exactlyLimit() {
+        AssertionFailedError primitive = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicates(null, new int[] { 0, 0, 5, 5 }, 2);
+        });
+        Assertions.assertTrue(primitive.getMessage().contains(" - 2 duplicates: "), primitive.getMessage());
+
+        AssertionFailedError byKey = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicatesBy(null, Arrays.asList("a", "b", "a", "b"), String::valueOf, 2);
+        });
+        Assertions.assertTrue(byKey.getMessage().contains(" - 2 duplicates: "), byKey.getMessage());
+
+        AssertionFailedError pairwise = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicates(null, Arrays.asList(1, 2, 1, 2), NativeEqualsChecker.<Integer> getInstance(), 2);
+        });
+        Assertions.assertTrue(pairwise.getMessage().contains(" - 2 duplicates: "), pairwise.getMessage());
+    }
+
+    @Test
+    public void testNoDuplicatesBy_key() {
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicatesBy(null, Arrays.asList("a", "bb", "c"), String::length);
+        });
+    }
+
+    /** The size of the queue is not asked, the index grows beyond its initial capacity. */
+    @Test
+    public void testNoDuplicatesBy_expensiveSize() {
+        List<Integer> elements = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            elements.add(i);
+        }
+        AssertUtil.noDuplicatesBy(null, new NoSizeQueue<>(elements), String::valueOf, 1);
+
+        elements.add(42);
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicatesBy(null, new NoSizeQueue<>(elements), String::valueOf, 1);
+        });
+        Assertions.assertTrue(error.getMessage().contains("element=42 at index 42 and 100"), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains(" - 1 duplicates: "), error.getMessage());
+    }
+
+    @Test
+    public void testNoDuplicates_equalsChecker() {
+        AssertUtil.noDuplicates(null, Arrays.asList(1, 2, 3), NativeEqualsChecker.<Integer> getInstance());
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.noDuplicates(null, Arrays.asList(1, 2, 3), new LessThanEqualsEqualsChecker());
+        });
+    }
+
+    @Test
+    public void testIsSorted() {
+        AssertUtil.isSorted(null, Arrays.asList(1, 2, 2, 3), SortOrder.ASCENDING);
+        AssertUtil.isSorted(null, new LinkedList<>(Arrays.asList(3, 2, 1)), SortOrder.STRICTLY_DESCENDING);
+        AssertUtil.isSorted(null, new double[] { -1.5, 0, 0.5 }, SortOrder.STRICTLY_ASCENDING);
+    }
+
+    @Test
+    public void testIsSorted_notStrict() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.isSorted(null, Arrays.asList(1, 2, 2, 3), SortOrder.STRICTLY_ASCENDING);
+        });
+        Assertions.assertTrue(error.getMessage().contains("[1]=2, [2]=2, [3]=3"), error.getMessage());
+    }
+
+    /**
+     * The array is large enough to be scanned in parallel chunks, and has two violations far apart (at 30% and 70%),
+     * so whichever chunk finds its violation first, the one with the smaller index must be reported.
+     */
+    @Test
+    public void testIsSorted_largeArray() {
+        long[] values = new long[1_000_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        AssertUtil.isSorted(null, values, SortOrder.STRICTLY_ASCENDING);
+
+        values[700_000] = 0;
+        values[300_000] = 0;
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.isSorted(null, values, SortOrder.ASCENDING);
+        });
+        Assertions.assertTrue(error.getMessage().contains("first violation at index 300000"), error.getMessage());
+    }
+
+    @Test
+    public void testAllMatch() {
+        List<Integer> values = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        AssertUtil.allMatch(values, value -> value >= 0);
+        AssertUtil.noneMatch(values, value -> value < 0);
+        AssertUtil.anyMatch(values, value -> value == 9_999);
+    }
+
+    @Test
+    public void testAllMatch_violation() {
+        List<Integer> values = IntStream.range(0, 10_000).boxed().collect(Collectors.toList());
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.allMatch(null, values, value -> value != 5_000);
+        });
+        Assertions.assertTrue(error.getMessage().contains("[5000]=5000"), error.getMessage());
+    }
+
+    /** The check must stop after the limit, instead of evaluating the predicate for all elements. */
+    @Test
+    public void testNoneMatch_collectsViolationsAndStops() {
+        List<Integer> values = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        AtomicInteger evaluations = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+                AssertUtil.noneMatch(null, values, value -> {
+                    evaluations.incrementAndGet();
+                    return true;
+                }, executor, 3);
+            });
+            Assertions.assertTrue(error.getMessage().contains("stopped after 3 violations: [0]=0, [1]=1, [2]=2"),
+                    error.getMessage());
+            Assertions.assertTrue(evaluations.get() < values.size(), "evaluations: " + evaluations.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** The violations are spread over all chunks, the first ones must be reported. */
+    @Test
+    public void testNoneMatch_reportsFirstViolations() {
+        List<Integer> values = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+                AssertUtil.noneMatch(null, values, value -> value % 1000 == 999, executor, 2);
+            });
+            Assertions.assertTrue(error.getMessage().contains("stopped after 2 violations: [999]=999, [1999]=1999"),
+                    error.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /** The last violation is the last element, so the check did not stop early. */
+    @Test
+    public void testNoneMatch_exactlyMaxViolations() {
+        List<Integer> values = IntStream.range(0, 100_000).boxed().collect(Collectors.toList());
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+                AssertUtil.noneMatch(null, values, value -> value == 10 || value == 99_999, executor, 2);
+            });
+            Assertions.assertTrue(error.getMessage().contains(" - 2 violations: [10]=10, [99999]=99999"),
+                    error.getMessage());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void testAnyMatch_noMatch() {
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.anyMatch(new LinkedList<>(Arrays.asList(1, 2, 3)), value -> value > 3);
+        });
+    }
+
+    @Test
+    public void testMapContainsExact() {
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", null);
+        Map<String, Integer> found = new TreeMap<>(Comparator.nullsFirst(Comparator.<String> naturalOrder()));
+        found.put("b", null);
+        found.put("a", 1);
+
+        AssertUtil.containsExact(expected, found);
+    }
+
+    @Test
+    public void testMapContainsExact_differences() {
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        expected.put("b", 2);
+        expected.put("c", 3);
+        Map<String, Integer> found = new HashMap<>();
+        found.put("a", 1);
+        found.put("b", 20);
+        found.put("d", 4);
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.containsExact(expected, found);
+        });
+        Assertions.assertTrue(error.getMessage().contains("1 missing keys [c]"), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("1 extra keys [d]"), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("b: expected=2 found=20"), error.getMessage());
+    }
+
+    @Test
+    public void testMapContainsAtLeast() {
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("a", 10);
+        Map<String, Integer> found = new HashMap<>();
+        found.put("a", 12);
+        found.put("b", 1);
+
+        AssertUtil.containsAtLeast(expected, found, new LessThanEqualsEqualsChecker());
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.containsAtLeast(expected, found);
+        });
+    }
+
+    /** The size of a concurrent linked queue is expensive, so it must not be used by the passing checks. */
+    @Test
+    public void testHasSize_expensiveSize() {
+        ConcurrentLinkedQueue<Integer> queue = new NoSizeQueue<>(Arrays.asList(1, 2, 3));
+
+        AssertUtil.hasSize(3, queue);
+        AssertUtil.isEmptyOrNull(new NoSizeQueue<>(Collections.<Integer> emptyList()));
+        AssertUtil.sameSize(Arrays.asList(4, 5, 6), queue);
+        AssertUtil.containsExact(Arrays.asList(3, 2, 1), queue);
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.sameSize(Arrays.asList(4, 5), new NoSizeQueue<>(Arrays.asList(1, 2, 3)));
+        });
+    }
+
+    @Test
+    public void testHasSize_expensiveSizeFailureNotesTheCountLimit() {
+        AssertionFailedError tooMany = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.hasSize(2, new NoSizeQueue<>(Arrays.asList(1, 2, 3, 4)));
+        });
+        Assertions.assertTrue(tooMany.getMessage().contains("wrong size (counted up to 3 elements)"),
+                tooMany.getMessage());
+
+        AssertionFailedError tooFew = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.hasSize(5, new NoSizeQueue<>(Arrays.asList(1, 2, 3, 4)));
+        });
+        Assertions.assertFalse(tooFew.getMessage().contains("counted up to"), tooFew.getMessage());
+    }
+
+    @Test
+    public void testHasSize_infiniteIterable() {
+        Iterable<Integer> infinite = () -> Stream.iterate(0, i -> i + 1).iterator();
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.hasSize(null, 5, infinite);
+        });
+        Assertions.assertEquals(6, error.getActual().getValue());
+    }
+
+    @Test
+    public void testHasSize_stream() {
+        AssertUtil.hasSize(null, 3, Stream.of(1, 2, 3));
+        AssertUtil.isEmpty(null, Stream.empty());
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.hasSize(null, 2, Stream.iterate(0, i -> i + 1));
+        });
+    }
+
+    private static final class NoSizeQueue<E> extends ConcurrentLinkedQueue<E> {
+        private static final long serialVersionUID = 1L;
+
+        NoSizeQueue(Collection<E> elements) {
+            super(elements);
+        }
+
+        @Override
+        public int size() {
+            throw new UnsupportedOperationException("size is expensive");
+        }
+
+        @Override
+        public Object[] toArray() {
+            /* ArrayList(Collection) uses toArray, the default implementation calls size */
+            List<Object> elements = new ArrayList<>();
+            for (E element : this) {
+                elements.add(element);
+            }
+            return elements.toArray();
+        }
+    }
+
     private static final class LessThanEqualsEqualsChecker implements EqualsChecker<Integer, Integer> {
         @Override
         public boolean equals(Integer objectT, Integer objectK) {
@@ -198,4 +536,95 @@ public class AssertUtilTest {
         });
     }
 
+    @Test
+    public void testCheckContainsExact() {
+        CheckResult result = AssertUtil.checkContainsExact(null, Arrays.asList(1, 2, 3), Arrays.asList(3, 2, 1));
+
+        Assertions.assertSame(CheckResult.SUCCESS, result);
+        Assertions.assertTrue(result.isSuccess());
+        result.orFail();
+    }
+
+    @Test
+    public void testCheckContainsExactOneElementWithChecker() {
+        EqualsChecker<Integer, Integer> checker = NativeEqualsChecker.getInstance();
+        Assertions.assertSame(CheckResult.SUCCESS,
+                AssertUtil.checkContainsExact(null, (Integer) 1, Arrays.asList(1), checker));
+
+        CheckResult wrongSize = AssertUtil.checkContainsExact(null, (Integer) 1, Arrays.asList(1, 2), checker);
+        Assertions.assertTrue(wrongSize.getDescription().contains("wrong size"), wrongSize.getDescription());
+        CheckResult wrongElement = AssertUtil.checkContainsExact(null, (Integer) 1, Arrays.asList(2), checker);
+        Assertions.assertTrue(wrongElement.isFailure());
+        Assertions.assertEquals(1, wrongElement.getExpected());
+    }
+
+    @Test
+    public void testCheckMapContainsExactAndAtLeast() {
+        Map<String, Integer> expected = new HashMap<>();
+        expected.put("a", 1);
+        Map<String, Integer> found = new HashMap<>(expected);
+        found.put("b", 2);
+        EqualsChecker<Integer, Integer> checker = NativeEqualsChecker.getInstance();
+
+        Assertions.assertSame(CheckResult.SUCCESS, AssertUtil.checkContainsAtLeast(null, expected, found, checker));
+        CheckResult result = AssertUtil.checkContainsExact(null, expected, found, checker);
+        Assertions.assertTrue(result.isComparison());
+        Assertions.assertTrue(result.getDescription().contains("1 extra keys [b]"), result.getDescription());
+        Assertions.assertEquals(Collections.singletonMap("b", 2), result.getActual());
+    }
+
+    @Test
+    public void testCheckContainsExactFailure() {
+        CheckResult result = AssertUtil.checkContainsExact("msg", Arrays.asList(1, 2, 3), Arrays.asList(1, 2, 4));
+
+        Assertions.assertTrue(result.isFailure());
+        Assertions.assertTrue(result.isComparison());
+        Assertions.assertTrue(result.getDescription().startsWith("msg"));
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), result.getExpected());
+        Assertions.assertEquals(Arrays.asList(1, 2, 4), result.getActual());
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, result::orFail);
+        Assertions.assertTrue(error.getMessage().startsWith(result.getDescription()));
+    }
+
+    @Test
+    public void testCheckHasSizeFailureDoesNotThrow() {
+        CheckResult result = AssertUtil.checkHasSize(null, 1, Arrays.asList(1, 2));
+
+        Assertions.assertTrue(result.isFailure());
+        Assertions.assertEquals(1, result.getExpected());
+        Assertions.assertEquals(2, result.getActual());
+    }
+
+    @Test
+    public void testCheckHasSizeFailureRendersOnlyTheFirstElements() {
+        List<Integer> found = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+
+        CheckResult result = AssertUtil.checkHasSize(null, 1, found);
+
+        Assertions.assertTrue(result.getDescription().endsWith(
+                "found collection=[0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 11, 12, 13, 14, 15, 16, 17, 18, 19, ... "
+                        + "(1000 elements)]"),
+                result.getDescription());
+        Assertions.assertEquals(1000, result.getActual());
+    }
+
+    @Test
+    public void testContainsNotFailureDescription() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.containsNot(null, 2, Arrays.asList(1, 2));
+        });
+
+        Assertions.assertEquals("[Assertion failed] - collection [1, 2] does contain the not expected item 2",
+                error.getMessage());
+    }
+
+    @Test
+    public void testCheckSameOrderWithDifferentSize() {
+        CheckResult result = AssertUtil.checkSameOrder(null, Arrays.asList(1, 2), Arrays.asList(1, 2, 3));
+
+        Assertions.assertTrue(result.isFailure());
+        Assertions.assertTrue(result.getDescription().contains("same size"));
+    }
+
 }
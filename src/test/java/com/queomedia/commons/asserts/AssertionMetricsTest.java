@@ -0,0 +1,153 @@
+package com.queomedia.commons.asserts;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import com.queomedia.commons.equals.NativeEqualsChecker;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+public class AssertionMetricsTest {
+
+    @AfterEach
+    public void removeListener() {
+        AssertionMetrics.setListener(null);
+    }
+
+    @Test
+    public void testListenerReceivesOneCallPerAssertion() {
+        List<String> calls = new ArrayList<String>();
+        AssertionMetrics.setListener((assertion, algorithm, expectedSize, foundSize, durationNanos, passed) -> calls
+                .add(assertion + "/" + algorithm + "/" + expectedSize + "/" + foundSize + "/" + passed));
+
+        AssertUtil.containsExact(Arrays.asList(1, 2, 3), new LinkedList<Integer>(Arrays.asList(3, 2, 1)));
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.sameOrder(Arrays.asList(1, 2), Arrays.asList(2, 1));
+        });
+
+        /* containsExact uses the same size check internally, but only reports itself */
+        Assertions.assertEquals(Arrays.asList("containsExact/snapshot/3/3/true", "sameOrder/indexed/2/2/false"),
+                calls);
+    }
+
+    @Test
+    public void testStatistics() {
+        AssertionStatistics statistics = new AssertionStatistics();
+        AssertionMetrics.setListener(statistics);
+
+        for (int i = 0; i < 10; i++) {
+            AssertUtil.containsAtLeast(Arrays.asList(1, 2), Arrays.asList(1, 2, 3));
+        }
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.containsAtLeast(Arrays.asList(4), Arrays.asList(1, 2, 3));
+        });
+
+        Assertions.assertEquals(10, statistics.getPassed("containsAtLeast"));
+        Assertions.assertEquals(1, statistics.getFailed("containsAtLeast"));
+        Assertions.assertEquals(11, statistics.getLatencies("containsAtLeast").getCount());
+        Assertions.assertNull(statistics.getLatencies("sameOrder"));
+        Assertions.assertTrue(statistics.toString().startsWith("containsAtLeast: passed=10, failed=1, count=11"));
+    }
+
+    @Test
+    public void testNotRecordedWithoutListenerAndRecording() {
+        Assertions.assertEquals(AssertionMetrics.NOT_RECORDED, AssertionMetrics.start());
+    }
+
+    @Test
+    public void testSizeNotDeterminedWithoutListener() {
+        AtomicInteger sizeCalls = new AtomicInteger();
+        List<Integer> found = new ArrayList<Integer>(Arrays.asList(1, 2, 3)) {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public int size() {
+                sizeCalls.incrementAndGet();
+                return super.size();
+            }
+        };
+
+        AssertUtil.containsAtLeast(2, found);
+        AssertUtil.containsNot(4, new HashSet<Integer>(Arrays.asList(1, 2, 3)));
+        Assertions.assertEquals(0, sizeCalls.get());
+
+        List<String> calls = new ArrayList<String>();
+        AssertionMetrics.setListener((assertion, algorithm, expectedSize, foundSize, durationNanos, passed) -> calls
+                .add(assertion + "/" + foundSize));
+        AssertUtil.containsAtLeast(2, found);
+        Assertions.assertEquals(Arrays.asList("containsAtLeast/3"), calls);
+    }
+
+    @Test
+    public void testAllAssertionsReport() {
+        List<String> calls = new ArrayList<String>();
+        AssertionMetrics.setListener((assertion, algorithm, expectedSize, foundSize, durationNanos, passed) -> calls
+                .add(assertion + "/" + passed));
+
+        AssertUtil.containsInOrder(Arrays.asList(1, 3), Arrays.asList(1, 2, 3));
+        AssertUtil.allMatch(Arrays.asList(1, 2), i -> i > 0);
+        AssertUtil.noneMatch(Arrays.asList(1, 2), i -> i > 5);
+        AssertUtil.anyMatch(Arrays.asList(1, 2), i -> i > 1);
+        AssertUtil.isSorted(null, new int[] { 1, 2 }, SortOrder.ASCENDING);
+        AssertUtil.noDuplicates(new long[] { 1, 2 });
+        AssertUtil.containsNot(Arrays.asList(3, 4), Arrays.asList(1, 2), NativeEqualsChecker.<Integer> getInstance());
+        AssertUtil.notEquals(1, 2);
+        AssertUtil.hasSize(null, 2, (Iterable<Integer>) () -> Arrays.asList(1, 2).iterator());
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.containsExact(1, Arrays.asList(2), NativeEqualsChecker.<Integer> getInstance());
+        });
+
+        Assertions.assertEquals(Arrays.asList("containsInOrder/true",
+                "allMatch/true",
+                "noneMatch/true",
+                "anyMatch/true",
+                "isSorted/true",
+                "noDuplicates/true",
+                "containsNot/true",
+                "notEquals/true",
+                "hasSize/true",
+                "containsExact/false"), calls);
+    }
+
+    @Test
+    public void testJfrEvent() throws Exception {
+        Assumptions.assumeTrue(AssertionMetrics.isJfrAvailable(), "the flight recorder is not available");
+
+        Path file = Files.createTempFile("assertions", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("com.queomedia.commons.asserts.Assertion");
+            recording.start();
+            AssertUtil.equalsWithoutWhitespace("a b", "ab");
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> events = new ArrayList<RecordedEvent>();
+            for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+                if (event.getEventType().getName().equals("com.queomedia.commons.asserts.Assertion")) {
+                    events.add(event);
+                }
+            }
+            Assertions.assertEquals(1, events.size());
+            Assertions.assertEquals("equalsWithoutWhitespace", events.get(0).getString("assertion"));
+            Assertions.assertEquals(3, events.get(0).getInt("expectedSize"));
+            Assertions.assertTrue(events.get(0).getBoolean("passed"));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.queomedia.commons.asserts;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class AssertionSiteTest {
+
+    @Test
+    public void testOff() {
+        AssertionSite site = AssertionSite.of("test", AssertionLevel.OFF, 1);
+
+        site.check(AssertionCost.CHEAP, () -> AssertUtil.checkHasSize(null, 1, Arrays.asList(1, 2)));
+        site.check(AssertionCost.EXPENSIVE, () -> {
+            throw new IllegalStateException("must not be invoked");
+        });
+    }
+
+    @Test
+    public void testCheapOnly() {
+        AssertionSite site = AssertionSite.of("test", AssertionLevel.CHEAP, 1);
+
+        Assertions.assertTrue(site.isEnabled(AssertionCost.CHEAP));
+        Assertions.assertFalse(site.isEnabled(AssertionCost.EXPENSIVE));
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            site.check(AssertionCost.CHEAP, () -> AssertUtil.checkHasSize(null, 1, Arrays.asList(1, 2)));
+        });
+    }
+
+    @Test
+    public void testSampled() {
+        AssertionSite site = AssertionSite.of("test", AssertionLevel.SAMPLED, 10);
+
+        int executed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (site.isEnabled(AssertionCost.EXPENSIVE)) {
+                executed++;
+            }
+        }
+        Assertions.assertEquals(10, executed);
+        Assertions.assertTrue(site.isEnabled(AssertionCost.CHEAP));
+    }
+
+    @Test
+    public void testSampledChecksFirstInvocation() {
+        AssertionSite site = AssertionSite.of("test", AssertionLevel.SAMPLED, 1000);
+
+        Assertions.assertTrue(site.isEnabled(AssertionCost.EXPENSIVE));
+        Assertions.assertFalse(site.isEnabled(AssertionCost.EXPENSIVE));
+    }
+
+    @Test
+    public void testNamedSiteReadsSystemProperty() {
+        System.setProperty(AssertionSite.LEVEL_PROPERTY + ".assertionSiteTest", "cheap");
+        try {
+            Assertions.assertEquals(AssertionLevel.CHEAP, AssertionSite.named("assertionSiteTest").getLevel());
+        } finally {
+            System.clearProperty(AssertionSite.LEVEL_PROPERTY + ".assertionSiteTest");
+        }
+    }
+
+    @Test
+    public void testInvalidSystemPropertyFallsBackToDefault() {
+        System.setProperty(AssertionSite.LEVEL_PROPERTY + ".assertionSiteTest", "fuul");
+        System.setProperty(AssertionSite.SAMPLE_RATE_PROPERTY + ".assertionSiteTest", "ten");
+        try {
+            AssertionSite site = AssertionSite.named("assertionSiteTest");
+            Assertions.assertEquals(AssertionSite.GLOBAL.getLevel(), site.getLevel());
+            Assertions.assertEquals(AssertionSite.GLOBAL.getSampleRate(), site.getSampleRate());
+        } finally {
+            System.clearProperty(AssertionSite.LEVEL_PROPERTY + ".assertionSiteTest");
+            System.clearProperty(AssertionSite.SAMPLE_RATE_PROPERTY + ".assertionSiteTest");
+        }
+    }
+
+    @Test
+    public void testMayBeEnabled() {
+        Assertions.assertFalse(AssertionSite.of("test", AssertionLevel.OFF, 1).mayBeEnabled(AssertionCost.CHEAP));
+        Assertions.assertTrue(AssertionSite.of("test", AssertionLevel.CHEAP, 1).mayBeEnabled(AssertionCost.CHEAP));
+        Assertions
+                .assertFalse(AssertionSite.of("test", AssertionLevel.CHEAP, 1).mayBeEnabled(AssertionCost.EXPENSIVE));
+        Assertions.assertTrue(
+                AssertionSite.of("test", AssertionLevel.SAMPLED, 1000).mayBeEnabled(AssertionCost.EXPENSIVE));
+        Assertions.assertTrue(AssertionSite.of("test", AssertionLevel.FULL, 1).mayBeEnabled(AssertionCost.EXPENSIVE));
+    }
+}
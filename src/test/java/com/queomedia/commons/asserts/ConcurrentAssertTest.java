@@ -0,0 +1,96 @@
+package com.queomedia.commons.asserts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+import com.queomedia.commons.equals.EqualsChecker;
+
+public class ConcurrentAssertTest {
+
+    @Test
+    public void testContainsExactOnMapView() {
+        ConcurrentHashMap<Integer, String> map = new ConcurrentHashMap<>();
+        map.put(1, "a");
+        map.put(2, "b");
+
+        ConcurrentAssert.containsExact(null, Arrays.asList(2, 1), map.keySet());
+        ConcurrentAssert.containsExact(null, Arrays.asList("a", "b"), map.values(), 3);
+    }
+
+    @Test
+    public void testContainsExactFailureKeepsSnapshot() {
+        CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<>(Arrays.asList(1, 2, 3));
+
+        CheckResult result = ConcurrentAssert.checkContainsExact(null, Arrays.asList(1, 2, 4), list, 1);
+
+        Assertions.assertTrue(result.isFailure());
+        /* the capture buffer is cleared after the check, but the result must keep the found elements */
+        ConcurrentAssert.checkHasSize(null, 0, new ArrayList<Integer>(), 1);
+        Assertions.assertEquals(Arrays.asList(1, 2, 3), result.getActual());
+    }
+
+    /** A list that grows while it is searched is captured, so the search does not run out of its bit set. */
+    @Test
+    public void testContainsExactWhileAppended() {
+        CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<>(Arrays.asList(1, 2, 3));
+        AtomicBoolean appended = new AtomicBoolean();
+        EqualsChecker<Integer, Integer> appendingChecker = (expected, found) -> {
+            if (appended.compareAndSet(false, true)) {
+                list.addAll(IntStream.range(0, 100).boxed().collect(Collectors.toList()));
+            }
+            return expected.equals(found);
+        };
+
+        Assertions.assertTrue(AssertUtil.checkContainsExact(null, Arrays.asList(3, 2, 1), list, appendingChecker)
+                .isSuccess());
+    }
+
+    @Test
+    public void testSameOrder() {
+        CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<>(Arrays.asList(1, 2, 3));
+
+        ConcurrentAssert.sameOrder(null, Arrays.asList(1, 2, 3), list, 1);
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            ConcurrentAssert.sameOrder(null, Arrays.asList(1, 3, 2), list, 1);
+        });
+    }
+
+    @Test
+    public void testHasSize() {
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            ConcurrentAssert.hasSize(null, 2, new CopyOnWriteArrayList<>(Arrays.asList(1, 2, 3)), 2);
+        });
+    }
+
+    /** The copy on write list is modified atomically, so each snapshot has all 1000 elements. */
+    @Test
+    public void testSnapshotWhileModified() throws InterruptedException {
+        List<Integer> expected = IntStream.range(0, 1000).boxed().collect(Collectors.toList());
+        CopyOnWriteArrayList<Integer> list = new CopyOnWriteArrayList<>(expected);
+        AtomicBoolean stop = new AtomicBoolean();
+        Thread writer = new Thread(() -> {
+            while (!stop.get()) {
+                list.replaceAll(value -> value);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 200; i++) {
+                ConcurrentAssert.containsExact(null, expected, list, 2);
+            }
+        } finally {
+            stop.set(true);
+            writer.join();
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.queomedia.commons.asserts;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class EventuallyAssertTest {
+
+    @Test
+    public void testEventually() {
+        AtomicInteger attempts = new AtomicInteger();
+        List<Integer> items = new ArrayList<>();
+
+        EventuallyAssert.eventually(null, Duration.ofSeconds(5), Backoff.fixed(Duration.ofMillis(1)), () -> {
+            if (attempts.incrementAndGet() == 3) {
+                items.add(1);
+            }
+            return AssertUtil.checkHasSize(null, 1, items);
+        });
+
+        Assertions.assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testNullCheckResult() {
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            EventuallyAssert.eventually(Duration.ofMillis(50), () -> null);
+        });
+    }
+
+    /** A zero delay (or a zero initial delay, that never grows) would poll without pause. */
+    @Test
+    public void testBackoffRejectsZeroDelay() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            Backoff.fixed(Duration.ZERO);
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            Backoff.exponential(Duration.ZERO, Duration.ofSeconds(1));
+        });
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            Backoff.adaptive(Duration.ZERO, Duration.ofSeconds(1));
+        });
+    }
+
+    @Test
+    public void testEventuallyFailsWithLastFailure() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            EventuallyAssert.eventually("msg", Duration.ofMillis(50), Backoff.fixed(Duration.ofMillis(5)), () -> {
+                return AssertUtil.checkHasSize(null, 10 + attempts.incrementAndGet(), Arrays.asList(1, 2));
+            });
+        });
+
+        Assertions.assertTrue(error.getMessage().startsWith("msg [Assertion failed] - condition not fulfilled"),
+                error.getMessage());
+        Assertions.assertTrue(attempts.get() > 2);
+        /* the expected value of the last attempt */
+        Assertions.assertEquals(10 + attempts.get(), error.getExpected().getValue());
+    }
+
+    @Test
+    public void testEventuallyPasses() {
+        ConcurrentLinkedQueue<Integer> queue = new ConcurrentLinkedQueue<>();
+        AtomicInteger attempts = new AtomicInteger();
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            EventuallyAssert.eventuallyPasses(null, Duration.ofMillis(20), Backoff.fixed(Duration.ofMillis(1)), () -> {
+                attempts.incrementAndGet();
+                AssertUtil.containsExact(Arrays.asList(1), queue);
+            });
+        });
+        Assertions.assertTrue(error.getCause() instanceof AssertionFailedError);
+
+        queue.add(1);
+        EventuallyAssert.eventuallyPasses(Duration.ofSeconds(1), () -> AssertUtil.containsExact(Arrays.asList(1), queue));
+    }
+
+    @Test
+    public void testEventuallyAsyncManyConcurrentWaits() {
+        AtomicInteger ready = new AtomicInteger();
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            final int threshold = i;
+            futures.add(EventuallyAssert.eventuallyAsync(null,
+                    Duration.ofSeconds(10),
+                    Backoff.exponential(Duration.ofMillis(1), Duration.ofMillis(20)),
+                    () -> ready.get() > threshold ? CheckResult.SUCCESS : CheckResult.failure("not ready")));
+        }
+        ready.set(Integer.MAX_VALUE);
+
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture<?>[0])).join();
+    }
+
+    @Test
+    public void testEventuallyAsyncTimeout() {
+        CompletableFuture<Void> future = EventuallyAssert.eventuallyAsync(null,
+                Duration.ofMillis(20),
+                Backoff.adaptive(Duration.ofMillis(1), Duration.ofMillis(5)),
+                () -> CheckResult.failure("never"));
+
+        CompletionException exception = Assertions.assertThrows(CompletionException.class, future::join);
+        Assertions.assertTrue(exception.getCause() instanceof AssertionFailedError);
+        Assertions.assertTrue(exception.getCause().getMessage().endsWith("last failure: never"));
+    }
+}
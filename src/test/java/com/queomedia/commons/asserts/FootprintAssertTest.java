@@ -0,0 +1,84 @@
+package com.queomedia.commons.asserts;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class FootprintAssertTest {
+
+    @Test
+    public void testRetainedSizeOfArray() {
+        ObjectLayout layout = ObjectLayout.CURRENT;
+
+        Assertions.assertEquals(layout.arraySize(8, 100), FootprintAssert.retainedSize(new long[100]));
+        Assertions.assertEquals(layout.arraySize(layout.sizeOf(Object.class), 3) + layout.arraySize(1, 10),
+                FootprintAssert.retainedSize(new Object[] { new byte[10], null, TimeUnit.SECONDS }));
+    }
+
+    @Test
+    public void testRetainedSizeCycleAndSharedObjects() {
+        Node first = new Node();
+        Node second = new Node();
+        first.next = second;
+        second.next = first;
+        first.payload = new int[16];
+        second.payload = first.payload;
+
+        long nodeSize = FootprintAssert.retainedSize(new Node());
+        Assertions.assertEquals(2 * nodeSize + ObjectLayout.CURRENT.arraySize(4, 16),
+                FootprintAssert.retainedSize(first));
+    }
+
+    @Test
+    public void testRetainedSizeGrowsWithCollections() {
+        Map<Integer, String> small = new HashMap<Integer, String>();
+        Map<Integer, String> large = new HashMap<Integer, String>();
+        List<String> strings = new ArrayList<String>();
+        for (int i = 0; i < 1000; i++) {
+            large.put(i, "value " + i);
+            strings.add("value " + i);
+        }
+        small.put(1, "value 1");
+
+        Assertions.assertTrue(FootprintAssert.retainedSize(large) > 100 * FootprintAssert.retainedSize(small));
+        /* each string has a header and its characters */
+        Assertions.assertTrue(FootprintAssert.retainedSize(strings) > 1000 * 24);
+    }
+
+    @Test
+    public void testRetainedSizeAtMostPass() {
+        FootprintAssert.retainedSizeAtMost(new long[100], 1000);
+    }
+
+    @Test
+    public void testRetainedSizeAtMostFail() {
+        Node root = new Node();
+        root.next = new Node();
+        root.next.payload = new int[1000];
+        root.payload = new int[10];
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            FootprintAssert.retainedSizeAtMost("nodes", root, 1000);
+        });
+
+        Assertions.assertTrue(error.getMessage().startsWith("nodes [Assertion failed] - object graph exceeds the "
+                + "byte budget - 4 objects, largest paths: root.next.payload = "), error.getMessage());
+        Assertions.assertEquals("<= 1000 bytes", error.getExpected().getValue());
+        Assertions.assertEquals(FootprintAssert.retainedSize(root) + " bytes", error.getActual().getValue());
+    }
+
+    private static class Node {
+
+        private Node next;
+
+        private int[] payload;
+
+        private Class<?> type = Node.class;
+    }
+}
@@ -0,0 +1,100 @@
+package com.queomedia.commons.asserts;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedList;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class IncrementalAsserterTest {
+
+    @Test
+    public void testAppendedChecksOnlyNewElements() {
+        IncrementalAsserter<Integer> asserter = new IncrementalAsserter<Integer>(null).unique()
+                .sorted(Comparator.naturalOrder(), SortOrder.STRICTLY_ASCENDING);
+        List<Integer> log = new ArrayList<>();
+        for (int batch = 0; batch < 100; batch++) {
+            for (int i = 0; i < 1000; i++) {
+                log.add(batch * 1000 + i);
+            }
+            asserter.appended(log);
+        }
+
+        Assertions.assertEquals(100000, asserter.getPosition());
+    }
+
+    @Test
+    public void testDuplicateInLaterBatch() {
+        IncrementalAsserter<String> asserter = new IncrementalAsserter<String>("log").unique();
+        List<String> log = new LinkedList<>(Arrays.asList("a", "b"));
+        asserter.appended(log);
+        log.add("c");
+        log.add("a");
+
+        CheckResult result = asserter.checkAppended(log);
+
+        Assertions.assertTrue(result.isFailure());
+        Assertions.assertEquals("log [Assertion failed] - elements are not unique - element=a at index 0 and 3",
+                result.getDescription());
+        /* the elements before the duplicate are consumed */
+        Assertions.assertEquals(3, asserter.getPosition());
+    }
+
+    @Test
+    public void testNotAppendOnly() {
+        IncrementalAsserter<String> asserter = new IncrementalAsserter<String>(null);
+        asserter.appended(Arrays.asList("a", "b"));
+
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            asserter.appended(Arrays.asList("a"));
+        });
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            asserter.appended(Arrays.asList("a", "x", "c"));
+        });
+    }
+
+    @Test
+    public void testOrderAcrossBatches() {
+        IncrementalAsserter<Integer> asserter = new IncrementalAsserter<Integer>(null)
+                .sorted(Comparator.naturalOrder(), SortOrder.ASCENDING);
+        asserter.batch(Arrays.asList(1, 2, 5));
+
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            asserter.batch(Arrays.asList(4));
+        });
+    }
+
+    @Test
+    public void testContainsAtLeastWithCounts() {
+        IncrementalAsserter<String> asserter = new IncrementalAsserter<String>(null).countOccurrences();
+        asserter.batch(Arrays.asList("a", "b", "a"));
+        asserter.batch(Arrays.asList("c", null));
+
+        asserter.containsAtLeast(Arrays.asList("a", "a", "c", null));
+        Assertions.assertEquals(2, asserter.count("a"));
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            asserter.containsAtLeast(Arrays.asList("b", "b"));
+        });
+    }
+
+    @Test
+    public void testCheckpoint() {
+        IncrementalAsserter<Integer> asserter = new IncrementalAsserter<Integer>(null).unique();
+        asserter.batch(Arrays.asList(1, 2));
+        IncrementalAsserter.Checkpoint<Integer> checkpoint = asserter.checkpoint();
+
+        asserter.batch(Arrays.asList(3, 4));
+        asserter.restore(checkpoint);
+
+        Assertions.assertEquals(2, asserter.getPosition());
+        /* 3 was rolled back, so it is not a duplicate */
+        asserter.batch(Arrays.asList(3));
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            asserter.batch(Arrays.asList(2));
+        });
+    }
+}
@@ -0,0 +1,56 @@
+package com.queomedia.commons.asserts;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000L);
+        }
+
+        Assertions.assertEquals(1000, histogram.getCount());
+        Assertions.assertEquals(1000, histogram.getMin());
+        Assertions.assertEquals(1_000_000, histogram.getMax());
+        Assertions.assertEquals(500_500, histogram.getMean(), 0.001);
+        assertWithinBucket(500_000, histogram.getValueAtPercentile(50));
+        assertWithinBucket(990_000, histogram.getValueAtPercentile(99));
+        Assertions.assertEquals(1_000_000, histogram.getValueAtPercentile(100));
+    }
+
+    @Test
+    public void testBuckets() {
+        for (long value : new long[] { 0, 1, 31, 32, 33, 63, 64, 1000, 123_456_789, Long.MAX_VALUE }) {
+            int bucket = LatencyHistogram.bucket(value);
+            Assertions.assertTrue(LatencyHistogram.upperBound(bucket) >= value, "value " + value);
+            Assertions.assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < value, "value " + value);
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+
+        Assertions.assertEquals(0, histogram.getValueAtPercentile(99));
+        Assertions.assertEquals(0, histogram.getMin());
+        Assertions.assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+    }
+
+    @Test
+    public void testFormat() {
+        Assertions.assertEquals("850ns", LatencyHistogram.formatNanos(850));
+        Assertions.assertEquals("1.25us", LatencyHistogram.formatNanos(1250));
+        Assertions.assertEquals("12.00ms", LatencyHistogram.formatNanos(12_000_000));
+    }
+
+    /**
+     * Check that the reported value is not smaller and at most 1/32 larger than the exact value.
+     */
+    private static void assertWithinBucket(final long exact, final long reported) {
+        Assertions.assertTrue(reported >= exact && reported <= exact + exact / 32,
+                "exact=" + exact + " reported=" + reported);
+    }
+}
@@ -0,0 +1,110 @@
+package com.queomedia.commons.asserts;
+
+import java.nio.ByteBuffer;
+import java.nio.DoubleBuffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class NumericAssertTest {
+
+    @Test
+    public void testEqualsWithin() {
+        double[] expected = new double[1_000_000];
+        double[] found = new double[expected.length];
+        for (int i = 0; i < expected.length; i++) {
+            expected[i] = i * 0.5;
+            found[i] = i * 0.5 + 1e-9;
+        }
+        expected[7] = Double.NaN;
+        found[7] = Double.NaN;
+        expected[8] = Double.POSITIVE_INFINITY;
+        found[8] = Double.POSITIVE_INFINITY;
+
+        NumericAssert.equalsWithin(expected, found, 1e-6);
+    }
+
+    @Test
+    public void testFailureReportsViolationsAndMaxDeviation() {
+        double[] expected = { 1, 2, 3, 4, 5 };
+        double[] found = { 1, 2.5, 3, 4.1, 5 };
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin("msg", expected, found, 0.01);
+        });
+        Assertions.assertEquals("msg [Assertion failed] - values differ more than the tolerance (absolute=0.01, "
+                + "relative=0.0) - 2 of 5 values differ, maximal deviation 0.5 at index 1 - expected=2.0, found=2.5",
+                error.getMessage());
+    }
+
+    @Test
+    public void testNaNIsNotEqualToNumber() {
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(new double[] { 1 }, new double[] { Double.NaN }, 1);
+        });
+    }
+
+    /** A relative tolerance of an infinite value is infinite, it must not accept a finite value. */
+    @Test
+    public void testInfinityIsNotEqualToNumberWithRelativeTolerance() {
+        NumericAssert.equalsWithin(null, new double[] { Double.POSITIVE_INFINITY },
+                new double[] { Double.POSITIVE_INFINITY }, 0, 1e-9);
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(null, new double[] { Double.POSITIVE_INFINITY }, new double[] { 1.0 }, 0, 1e-9);
+        });
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(null, new float[] { Float.NEGATIVE_INFINITY }, new float[] { -3f }, 0, 1e-3f);
+        });
+    }
+
+    @Test
+    public void testRelativeTolerance() {
+        NumericAssert.equalsWithin(null, new double[] { 1e9, 1e-9 }, new double[] { 1.0001e9, 1.0001e-9 }, 0, 1e-3);
+        NumericAssert.equalsWithin(null, new float[] { 1e9f }, new float[] { 1.0001e9f }, 0, 1e-3f);
+
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(null, new float[] { 1e9f }, new float[] { 1.1e9f }, 0, 1e-3f);
+        });
+    }
+
+    @Test
+    public void testDoubleBuffers() {
+        DoubleBuffer heap = DoubleBuffer.wrap(new double[] { 9, 1, 2, 3 });
+        heap.position(1);
+        DoubleBuffer direct = ByteBuffer.allocateDirect(3 * Double.BYTES).asDoubleBuffer();
+        direct.put(new double[] { 1, 2, 3.5 }).flip();
+
+        NumericAssert.equalsWithin(null, heap, direct, 0.5, 0);
+        Assertions.assertEquals(1, heap.position());
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(null, heap, direct, 0.1, 0);
+        });
+        Assertions.assertTrue(error.getMessage().contains("at index 2"), error.getMessage());
+    }
+
+    @Test
+    public void testDifferentLength() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(new double[2], new double[3], 0);
+        });
+        Assertions.assertTrue(error.getMessage().contains("arrays have not the same length"), error.getMessage());
+    }
+
+    @Test
+    public void testDifferentBufferLength() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(DoubleBuffer.allocate(2), DoubleBuffer.allocate(3), 0);
+        });
+        Assertions.assertTrue(error.getMessage().contains("buffers have not the same length"), error.getMessage());
+    }
+
+    @Test
+    public void testFloatArraysAbsoluteTolerance() {
+        NumericAssert.equalsWithin(new float[] { 1, 2 }, new float[] { 1.05f, 2 }, 0.1f);
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            NumericAssert.equalsWithin(new float[] { 1, 2 }, new float[] { 1.5f, 2 }, 0.1f);
+        });
+    }
+}
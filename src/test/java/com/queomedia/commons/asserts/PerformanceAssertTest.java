@@ -0,0 +1,145 @@
+package com.queomedia.commons.asserts;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class PerformanceAssertTest {
+
+    private byte[] escaped;
+
+    private long sink;
+
+    @Test
+    public void testLatencyPercentilesPass() {
+        PerformanceAssert.latencyPercentiles(() -> Math.sqrt(System.nanoTime()),
+                100,
+                1000,
+                Duration.ofSeconds(1),
+                Duration.ofSeconds(1));
+    }
+
+    @Test
+    public void testLatencyPercentilesFail() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            PerformanceAssert.latencyPercentiles("sleep", () -> sleep(1), 0, 10, Duration.ofMinutes(1),
+                    Duration.ofNanos(1000), null);
+        });
+
+        Assertions.assertTrue(error.getMessage().startsWith("sleep [Assertion failed] - latency exceeds the limit "
+                + "at p99 - count=10"), error.getMessage());
+        Assertions.assertEquals("p50<=60.00s, p99<=1.00us", error.getExpected().getValue());
+        Assertions.assertTrue(error.getActual().getStringRepresentation().startsWith("p50="));
+    }
+
+    @Test
+    public void testLatencyPercentilesNeedsLimit() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            PerformanceAssert.latencyPercentiles(null, () -> {
+            }, 0, 10, null, null, null);
+        });
+    }
+
+    @Test
+    public void testAllocationWithinPass() {
+        List<Integer> list = Arrays.asList(1, 2, 3);
+        PerformanceAssert.allocationWithin(() -> AssertUtil.sameOrder(list, list), 16);
+    }
+
+    @Test
+    public void testAllocationWithinFail() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            PerformanceAssert.allocationWithin("buffer", () -> this.escaped = new byte[1024], 100, 100, 100);
+        });
+
+        Assertions.assertTrue(error.getMessage().startsWith("buffer [Assertion failed] - allocation exceeds the "
+                + "budget"), error.getMessage());
+        Assertions.assertEquals("100 bytes per invocation", error.getExpected().getValue());
+    }
+
+    @Test
+    public void testThroughputAtLeastPass() {
+        LongAdder counter = new LongAdder();
+        PerformanceAssert.throughputAtLeast(null, counter::increment, 4, WorkerThreads.PLATFORM, 10_000, 1);
+
+        Assertions.assertEquals(10_000, counter.sum());
+    }
+
+    @Test
+    public void testThroughputAtLeastFail() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            PerformanceAssert.throughputAtLeast("slow", () -> sleep(5), 3, WorkerThreads.VIRTUAL,
+                    Duration.ofMillis(100), 1_000_000);
+        });
+
+        Assertions.assertTrue(error.getMessage().startsWith("slow [Assertion failed] - throughput below the "
+                + "minimum - 3 workers on "), error.getMessage());
+        Assertions.assertTrue(error.getMessage().contains("skew (max/min)="), error.getMessage());
+        Assertions.assertEquals(">= 1000000.0 operations per second", error.getExpected().getValue());
+    }
+
+    @Test
+    public void testThroughputTaskFailure() {
+        Assertions.assertThrows(IllegalStateException.class, () -> {
+            PerformanceAssert.throughputAtLeast(null, () -> {
+                throw new IllegalStateException("broken");
+            }, 2, WorkerThreads.PLATFORM, Duration.ofSeconds(10), 0);
+        });
+    }
+
+    @Test
+    public void testComplexityAtMostPass() {
+        PerformanceAssert.complexityAtMost(null, n -> {
+            int[] values = new int[n];
+            return () -> this.sink += sum(values);
+        }, 1000, 128_000, ComplexityBound.N_LOG_N);
+    }
+
+    @Test
+    public void testComplexityAtMostFail() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            PerformanceAssert.complexityAtMost("pairs", n -> {
+                int[] values = new Random(n).ints(n).toArray();
+                return () -> this.sink += pairs(values);
+            }, 250, 8000, ComplexityBound.N_LOG_N);
+        });
+
+        Assertions.assertTrue(error.getMessage().startsWith("pairs [Assertion failed] - complexity exceeds the "
+                + "bound N_LOG_N - fitted t(n) = "), error.getMessage());
+        Assertions.assertEquals("at most N_LOG_N: t(n)/bound(n) grows at most with n^0.25",
+                error.getExpected().getValue());
+    }
+
+    private static long sum(final int[] values) {
+        long sum = 0;
+        for (int value : values) {
+            sum += value + 1;
+        }
+        return sum;
+    }
+
+    private static long pairs(final int[] values) {
+        long pairs = 0;
+        for (int i = 0; i < values.length; i++) {
+            for (int j = 0; j < i; j++) {
+                pairs += values[i] == values[j] ? 1 : 2;
+            }
+        }
+        return pairs;
+    }
+
+    private static void sleep(final long millis) {
+        try {
+            TimeUnit.MILLISECONDS.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.queomedia.commons.asserts;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.opentest4j.AssertionFailedError;
+
+public class SnapshotAssertTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void testMatchesSnapshot_otherOrder() {
+        Path snapshot = this.tempDir.resolve("numbers.snapshot");
+        SnapshotAssert.writeSnapshot(snapshot, Arrays.asList(1, 1, 2, 3), String::valueOf);
+
+        SnapshotAssert.matchesSnapshot(snapshot, Arrays.asList(3, 1, 2, 1));
+    }
+
+    /**
+     * given a snapshot: 1,1,2
+     * found:            1,2,2
+     */
+    @Test
+    public void testMatchesSnapshot_differentDoubleItems() {
+        Path snapshot = this.tempDir.resolve("numbers.snapshot");
+        SnapshotAssert.writeSnapshot(snapshot, Arrays.asList(1, 1, 2), String::valueOf);
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            SnapshotAssert.matchesSnapshot(snapshot, Arrays.asList(1, 2, 2));
+        });
+        Assertions.assertEquals(Arrays.asList("1"), error.getExpected().getValue());
+        Assertions.assertEquals(Arrays.asList("2"), error.getActual().getValue());
+    }
+
+    @Test
+    public void testMatchesSnapshot_missingFile() {
+        Path snapshot = this.tempDir.resolve("missing.snapshot");
+
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            SnapshotAssert.matchesSnapshot(snapshot, Arrays.asList(1));
+        });
+    }
+
+    @Test
+    public void testMatchesSnapshot_updateMode() {
+        Path snapshot = this.tempDir.resolve("sub").resolve("update.snapshot");
+        List<String> found = Arrays.asList("a", "b");
+
+        System.setProperty(SnapshotAssert.UPDATE_PROPERTY, "true");
+        try {
+            SnapshotAssert.matchesSnapshot(snapshot, found);
+            SnapshotAssert.matchesSnapshot(snapshot, Arrays.asList("a", "c"));
+        } finally {
+            System.clearProperty(SnapshotAssert.UPDATE_PROPERTY);
+        }
+
+        Assertions.assertTrue(Files.exists(snapshot));
+        SnapshotAssert.matchesSnapshot(snapshot, Arrays.asList("c", "a"));
+    }
+}
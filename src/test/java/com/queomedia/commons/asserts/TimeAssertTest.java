@@ -0,0 +1,136 @@
+package com.queomedia.commons.asserts;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.opentest4j.AssertionFailedError;
+
+public class TimeAssertTest {
+
+    private static final Instant T = Instant.parse("2024-03-01T10:15:30.123456789Z");
+
+    @Test
+    public void testEqualsAtPrecision() {
+        TimeAssert.equals(T, Instant.parse("2024-03-01T10:15:30.123999Z"), ChronoUnit.MILLIS);
+        TimeAssert.equals(T, Instant.parse("2024-03-01T10:15:59Z"), ChronoUnit.MINUTES);
+
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            TimeAssert.equals(T, Instant.parse("2024-03-01T10:15:30.124Z"), ChronoUnit.MILLIS);
+        });
+    }
+
+    @Test
+    public void testEqualsBeforeEpoch() {
+        TimeAssert.equals(Instant.parse("1960-01-01T00:00:00.100Z"),
+                Instant.parse("1960-01-01T00:00:00.900Z"),
+                ChronoUnit.SECONDS);
+    }
+
+    /** Time stamps stored in a DATE column are truncated to days. */
+    @Test
+    public void testEqualsAtDayPrecision() {
+        Instant day = T.truncatedTo(ChronoUnit.DAYS);
+        TimeAssert.equals(T, day, ChronoUnit.DAYS);
+        TimeAssert.containsExact(Arrays.asList(T, T.plus(1, ChronoUnit.DAYS)),
+                Arrays.asList(day.plus(1, ChronoUnit.DAYS), day), ChronoUnit.DAYS);
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            TimeAssert.equals(T, day.minusNanos(1), ChronoUnit.DAYS);
+        });
+    }
+
+    @Test
+    public void testUnsupportedPrecision() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> {
+            TimeAssert.equals(T, T, ChronoUnit.MONTHS);
+        });
+    }
+
+    @Test
+    public void testEqualsWithin() {
+        TimeAssert.equalsWithin(T, T.plusMillis(5), Duration.ofMillis(5));
+
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            TimeAssert.equalsWithin(T, T.minusMillis(6), Duration.ofMillis(5));
+        });
+    }
+
+    @Test
+    public void testSameOrderWithinReportsMaxDeviation() {
+        List<Instant> expected = Arrays.asList(T, T.plusSeconds(1), T.plusSeconds(2), T.plusSeconds(3));
+        List<Instant> found = Arrays.asList(T, T.plusSeconds(1).plusMillis(20), T.plusSeconds(2),
+                T.plusSeconds(3).minusMillis(50));
+
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            TimeAssert.sameOrderWithin(null, expected, found, Duration.ofMillis(10));
+        });
+        Assertions.assertTrue(error.getMessage().contains("2 of 4 differ, maximal deviation PT-0.05S at index 3"),
+                error.getMessage());
+    }
+
+    @Test
+    public void testContainsExactAtPrecision() {
+        List<Instant> expected = new ArrayList<>();
+        List<Instant> found = new ArrayList<>();
+        for (int i = 0; i < 100000; i++) {
+            Instant instant = T.plusMillis(i * 7L);
+            expected.add(instant);
+            /* the database truncated to micro seconds */
+            found.add(instant.truncatedTo(ChronoUnit.MICROS));
+        }
+        expected.add(null);
+        found.add(null);
+        Collections.shuffle(found);
+
+        TimeAssert.containsExact(null, expected, found, ChronoUnit.MICROS);
+
+        found.set(found.indexOf(T.truncatedTo(ChronoUnit.MICROS)), T.minusSeconds(1));
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            TimeAssert.containsExact(null, expected, found, ChronoUnit.MICROS);
+        });
+        Assertions.assertTrue(error.getMessage().endsWith("1 unexpected [2024-03-01T10:15:29.123456789Z], "
+                + "missing (truncated) [2024-03-01T10:15:30.123456Z]"), error.getMessage());
+    }
+
+    /** At nanosecond precision, time stamps after the year 2262 have no long key. */
+    @Test
+    public void testContainsExactFarFuture() {
+        Instant farFuture = Instant.parse("3000-01-01T00:00:00.123456789Z");
+        List<Instant> expected = Arrays.asList(T, farFuture, null);
+        List<Instant> found = Arrays.asList(null, farFuture, T);
+
+        TimeAssert.containsExact(expected, found, ChronoUnit.NANOS);
+        TimeAssert.containsExact(expected, Arrays.asList(null, farFuture.plusNanos(1), T), ChronoUnit.MICROS);
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            TimeAssert.containsExact(expected, Arrays.asList(null, farFuture.plusNanos(1), T), ChronoUnit.NANOS);
+        });
+        Assertions.assertTrue(error.getMessage().endsWith("1 unexpected [3000-01-01T00:00:00.123456790Z], "
+                + "missing (truncated) [3000-01-01T00:00:00.123456789Z]"), error.getMessage());
+    }
+
+    @Test
+    public void testContainsExactWithin() {
+        List<Instant> expected = Arrays.asList(T, T.plusSeconds(10), T.plusSeconds(20));
+        List<Instant> found = Arrays.asList(T.plusSeconds(21), T.plusMillis(900), T.plusSeconds(9));
+
+        TimeAssert.containsExactWithin(null, expected, found, Duration.ofSeconds(1));
+        Assertions.assertThrows(AssertionFailedError.class, () -> {
+            TimeAssert.containsExactWithin(null, expected, found, Duration.ofMillis(950));
+        });
+    }
+
+    @Test
+    public void testSecPreciceEqualsMessage() {
+        AssertionFailedError error = Assertions.assertThrows(AssertionFailedError.class, () -> {
+            AssertUtil.secPreciceEquals(new Date(1000), new Date(2000));
+        });
+        Assertions.assertTrue(error.getMessage().startsWith("[Assertion failed] - time stamps are not equal"));
+    }
+}